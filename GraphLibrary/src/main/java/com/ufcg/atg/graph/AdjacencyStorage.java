@@ -0,0 +1,136 @@
+package com.ufcg.atg.graph;
+
+import java.util.Set;
+
+/**
+ * Stores the vertexes of a {@link BaseGraph} and the edges leaving each of
+ * them. {@link BaseGraph} delegates to it every access to its adjacency, so
+ * each storage can trade memory for latency without changing the algorithms,
+ * which run over the {@link IndexedGraph} built by {@link #index}. The
+ * storages are chosen by {@link GraphStorage}.
+ *
+ * @param <V> Type of the vertex.
+ * @param <E> Type of the edge.
+ */
+interface AdjacencyStorage<V extends Comparable<V>, E extends Edge<V>> {
+
+    /**
+     * Adds a vertex, without edges, if it isn't already stored.
+     *
+     * @param v Vertex to be added.
+     * @return {@code true} if the vertex was added, {@code false} if it was
+     * already stored.
+     */
+    boolean addVertex(V v);
+
+    /**
+     * Adds an undirected edge, represented by the specified edge, whose
+     * vertexes are already stored. It is found from both of its vertexes.
+     *
+     * @param edge Edge from the origin to the target vertex.
+     */
+    void addEdge(E edge);
+
+    /**
+     * Returns the stored vertexes.
+     */
+    Set<V> vertexes();
+
+    /**
+     * Returns the number of stored vertexes.
+     */
+    int vertexNumber();
+
+    /**
+     * Returns the number of stored arcs, which is the sum of the degrees of
+     * the vertexes: each undirected edge has an arc per direction, except
+     * loops, which have one.
+     */
+    int arcNumber();
+
+    /**
+     * Returns if the specified vertex is stored.
+     *
+     * @param v Vertex to be checked.
+     * @return {@code true} if it is stored, {@code false} otherwise.
+     */
+    boolean containsVertex(V v);
+
+    /**
+     * Returns an unmodifiable view of the edges leaving the specified vertex.
+     *
+     * @param v Vertex to have its edges returned.
+     * @return The edges of the vertex, or {@code null} if it isn't stored.
+     */
+    Set<E> edgesOf(V v);
+
+    /**
+     * Returns if the specified edge is stored.
+     *
+     * @param e Edge to be checked.
+     * @return {@code true} if it is stored, {@code false} otherwise.
+     */
+    boolean containsEdge(Edge<?> e);
+
+    /**
+     * Returns the vertexes adjacent to both specified vertexes, which must be
+     * stored.
+     *
+     * @param v1 One vertex.
+     * @param v2 The other vertex.
+     * @return The common adjacent vertexes.
+     */
+    Set<V> commonAdjacentVertexes(V v1, V v2);
+
+    /**
+     * Builds the indexed snapshot of the stored adjacency.
+     *
+     * @return The snapshot.
+     */
+    IndexedGraph<V, E> index();
+
+    /**
+     * Describes the edges of a graph to a storage that doesn't keep the edge
+     * objects, so it can store them in primitive form and create them back
+     * when they are looked up.
+     *
+     * @param <V> Type of the vertex.
+     * @param <E> Type of the edge.
+     */
+    interface EdgeModel<V extends Comparable<V>, E extends Edge<V>> {
+
+        /**
+         * Returns if the edges have weights.
+         */
+        boolean isWeighted();
+
+        /**
+         * Returns the weight of the specified edge.
+         *
+         * @param e Edge to have its weight returned.
+         * @return Weight of the edge.
+         */
+        float weight(E e);
+
+        /**
+         * Creates the edge object that represents an arc.
+         *
+         * @param origin The origin vertex of the edge.
+         * @param target The target vertex of the edge.
+         * @param weight The weight of the edge.
+         * @return The created edge.
+         */
+        E createEdge(V origin, V target, float weight);
+
+        /**
+         * Returns if the specified edge represents the arc with the specified
+         * weight.
+         *
+         * @param e Edge which has the same vertexes of the arc.
+         * @param weight The weight of the arc.
+         * @return {@code true} if it represents, {@code false} otherwise.
+         */
+        boolean matchesArc(Edge<?> e, float weight);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.ufcg.atg.graph;
+
+/**
+ * Represents all algorithms that can be used to find the shortest paths
+ * between all pairs of vertexes.
+ */
+public enum AllPairsAlgorithm {
+    /**
+     * Floyd–Warshall algorithm over the distance matrix, processed in blocks
+     * that fit in the cache. Its cost only depends on the number of vertexes,
+     * so it suits dense graphs.
+     */
+    FLOYD_WARSHALL,
+    /**
+     * Johnson's algorithm, running Dijkstra's algorithm from every vertex. Its
+     * cost grows with the number of edges, so it suits sparse graphs.
+     */
+    JOHNSON
+}
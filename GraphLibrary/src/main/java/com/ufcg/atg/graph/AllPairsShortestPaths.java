@@ -0,0 +1,227 @@
+package com.ufcg.atg.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Contains the algorithms that compute the lengths of the shortest paths
+ * between all pairs of vertexes of a {@link CompressedAdjacency} with
+ * non-negative weights. The result is a {@code float[]} matrix, row by row,
+ * with +Infinity for the pairs without a path.
+ */
+final class AllPairsShortestPaths {
+
+    private static final int BLOCK_SIDE = 64;
+
+    private static final int SOURCES_PER_TASK = 4;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private AllPairsShortestPaths() {}
+
+    /**
+     * Returns the algorithm expected to be the fastest for the specified
+     * adjacency: Johnson's if the Dijkstra searches from all vertexes relax
+     * fewer arcs than the Floyd–Warshall relaxations, weighted by how much
+     * cheaper each of those is.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @return The algorithm to be used.
+     */
+    static AllPairsAlgorithm chooseAlgorithm(CompressedAdjacency adjacency) {
+        long vertexes = adjacency.vertexCapacity();
+        double log = Math.max(1, 32 - Integer.numberOfLeadingZeros(adjacency.vertexCapacity()));
+        return adjacency.arcCount() * log * 8 < vertexes * vertexes ?
+                AllPairsAlgorithm.JOHNSON : AllPairsAlgorithm.FLOYD_WARSHALL;
+    }
+
+    /**
+     * Computes the distance matrix with the specified algorithm.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @param algorithm Algorithm to be used.
+     * @param pool Pool that runs the computation.
+     * @throws RuntimeException If the matrix is too large for an array.
+     * @return The distance matrix.
+     */
+    static float[] distances(CompressedAdjacency adjacency, AllPairsAlgorithm algorithm, ForkJoinPool pool) {
+        long cells = (long) adjacency.vertexCapacity() * adjacency.vertexCapacity();
+        if (cells > Integer.MAX_VALUE - 8) {
+            throw new RuntimeException("The graph is too large for a distance matrix.");
+        }
+        return algorithm == AllPairsAlgorithm.JOHNSON ?
+                johnson(adjacency, pool) : floydWarshall(adjacency, pool);
+    }
+
+    /**
+     * Runs the Floyd–Warshall algorithm over blocks of
+     * {@link #BLOCK_SIDE} x {@link #BLOCK_SIDE} cells. For each block of
+     * intermediate vertexes, the diagonal block is computed first, then the
+     * blocks of its row and column, in parallel, and then all the other
+     * blocks, in parallel, each one reading only two blocks already final.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @param pool Pool that runs the blocks.
+     * @return The distance matrix.
+     */
+    static float[] floydWarshall(CompressedAdjacency adjacency, ForkJoinPool pool) {
+        int n = adjacency.vertexCapacity();
+        float[] distances = new float[n * n];
+        Arrays.fill(distances, Float.POSITIVE_INFINITY);
+        for (int v = 0; v < n; v++) {
+            distances[v * n + v] = 0f;
+            for (int arc = adjacency.offsets[v]; arc < adjacency.offsets[v + 1]; arc++) {
+                int cell = v * n + adjacency.targets[arc];
+                distances[cell] = Math.min(distances[cell], adjacency.weight(arc));
+            }
+        }
+
+        int blocks = (n + BLOCK_SIDE - 1) / BLOCK_SIDE;
+        int[] rowBlocks = new int[blocks * blocks], columnBlocks = new int[blocks * blocks];
+        for (int k = 0; k < blocks; k++) {
+            relaxBlock(distances, n, k, k, k);
+            int size = 0;
+            for (int b = 0; b < blocks; b++) {
+                if (b == k) continue;
+                rowBlocks[size] = k;
+                columnBlocks[size++] = b;
+                rowBlocks[size] = b;
+                columnBlocks[size++] = k;
+            }
+            pool.invoke(new BlocksTask(distances, n, k, rowBlocks, columnBlocks, 0, size));
+            size = 0;
+            for (int i = 0; i < blocks; i++) {
+                for (int j = 0; j < blocks; j++) {
+                    if (i == k || j == k) continue;
+                    rowBlocks[size] = i;
+                    columnBlocks[size++] = j;
+                }
+            }
+            pool.invoke(new BlocksTask(distances, n, k, rowBlocks, columnBlocks, 0, size));
+        }
+        return distances;
+    }
+
+    /**
+     * Relaxes the cells of block ({@code rowBlock}, {@code columnBlock})
+     * through the intermediate vertexes of block {@code intermediateBlock},
+     * in order, so it is also correct when the block reads its own cells.
+     */
+    private static void relaxBlock(float[] distances, int n, int rowBlock, int columnBlock,
+                                   int intermediateBlock) {
+        int rowEnd = Math.min(n, (rowBlock + 1) * BLOCK_SIDE);
+        int columnStart = columnBlock * BLOCK_SIDE, columnEnd = Math.min(n, columnStart + BLOCK_SIDE);
+        int intermediateEnd = Math.min(n, (intermediateBlock + 1) * BLOCK_SIDE);
+        for (int k = intermediateBlock * BLOCK_SIDE; k < intermediateEnd; k++) {
+            int kRow = k * n;
+            for (int i = rowBlock * BLOCK_SIDE; i < rowEnd; i++) {
+                int iRow = i * n;
+                float throughK = distances[iRow + k];
+                if (throughK == Float.POSITIVE_INFINITY) continue;
+                for (int j = columnStart; j < columnEnd; j++) {
+                    float distance = throughK + distances[kRow + j];
+                    if (distance < distances[iRow + j]) distances[iRow + j] = distance;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs Johnson's algorithm, which reweights the edges with the distances
+     * found by Bellman–Ford from a virtual vertex so they become non-negative,
+     * and then runs Dijkstra's algorithm from every vertex. As the weights of
+     * the adjacency are already non-negative, the reweighting is the identity
+     * and is skipped; the searches run in parallel, each one filling its row.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @param pool Pool that runs the searches.
+     * @return The distance matrix.
+     */
+    static float[] johnson(CompressedAdjacency adjacency, ForkJoinPool pool) {
+        int n = adjacency.vertexCapacity();
+        float[] distances = new float[n * n];
+        if (n > 0) pool.invoke(new SourcesTask(adjacency, distances, 0, n));
+        return distances;
+    }
+
+    /**
+     * Task that relaxes a range of blocks, splitting it in halves until a
+     * single block is left.
+     */
+    private static final class BlocksTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final float[] distances;
+        private final int n;
+        private final int intermediateBlock;
+        private final int[] rowBlocks;
+        private final int[] columnBlocks;
+        private final int from;
+        private final int to;
+
+        BlocksTask(float[] distances, int n, int intermediateBlock, int[] rowBlocks, int[] columnBlocks,
+                   int from, int to) {
+            this.distances = distances;
+            this.n = n;
+            this.intermediateBlock = intermediateBlock;
+            this.rowBlocks = rowBlocks;
+            this.columnBlocks = columnBlocks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) relaxBlock(distances, n, rowBlocks[from], columnBlocks[from], intermediateBlock);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new BlocksTask(distances, n, intermediateBlock, rowBlocks, columnBlocks, from, middle),
+                    new BlocksTask(distances, n, intermediateBlock, rowBlocks, columnBlocks, middle, to));
+        }
+    }
+
+    /**
+     * Task that runs the Dijkstra searches of a range of sources, splitting it
+     * in halves until it is small enough.
+     */
+    private static final class SourcesTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CompressedAdjacency adjacency;
+        private final float[] distances;
+        private final int from;
+        private final int to;
+
+        SourcesTask(CompressedAdjacency adjacency, float[] distances, int from, int to) {
+            this.adjacency = adjacency;
+            this.distances = distances;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SOURCES_PER_TASK) {
+                int n = adjacency.vertexCapacity();
+                float[] row = new float[n];
+                int[] predecessors = new int[n];
+                for (int source = from; source < to; source++) {
+                    Arrays.fill(row, Float.POSITIVE_INFINITY);
+                    ShortestPaths.dijkstra(adjacency, source, -1, row, predecessors);
+                    System.arraycopy(row, 0, distances, source * n, n);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SourcesTask(adjacency, distances, from, middle),
+                    new SourcesTask(adjacency, distances, middle, to));
+        }
+    }
+
+}
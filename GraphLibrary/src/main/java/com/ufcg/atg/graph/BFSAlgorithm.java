@@ -0,0 +1,28 @@
+package com.ufcg.atg.graph;
+
+/**
+ * Represents all algorithms that can be used to walk by the graph in
+ * Breadth-first Search (BFS).
+ */
+public enum BFSAlgorithm {
+    /**
+     * Classic BFS, which scans the edges of each vertex of the frontier in
+     * queue order. The predecessor of a vertex is the first vertex that
+     * reached it.
+     */
+    TOP_DOWN,
+    /**
+     * BFS that switches to scanning the edges of the unvisited vertexes for
+     * one in the frontier when the frontier is large, which inspects far
+     * fewer edges in graphs of low diameter. The levels are the same of
+     * {@link #TOP_DOWN}, but the predecessor of a vertex can be any of its
+     * neighbors in the previous level.
+     */
+    DIRECTION_OPTIMIZING,
+    /**
+     * BFS that expands each level in parallel, in the common
+     * {@link java.util.concurrent.ForkJoinPool}. The levels and the
+     * predecessors are the same of {@link #TOP_DOWN}.
+     */
+    PARALLEL
+}
@@ -2,16 +2,22 @@ package com.ufcg.atg.graph;
 
 import com.ufcg.atg.util.Utils;
 
+import java.io.Writer;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
-import static com.ufcg.atg.util.Utils.LINE_SEPARATOR;
-import static com.ufcg.atg.util.Utils.STRING_EMPTY;
-
 /**
  * Represents a skeletal implementation of a graph, based on the interface
  * defined by {@link IGraph}.
  *
+ * The vertexes and their edges are kept by an {@link AdjacencyStorage}. The
+ * algorithms don't run over it directly. They run over an
+ * {@link IndexedGraph}, a snapshot in which the vertexes are interned to dense
+ * indexes, so their state lives in primitive arrays instead of maps keyed by
+ * vertex. The snapshot is built on demand and discarded whenever the graph is
+ * modified.
+ *
  * @param <V> Type of the vertex.
  * @param <E> Type of the edge.
  *
@@ -19,15 +25,80 @@ import static com.ufcg.atg.util.Utils.STRING_EMPTY;
  */
 public abstract class BaseGraph<V extends Comparable<V>, E extends Edge<V>> implements IGraph<V, E> {
 
-    protected Map<V, Set<E>> vertexes;
+    private final AdjacencyStorage<V, E> storage;
+
+    private IndexedGraph<V, E> indexedGraph;
+
+    private final ThreadLocal<ShortestPaths.Search> shortestPathSearches = new ThreadLocal<>();
+
+    private ShortestPathTreeCache shortestPathTreeCache;
+
+    private ConnectivityTracker<V> connectivityTracker;
 
     /**
      * Constructs a {@link BaseGraph}.
      */
     public BaseGraph() {
-        vertexes = new HashMap<>();
+        this(GraphStorage.HASH_SETS);
+    }
+
+    /**
+     * Constructs a {@link BaseGraph} that keeps its vertexes and edges in the
+     * specified storage.
+     *
+     * @param storage Storage of the vertexes and edges of the graph.
+     * @throws RuntimeException If the storage can't store the edges of the
+     * graph.
+     */
+    public BaseGraph(GraphStorage storage) {
+        AdjacencyStorage.EdgeModel<V, E> edgeModel = new GraphEdgeModel();
+        switch (storage) {
+            case SORTED_ARRAYS:
+                this.storage = new SortedArrayStorage<>(edgeModel);
+                break;
+            case COMPRESSED:
+                this.storage = new CompressedStorage<>(edgeModel);
+                break;
+            case HALF_EDGES:
+                this.storage = new HalfEdgeStorage<>(edgeModel);
+                break;
+            case BIT_MATRIX:
+                if (isWeighted()) {
+                    throw new RuntimeException("The bit matrix storage can't store weighted graphs.");
+                }
+                this.storage = new BitMatrixStorage<>(edgeModel);
+                break;
+            default:
+                this.storage = new HashSetStorage<>(edgeModel);
+        }
     }
 
+    /**
+     * Returns if the graph stores edge weights.
+     */
+    protected abstract boolean isWeighted();
+
+    /**
+     * Creates the edge object that represents an arc of the graph, for the
+     * storages that don't keep the edge objects.
+     *
+     * @param origin The origin vertex of the edge.
+     * @param target The target vertex of the edge.
+     * @param weight The weight of the edge.
+     * @return The created edge.
+     */
+    protected abstract E createEdge(V origin, V target, float weight);
+
+    /**
+     * Returns if the specified edge represents the arc with the specified
+     * weight.
+     *
+     * @param e Edge which has the same vertexes of the arc.
+     * @param weight The weight of the arc.
+     * @return {@code true} if it represents, {@code false} otherwise.
+     */
+    protected abstract boolean matchesArc(Edge<?> e, float weight);
+
     @Override
     public void addVertex(V v) {
         addIfAbsent(v);
@@ -39,54 +110,120 @@ public abstract class BaseGraph<V extends Comparable<V>, E extends Edge<V>> impl
      * @param v Vertex to be added.
      */
     protected void addIfAbsent(V v) {
-        if (!vertexes.containsKey(v)) {
-            vertexes.put(v, new HashSet<>());
+        if (storage.addVertex(v)) {
+            if (connectivityTracker != null) connectivityTracker.addVertex(v);
+            invalidateIndexedGraph();
+        }
+    }
+
+    /**
+     * Adds an undirected edge, represented by the specified edge, adding its
+     * vertexes if they aren't already on the graph. The storage decides if
+     * the reverse edge is created.
+     *
+     * @param edge Edge from the origin to the target vertex.
+     */
+    protected void putEdge(E edge) {
+        addIfAbsent(edge.getOriginVertex());
+        addIfAbsent(edge.getTargetVertex());
+        storage.addEdge(edge);
+        if (connectivityTracker != null) {
+            connectivityTracker.addEdge(edge.getOriginVertex(), edge.getTargetVertex());
         }
+        invalidateIndexedGraph();
     }
 
     @Override
     public Set<V> getAllVertexes() {
-        return vertexes.keySet();
+        return storage.vertexes();
     }
 
+    /**
+     * Returns a view of all edges of the graph, one per direction of each
+     * undirected edge. It isn't a copy: its size is the number of arcs kept
+     * by the storage, its edges are walked by vertex and looked up in the
+     * storage, and it sees the later modifications.
+     */
     @Override
     public Set<E> getAllEdges() {
-        return vertexes.values().stream()
-                .flatMap(Set::stream)
-                .collect(Collectors.toSet());
+        return new AbstractSet<E>() {
+            @Override
+            public int size() {
+                return storage.arcNumber();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Edge && storage.containsEdge((Edge<?>) o);
+            }
+
+            @Override
+            public Iterator<E> iterator() {
+                Iterator<V> vertexes = storage.vertexes().iterator();
+                return new Iterator<E>() {
+
+                    private Iterator<E> edges = Collections.emptyIterator();
+
+                    @Override
+                    public boolean hasNext() {
+                        while (!edges.hasNext() && vertexes.hasNext()) {
+                            edges = storage.edgesOf(vertexes.next()).iterator();
+                        }
+                        return edges.hasNext();
+                    }
+
+                    @Override
+                    public E next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        return edges.next();
+                    }
+                };
+            }
+        };
     }
 
     @Override
     public Set<E> getEdgesOfVertex(V v) {
-        return vertexes.get(v);
+        return storage.edgesOf(v);
     }
 
     @Override
     public Set<V> getAdjacentVertexes(V v) {
-        return vertexes.get(v).stream()
+        return storage.edgesOf(v).stream()
                 .map(E::getTargetVertex)
                 .collect(Collectors.toSet());
     }
 
+    @Override
+    public Set<V> getCommonAdjacentVertexes(V v1, V v2) {
+        if (!containsVertex(v1) || !containsVertex(v2)) {
+            throw new RuntimeException("The graph doesn't contains the specified vertex.");
+        }
+        return storage.commonAdjacentVertexes(v1, v2);
+    }
+
     @Override
     public boolean containsVertex(V v) {
-        return getAllVertexes().contains(v);
+        return storage.containsVertex(v);
     }
 
     @Override
     public boolean containsEdge(Edge<V> e) {
-        if (!containsVertex(e.getOriginVertex())) return false;
-        return vertexes.get(e.getOriginVertex()).contains(e);
+        return storage.containsEdge(e);
     }
 
     @Override
     public int getVertexNumber() {
-        return vertexes.size();
+        return storage.vertexNumber();
     }
 
+    /**
+     * Returns the number of edges of the graph, counting each direction of an
+     * undirected edge, which is kept by the storage as edges are added.
+     */
     @Override
     public int getEdgeNumber() {
-        return getAllEdges().size();
+        return storage.arcNumber();
     }
 
     @Override
@@ -96,90 +233,90 @@ public abstract class BaseGraph<V extends Comparable<V>, E extends Edge<V>> impl
 
     @Override
     public String graphRepresentation(RepresentationType representationType) {
-        if (representationType == RepresentationType.ADJACENCY_MATRIX) {
-            return adjacencyMatrixRepresentation();
-        } else if (representationType == RepresentationType.ADJACENCY_LIST) {
-            return adjacencyListRepresentation();
-        } else {
-            return Utils.STRING_EMPTY;
-        }
+        TextWriter representation = new TextWriter();
+        writeRepresentation(representationType, representation);
+        return representation.toString();
     }
 
-    /**
-     * Returns the adjacency matrix representation.
-     */
-    private String adjacencyMatrixRepresentation() {
-        List<V> orderedVertexes = getOrderedVertexesList();
-        float adjacencyMatrix[][] = setUpAdjacencyMatrix(orderedVertexes);
-        return getAdjacencyMatrixString(orderedVertexes, adjacencyMatrix);
+    @Override
+    public void graphRepresentation(RepresentationType representationType, Writer writer) {
+        TextWriter representation = new TextWriter(writer);
+        writeRepresentation(representationType, representation);
+        representation.finish();
     }
 
     /**
-     * Sets up a adjacency matrix based on the specified ordered vertexes.
+     * Writes the graph representation based on the
+     * {@link RepresentationType} specified, which is empty for an unknown
+     * type.
      *
-     * @param orderedVertexes Ordered vertexes that will have its connections
-     *                        represented in the matrix.
-     * @return Adjacency matrix with all connections between specified vertexes.
-     */
-    private float[][] setUpAdjacencyMatrix(List<V> orderedVertexes) {
-        int vertexesNumber = getVertexNumber();
-        float adjacencyMatrix[][] = new float[vertexesNumber][vertexesNumber];
-        for(int i = 0; i < vertexesNumber; i++) {
-            V currentVertex = orderedVertexes.get(i);
-            Set<E> connectedEdges = vertexes.get(currentVertex);
-            for (E edge : connectedEdges) {
-                V targetVertex = edge.getTargetVertex();
-                adjacencyMatrix[i][orderedVertexes.indexOf(targetVertex)] = getEdgeWeight(edge);
-            }
+     * @param representationType Type of the representation to be written.
+     * @param out Text to receive the representation.
+     */
+    private void writeRepresentation(RepresentationType representationType, TextWriter out) {
+        if (representationType == RepresentationType.ADJACENCY_MATRIX) {
+            writeAdjacencyMatrix(out);
+        } else if (representationType == RepresentationType.ADJACENCY_LIST) {
+            writeAdjacencyList(out);
         }
-        return adjacencyMatrix;
     }
 
     /**
-     * Returns the string representation of specified adjacency matrix.
-     *
-     * @param orderedVertexes Ordered vertexes that are in the matrix.
-     * @param adjacencyMatrix Adjacency matrix to have its string representation
-     *                        returned.
-     * @return The string representation of specified adjacency matrix.
+     * Writes the adjacency matrix representation, one line at a time. The
+     * weights of each line are placed in a single row buffer, through the
+     * indexes of the snapshot, which follow the order of the vertexes, and
+     * cleared after the line is written, so the whole matrix is never
+     * allocated.
      */
-    private String getAdjacencyMatrixString(List<V> orderedVertexes, float adjacencyMatrix[][]) {
-        int vertexesNumber = getVertexNumber();
-        StringBuilder matrixSB = new StringBuilder("  ");
+    private void writeAdjacencyMatrix(TextWriter out) {
+        IndexedGraph<V, E> indexedGraph = indexedGraph();
+        int vertexesNumber = indexedGraph.vertexNumber();
+        float[] row = new float[vertexesNumber];
+        out.append("  ");
 
         for (int i = 0; i < vertexesNumber; i++) {
-            matrixSB.append(orderedVertexes.get(i));
+            out.append(indexedGraph.vertexAt(i));
             boolean shouldAddSpace = vertexesNumber - i > 1;
-            if (shouldAddSpace) matrixSB.append(" ");
+            if (shouldAddSpace) out.append(" ");
         }
-        matrixSB.append(LINE_SEPARATOR);
-        for(int i = 0; i < vertexesNumber; i++) {
-            StringBuilder line = new StringBuilder(orderedVertexes.get(i) + " ");
-            for(int j = 0; j < vertexesNumber; j++) {
-                line.append(Utils.floatToString(adjacencyMatrix[i][j]));
+        out.endLine();
+        for (int i = 0; i < vertexesNumber; i++) {
+            V currentVertex = indexedGraph.vertexAt(i);
+            Set<E> connectedEdges = storage.edgesOf(currentVertex);
+            for (E edge : connectedEdges) {
+                row[indexedGraph.indexOf(edge.getTargetVertex())] = getEdgeWeight(edge);
+            }
+            out.append(currentVertex).append(" ");
+            for (int j = 0; j < vertexesNumber; j++) {
+                out.append(Utils.floatToString(row[j]));
                 boolean shouldAddSpace = vertexesNumber - j > 1;
-                if (shouldAddSpace) line.append(" ");
+                if (shouldAddSpace) out.append(" ");
+            }
+            out.endLine();
+            for (E edge : connectedEdges) {
+                row[indexedGraph.indexOf(edge.getTargetVertex())] = 0f;
             }
-            matrixSB.append(line).append(LINE_SEPARATOR);
         }
-        return matrixSB.toString();
     }
 
     /**
-     * Returns the adjacency list representation.
+     * Writes the adjacency list representation.
      */
-    private String adjacencyListRepresentation() {
+    private void writeAdjacencyList(TextWriter out) {
         List<V> orderedVertexes = getOrderedVertexesList();
-        StringBuilder list = new StringBuilder();
+        List<E> neighbors = new ArrayList<>();
 
         for (V v: orderedVertexes) {
-            String neighbors = vertexes.get(v).stream()
-                    .sorted(Comparator.comparing(Edge::getTargetVertex))
-                    .map(this::mapOperatorListRepresentation)
-                    .reduce((s1, s2) -> s1 + " " + s2).orElse(STRING_EMPTY);
-            list.append(v).append(" - ").append(neighbors).append(LINE_SEPARATOR);
+            neighbors.clear();
+            neighbors.addAll(storage.edgesOf(v));
+            neighbors.sort(Comparator.comparing(Edge::getTargetVertex));
+            out.append(v).append(" - ");
+            for (int i = 0; i < neighbors.size(); i++) {
+                if (i > 0) out.append(" ");
+                out.append(mapOperatorListRepresentation(neighbors.get(i)));
+            }
+            out.endLine();
         }
-        return list.toString();
     }
 
     /**
@@ -210,145 +347,296 @@ public abstract class BaseGraph<V extends Comparable<V>, E extends Edge<V>> impl
 
     @Override
     public String BFS(V v) {
-    	Queue<V> queue = new LinkedList<>();
-        Set<V> visited = new HashSet<>();
-        Map<V, V> predecessors = new HashMap<>();
-    	Map<V, Integer> level = new HashMap<>();
-    	setUpWalkByGraph(v, visited, predecessors, level);
-    	queue.add(v);
-        BFSWalkByGraph(queue, visited, predecessors, level);
-        return setUpWalkByGraphString(visited, predecessors, level);
+        return BFS(v, BFSAlgorithm.TOP_DOWN);
+    }
+
+    @Override
+    public String BFS(V v, BFSAlgorithm algorithm) {
+        TextWriter walk = new TextWriter();
+        writeBFS(v, algorithm, walk);
+        return walk.toString();
+    }
+
+    @Override
+    public void BFS(V v, Writer writer) {
+        TextWriter walk = new TextWriter(writer);
+        writeBFS(v, BFSAlgorithm.TOP_DOWN, walk);
+        walk.finish();
     }
 
     /**
-     * Walks by the graph in BFS.
+     * Walks by the graph in BFS with the specified algorithm and writes the
+     * result of the walk.
+     */
+    private void writeBFS(V v, BFSAlgorithm algorithm, TextWriter out) {
+        IndexedGraph<V, E> indexedGraph = indexedGraph();
+        int vertexNumber = indexedGraph.vertexNumber();
+        int[] levels = Traversals.newLevels(vertexNumber);
+        int[] predecessors = Traversals.newPredecessors(vertexNumber);
+        Traversals.breadthFirst(indexedGraph.adjacency(), indexOf(indexedGraph, v), algorithm, levels,
+                predecessors);
+        Traversals.writeWalk(out, levels, predecessors, indexedGraph::vertexAt);
+    }
+
+    @Override
+    public String BFS(V v, ForkJoinPool pool) {
+        IndexedGraph<V, E> indexedGraph = indexedGraph();
+        int vertexNumber = indexedGraph.vertexNumber();
+        int[] levels = Traversals.newLevels(vertexNumber);
+        int[] predecessors = Traversals.newPredecessors(vertexNumber);
+        ParallelBreadthFirst.run(indexedGraph.adjacency(), indexOf(indexedGraph, v), pool, levels,
+                predecessors);
+        return setUpWalkByGraphString(indexedGraph, levels, predecessors);
+    }
+
+    @Override
+    public BreadthFirstTree<V> breadthFirstTree(V root) {
+        return breadthFirstTree(root, BFSAlgorithm.DIRECTION_OPTIMIZING);
+    }
+
+    @Override
+    public BreadthFirstTree<V> breadthFirstTree(V root, BFSAlgorithm algorithm) {
+        IndexedGraph<V, E> indexedGraph = indexedGraph();
+        int vertexNumber = indexedGraph.vertexNumber();
+        int[] levels = Traversals.newLevels(vertexNumber);
+        int[] parents = Traversals.newPredecessors(vertexNumber);
+        int reachedNumber = Traversals.breadthFirst(indexedGraph.adjacency(), indexOf(indexedGraph, root),
+                algorithm, levels, parents);
+        return new BreadthFirstTree<>(root, levels, parents, reachedNumber, indexedGraph::indexOf,
+                indexedGraph::vertexAt);
+    }
+
+    @Override
+    public String DFS(V v) {
+        TextWriter walk = new TextWriter();
+        writeDFS(v, walk);
+        return walk.toString();
+    }
+
+    @Override
+    public void DFS(V v, Writer writer) {
+        TextWriter walk = new TextWriter(writer);
+        writeDFS(v, walk);
+        walk.finish();
+    }
+
+    /**
+     * Walks by the graph in DFS and writes the result of the walk.
+     */
+    private void writeDFS(V v, TextWriter out) {
+        IndexedGraph<V, E> indexedGraph = indexedGraph();
+        int vertexNumber = indexedGraph.vertexNumber();
+        int[] levels = Traversals.newLevels(vertexNumber);
+        int[] predecessors = Traversals.newPredecessors(vertexNumber);
+        Traversals.depthFirst(indexedGraph.adjacency(), indexOf(indexedGraph, v), levels, predecessors);
+        Traversals.writeWalk(out, levels, predecessors, indexedGraph::vertexAt);
+    }
+
+    /**
+     * Sets up the result string of a 'walk by graph' algorithm. The visited
+     * vertexes are listed in their natural order.
      *
-     * @param queue {@link Queue} of vertexes to be visited.
-     * @param visited {@link Set} of visited vertexes.
-     * @param predecessors {@link Map} that store the vertexes and their predecessors.
-     * @param level {@link Map} that store the vertexes and their level.
-     */
-    private void BFSWalkByGraph(Queue<V> queue, Set<V> visited, Map<V, V> predecessors, Map<V, Integer> level) {
-        while(!queue.isEmpty()){
-            V currentVertex = queue.poll();
-            for(V adjacentVertex : getAdjacentVertexes(currentVertex)){
-                if(!visited.contains(adjacentVertex)){
-                    visited.add(adjacentVertex);
-                    predecessors.put(adjacentVertex, currentVertex);
-                    level.put(adjacentVertex, level.get(currentVertex) + 1);
-                    queue.add(adjacentVertex);
+     * @param indexedGraph Indexed snapshot in which the walk was run.
+     * @param levels Levels of the vertexes, by index.
+     * @param predecessors Predecessors of the vertexes, by index.
+     * @return The result string of the walk.
+     */
+    String setUpWalkByGraphString(IndexedGraph<V, E> indexedGraph, int[] levels, int[] predecessors) {
+        return Traversals.walkString(levels, predecessors, indexedGraph::vertexAt);
+    }
+
+    @Override
+    public boolean connected() {
+        ConnectivityTracker<V> tracker = connectivityTracker;
+        if (tracker != null) return tracker.componentNumber() <= 1;
+        int[] roots = ComponentLabeling.roots(indexedGraph().adjacency(), ForkJoinPool.commonPool());
+        for (int root : roots) {
+            if (root != 0) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean sameComponent(V v1, V v2) {
+        if (!containsVertex(v1) || !containsVertex(v2)) {
+            throw new RuntimeException("The graph doesn't contains the specified vertex.");
+        }
+        ConnectivityTracker<V> tracker = connectivityTracker;
+        if (tracker != null) return tracker.sameComponent(v1, v2);
+        ConnectedComponents<V> components = connectedComponents();
+        return components.getComponent(v1) == components.getComponent(v2);
+    }
+
+    @Override
+    public void setConnectivityTracking(boolean enabled) {
+        if (!enabled) {
+            connectivityTracker = null;
+        } else if (connectivityTracker == null) {
+            ConnectivityTracker<V> tracker = new ConnectivityTracker<>();
+            for (V v : storage.vertexes()) {
+                tracker.addVertex(v);
+                for (E e : storage.edgesOf(v)) {
+                    tracker.addEdge(e.getOriginVertex(), e.getTargetVertex());
                 }
             }
+            connectivityTracker = tracker;
         }
     }
 
     @Override
-    public String DFS(V v) {
-        Set<V> visited = new HashSet<>();
-        Map<V, V> predecessors = new HashMap<>();
-        Map<V, Integer> level = new HashMap<>();
-        setUpWalkByGraph(v, visited, predecessors, level);
-        DFSWalkByGraph(v, visited, predecessors, level);
-        return setUpWalkByGraphString(visited, predecessors, level);
+    public ConnectedComponents<V> connectedComponents() {
+        return connectedComponents(ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public ConnectedComponents<V> connectedComponents(ForkJoinPool pool) {
+        IndexedGraph<V, E> indexedGraph = indexedGraph();
+        int[] roots = ComponentLabeling.roots(indexedGraph.adjacency(), pool);
+        return new ConnectedComponents<>(roots, indexedGraph::indexOf);
+    }
+
+    @Override
+    public String shortestPath(V v1, V v2) {
+        return shortestPath(v1, v2, ShortestPathAlgorithm.DIJKSTRA);
+    }
+
+    @Override
+    public String shortestPath(V v1, V v2, ShortestPathAlgorithm algorithm) {
+        ShortestPathTreeCache cache = shortestPathTreeCache;
+        if (algorithm == ShortestPathAlgorithm.DIJKSTRA && cache != null) {
+            return shortestPath(v1, v2, (indexedGraph, pathStart, pathEnd) ->
+                    cache.tree(indexedGraph.adjacency(), pathStart).pathTo(pathEnd));
+        }
+        return shortestPath(v1, v2, (indexedGraph, pathStart, pathEnd) ->
+                shortestPathSearch(indexedGraph).pointToPoint(pathStart, pathEnd, algorithm));
     }
 
     /**
-     * Walks by the graph in DFS.
+     * Returns a representation of the shortest path between the specified
+     * vertexes, found with the A* algorithm guided by the specified heuristic.
+     * It is exposed only by the weighted graphs, as in an unweighted graph
+     * the heuristic can't prune more than the breadth-first order.
      *
-     * @param currentVertex Current vertex to be process.
-     * @param visited List of visited vertexes.
-     * @param predecessors {@link Map} that store the vertexes and their predecessor.
-     * @param level {@link Map} that store the vertexes and their level.
-     */
-    private void DFSWalkByGraph(V currentVertex, Set<V> visited, Map<V, V> predecessors, Map<V, Integer> level){
-        visited.add(currentVertex);
-        for(V adjacentVertex : getAdjacentVertexes(currentVertex)){
-            if(!visited.contains(adjacentVertex)){
-                predecessors.put(adjacentVertex, currentVertex);
-                level.put(adjacentVertex, level.get(currentVertex) + 1);
-                DFSWalkByGraph(adjacentVertex, visited, predecessors, level);
-            }
-        }
+     * @param v1 Origin vertex of the path.
+     * @param v2 Target vertex of the path.
+     * @param heuristic Admissible estimate of the distance between vertexes.
+     * @return Shortest path between {@code v1} e {@code v2}.
+     */
+    protected String shortestPath(V v1, V v2, DistanceHeuristic<V> heuristic) {
+        return shortestPath(v1, v2, (indexedGraph, pathStart, pathEnd) ->
+                shortestPathSearch(indexedGraph).aStar(pathStart, pathEnd,
+                        v -> heuristic.estimate(indexedGraph.vertexAt(v), v2)));
     }
 
     /**
-     * Sets up the result string of a 'walk by graph' algorithm.
+     * Returns a representation of the shortest path between the specified
+     * vertexes, found by the specified search.
      *
-     * @param visited {@link Set} that store the vertexes and their status.
-     * @param predecessors {@link Map} that store the vertexes and their predecessors.
-     * @param level {@link Map} that store the vertexes and their level.
-     */
-    protected String setUpWalkByGraphString(Set<V> visited, Map<V,V> predecessors, Map<V,Integer> level) {
-        StringBuilder walkByGraphString = new StringBuilder();
-        List<V> visitedVertexes = new ArrayList<>(visited);
-
-        for(V vertex : visitedVertexes) {
-            V predecessor = predecessors.get(vertex);
-            walkByGraphString.append(vertex.toString()).append(" - ")
-                    .append(level.get(vertex).toString()).append(" ")
-                    .append(predecessor != null ? predecessor.toString() : "-")
-                    .append(LINE_SEPARATOR);
+     * @param v1 Origin vertex of the path.
+     * @param v2 Target vertex of the path.
+     * @param search Search that finds the path in the indexed snapshot.
+     * @return Shortest path between {@code v1} e {@code v2}.
+     */
+    private String shortestPath(V v1, V v2, PathSearch<V, E> search) {
+        if (v1.equals(v2)) return v1.toString();
+        requireNonNegativeWeights();
+        IndexedGraph<V, E> indexedGraph = indexedGraph();
+        int pathStart = indexedGraph.indexOf(v1), pathEnd = indexedGraph.indexOf(v2);
+        if (pathStart == IndexedGraph.ABSENT || pathEnd == IndexedGraph.ABSENT) {
+            throw new RuntimeException("There isn't a path between " + v1 + " and " + v2);
         }
+        ShortestPaths.PathResult result = search.find(indexedGraph, pathStart, pathEnd);
+        return setUpShortestPathString(indexedGraph, pathStart, pathEnd, result.path);
+    }
 
-        Collections.sort(visitedVertexes);
-        return walkByGraphString.toString();
+    @Override
+    public ShortestPathTree<V> shortestPathTree(V source) {
+        return shortestPathTree(source, DeltaStepping.defaultBucketWidth(indexedGraph().adjacency()),
+                ForkJoinPool.commonPool());
+    }
+
+    @Override
+    public ShortestPathTree<V> shortestPathTree(V source, float bucketWidth, ForkJoinPool pool) {
+        requireNonNegativeWeights();
+        IndexedGraph<V, E> indexedGraph = indexedGraph();
+        int vertexNumber = indexedGraph.vertexNumber();
+        float[] distances = new float[vertexNumber];
+        int[] predecessors = new int[vertexNumber];
+        DeltaStepping.run(indexedGraph.adjacency(), indexOf(indexedGraph, source), bucketWidth, pool,
+                distances, predecessors);
+        return new ShortestPathTree<>(source, distances, predecessors, indexedGraph::indexOf,
+                indexedGraph::vertexAt);
     }
 
     /**
-     * Sets up the configurations to walk by the graph.
+     * Returns the lengths of the shortest paths between all pairs of
+     * vertexes, computed in the common {@link ForkJoinPool} by the algorithm
+     * expected to be the fastest for the density of the graph. It is exposed
+     * only by the weighted graphs.
      *
-     * Actions:
-     * - Sets the root as a visited vertex;
-     * - Sets the predecessor of the root to null;
-     * - Sets the root level as 0.
+     * @return The distance matrix of the graph.
+     */
+    protected DistanceMatrix<V> allPairsShortestPaths() {
+        return allPairsShortestPaths(AllPairsShortestPaths.chooseAlgorithm(indexedGraph().adjacency()),
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the lengths of the shortest paths between all pairs of
+     * vertexes, computed by the specified algorithm in the specified pool.
+     * It is exposed only by the weighted graphs.
      *
-     * @param root Vertex root of the graph.
-     * @param visited {@link Set} that store the visited vertexes.
-     * @param predecessors {@link Map} that store the vertexes and their predecessor.
-     * @param level {@link Map} that store the vertexes and their level.
+     * @param algorithm Algorithm to be used.
+     * @param pool Pool that runs the computation.
+     * @return The distance matrix of the graph.
      */
-    protected void setUpWalkByGraph(V root, Set<V> visited, Map<V, V> predecessors, Map<V, Integer> level) {
-        visited.add(root);
-        predecessors.put(root, null);
-        level.put(root, 0);
+    protected DistanceMatrix<V> allPairsShortestPaths(AllPairsAlgorithm algorithm, ForkJoinPool pool) {
+        requireNonNegativeWeights();
+        IndexedGraph<V, E> indexedGraph = indexedGraph();
+        float[] distances = AllPairsShortestPaths.distances(indexedGraph.adjacency(), algorithm, pool);
+        return new DistanceMatrix<>(indexedGraph.vertexes(), distances, indexedGraph::indexOf);
     }
 
     @Override
-    public boolean connected() {
-        if (getAllVertexes().isEmpty()) return true;
-        Set<V> visited = new HashSet<>();
-        Map<V, V> predecessors = new HashMap<>();
-        Map<V, Integer> level = new HashMap<>();
-        V v = vertexes.keySet().iterator().next();
-        setUpWalkByGraph(v, visited, predecessors, level);
-        DFSWalkByGraph(v, visited, predecessors, level);
-        return visited.equals(vertexes.keySet());
+    public List<ShortestPath<V>> shortestPaths(List<? extends Map.Entry<V, V>> pairs, ForkJoinPool pool) {
+        requireNonNegativeWeights();
+        IndexedGraph<V, E> indexedGraph = indexedGraph();
+        return new ShortestPathBatch<>(indexedGraph.adjacency(), pairs, indexedGraph::indexOf,
+                indexedGraph::vertexAt).run(pool);
     }
 
     @Override
-    public String shortestPath(V v1, V v2) {
-        if (v1.equals(v2)) return v1.toString();
-        if (containsNegativeWeightedEdge()) {
-            throw new RuntimeException("The shortest path cannot be found in a" +
-                    " graph with negative circle.");
-        }
-        Map<V, Float> distances = new HashMap<>();
-        Map<V, V> predecessors = new HashMap<>();
-        setUpShortestPath(v1, distances, predecessors);
-        Queue<V> priorityQueue = new PriorityQueue<>((o1, o2) ->
-                Float.compare(distances.get(o1), distances.get(o2)));
-        priorityQueue.addAll(getAllVertexes());
-
-        while (!priorityQueue.isEmpty()) {
-            V current = priorityQueue.poll();
-            if (current.equals(v2)) break;
-            for (E e: getEdgesOfVertex(current)) {
-                V adjacent = e.getTargetVertex();
-                relax(current, adjacent, e, distances, predecessors);
-            }
-        }
+    public void setShortestPathCacheLimit(long maxBytes) {
+        shortestPathTreeCache = ShortestPathTreeCache.withLimit(maxBytes);
+    }
+
+    @Override
+    public ShortestPathIndex<V> shortestPathIndex() {
+        requireNonNegativeWeights();
+        IndexedGraph<V, E> indexedGraph = indexedGraph();
+        return new ShortestPathIndex<>(indexedGraph.adjacency(), indexedGraph::indexOf,
+                indexedGraph::vertexAt);
+    }
 
-        return setUpShortestPathString(v1, v2, predecessors);
+    /**
+     * Search for the shortest path between two vertexes of an indexed
+     * snapshot.
+     *
+     * @param <V> Type of the vertex.
+     * @param <E> Type of the edge.
+     */
+    @FunctionalInterface
+    private interface PathSearch<V extends Comparable<V>, E extends Edge<V>> {
+
+        /**
+         * Finds the shortest path between the specified vertexes.
+         *
+         * @param indexedGraph Indexed snapshot of the graph.
+         * @param pathStart Index of the vertex that starts the path.
+         * @param pathEnd Index of the vertex that ends the path.
+         * @return The shortest path found.
+         */
+        ShortestPaths.PathResult find(IndexedGraph<V, E> indexedGraph, int pathStart, int pathEnd);
     }
 
     /**
@@ -361,123 +649,80 @@ public abstract class BaseGraph<V extends Comparable<V>, E extends Edge<V>> impl
     }
 
     /**
-     * Sets up the configuration to run the shortest path algorithm.
+     * Checks that the graph can be searched for shortest paths, which isn't
+     * possible if it contains negative weighted edges, as in an undirected
+     * graph each of them is a negative circle.
      *
-     * Actions:
-     * - Sets distances to the path start of all vertexes as +Infinity;
-     * - Sets predecessors of all vertexes to {@code null};
-     * - Sets the distance of the path start to 0 (zero).
-     *
-     * @param pathStart Vertex that starts the path.
-     * @param distances {@link Map} that links a vertex to its distance to origin
-     *                             of the shortest path.
-     * @param predecessors {@link Map} that links a vertex to its predecessors.
-     */
-    protected void setUpShortestPath(V pathStart, Map<V, Float> distances, Map<V, V> predecessors) {
-        for (V v: getAllVertexes()) {
-            distances.put(v, Float.POSITIVE_INFINITY);
-            predecessors.put(v, null);
+     * @throws RuntimeException If the graph contains negative weighted edges.
+     */
+    private void requireNonNegativeWeights() {
+        if (containsNegativeWeightedEdge()) {
+            throw new RuntimeException("The shortest path cannot be found in a" +
+                    " graph with negative circle.");
         }
-        distances.replace(pathStart, 0f);
     }
 
     /**
      * Sets up the shortest path between {@code pathStart} and {@code pathEnd}
      * string representation.
      *
-     * @param pathStart Vertex that starts the path.
-     * @param pathEnd Vertex that ends the path.
-     * @param predecessors {@link Map} that links a vertex to its predecessor.
+     * @param indexedGraph Indexed snapshot in which the search was run.
+     * @param pathStart Index of the vertex that starts the path.
+     * @param pathEnd Index of the vertex that ends the path.
+     * @param path Indexes of the vertexes of the path, or {@code null} if
+     *             there isn't a path.
+     * @throws RuntimeException If there isn't a path between the vertexes.
      * @return Shortest path string representation.
      */
-    protected String setUpShortestPathString(V pathStart, V pathEnd, Map<V, V> predecessors) {
-        StringBuilder shortestPath = new StringBuilder(pathEnd.toString());
-        V predecessor = predecessors.get(pathEnd);
-        V lastAddedPredecessor = predecessor;
-        while(predecessor != null) {
-            StringBuilder currentSB = new StringBuilder(predecessor.toString());
-            shortestPath = currentSB.append(" ").append(shortestPath);
-            lastAddedPredecessor = predecessor;
-            predecessor = predecessors.get(predecessor);
-        }
-        if (lastAddedPredecessor == null || !lastAddedPredecessor.equals(pathStart)) {
-            throw new RuntimeException("There isn't a path between " + pathStart
-                    + " and " + pathEnd);
-        }
-        return shortestPath.toString();
+    String setUpShortestPathString(IndexedGraph<V, E> indexedGraph, int pathStart, int pathEnd,
+                                   int[] path) {
+        return ShortestPaths.pathString(pathStart, pathEnd, path, indexedGraph::vertexAt);
     }
 
     /**
-     * Relaxes the edge between vertexes {@code originVertex} and
-     * {@code targetVertex}. Only if the distance between
-     * {@code originVertex} and {@code targetVertex} is lesser than the
-     * distance already leaded to {@code targetVertex}.
+     * Gets list of MST's edges.
      *
-     * @param originVertex Origin vertex of the edge.
-     * @param targetVertex Target vertex of the edge.
-     * @param e Edge from {@code originVertex} to {@code targetVertex}.
-     * @param distances {@link Map} that links a vertex to its distance to origin
-     *                             of the shortest path.
-     * @param predecessors {@link Map} that links a vertex to its predecessor.
-     */
-    protected void relax(V originVertex, V targetVertex, E e, Map<V, Float> distances,
-                         Map<V, V> predecessors) {
-        Float targetVertexDistance = distances.get(targetVertex),
-                originVertexDistance = distances.get(originVertex),
-                edgeWeight = getEdgeWeight(e);
-        if (targetVertexDistance > (originVertexDistance + edgeWeight)) {
-            predecessors.put(targetVertex, originVertex);
-            distances.replace(targetVertex, distances.get(originVertex) + edgeWeight);
-        }
+     * @return List of MST's edges.
+     */
+    public List<E> getEdgesMST() {
+        return getEdgesMST(SpanningTrees.chooseAlgorithm(indexedGraph().adjacency()));
     }
 
     /**
-     * Determines whether the vertex is already grouped to a subset, using recursion,
-     * and if so verifies in the sub set of this vertex until finding
-     * a vertex of the non-associated subset.
+     * Gets list of MST's edges, found by the specified algorithm.
      *
-     * @param subEdges subset of the vertexes of the graph with its associations.
-     * @param vertex vertex to be checked in the subset
-     * @return associated vertex
+     * @param algorithm Algorithm to be used to find the MST.
+     * @return List of MST's edges.
      */
-    private V find(Map<V,V> subEdges, V vertex) {
-        if(subEdges.get(vertex) == null) {
-            return vertex;
-        }
-        return this.find(subEdges, subEdges.get(vertex));
+    public List<E> getEdgesMST(MSTAlgorithm algorithm) {
+        return getEdgesMST(algorithm, ForkJoinPool.commonPool());
     }
 
     /**
-     * Combines two vertexes, creating a subset, which is the relationship between those vertices.
+     * Gets list of MST's edges, found by {@link MSTAlgorithm#BORUVKA} in the
+     * specified pool.
      *
-     * @param subEdges subset of the vertexes of the graph with its associations.
-     * @param originVertex The origin vertex of the edge.
-     * @param targetVertex The target vertex of the edge.
+     * @param pool Pool that runs the rounds of the algorithm.
+     * @return List of MST's edges.
      */
-    private void union(Map<V,V> subEdges, V originVertex, V targetVertex) {
-        V originVertexPut = this.find(subEdges, originVertex);
-        V targetVertexPut = this.find(subEdges, targetVertex);
-        subEdges.put(originVertexPut, targetVertexPut);
+    public List<E> getEdgesMST(ForkJoinPool pool) {
+        return getEdgesMST(MSTAlgorithm.BORUVKA, pool);
     }
 
     /**
-     * Gets list of MST's edges.
+     * Gets list of MST's edges, found by the specified algorithm in the
+     * specified pool, which runs {@link MSTAlgorithm#BORUVKA} and
+     * {@link MSTAlgorithm#FILTER_KRUSKAL}.
      *
-     * @param subEdges subset of the vertexes of the graph with its associations.
+     * @param algorithm Algorithm to be used to find the MST.
+     * @param pool Pool that runs the parallel steps of the algorithm.
      * @return List of MST's edges.
      */
-    public List<E> getEdgesMST(Map<V,V> subEdges) {
+    public List<E> getEdgesMST(MSTAlgorithm algorithm, ForkJoinPool pool) {
+        IndexedGraph<V, E> indexedGraph = indexedGraph();
         List<E> edgesMst = new ArrayList<>();
-        List<E> listEdges = new ArrayList<>(this.getAllEdges());
-        Collections.sort(listEdges);
-        for(int i=0; i < listEdges.size(); i++) {
-            E egdeOperation = listEdges.get(i);
-            V originVertex = this.find(subEdges, egdeOperation.getOriginVertex());
-            V targetVertex = this.find(subEdges, egdeOperation.getTargetVertex());
-            if(!originVertex.equals(targetVertex)) {
-                edgesMst.add(egdeOperation);
-                this.union(subEdges, originVertex, targetVertex);
-            }
+        for (int arc : SpanningTrees.minimumSpanningForest(indexedGraph.adjacency(), algorithm, pool)) {
+            edgesMst.add(indexedGraph.edgeAt(arc));
         }
         return edgesMst;
     }
@@ -489,11 +734,21 @@ public abstract class BaseGraph<V extends Comparable<V>, E extends Edge<V>> impl
      * @return minimal spanning tree(MST) in string representation.
      */
     private String MSTRepresentation(List<E> edgesMst) {
-        StringBuilder representation = new StringBuilder();
+        TextWriter representation = new TextWriter();
+        writeMST(edgesMst, representation);
+        return representation.toString();
+    }
+
+    /**
+     * Writes the string representing minimal spanning tree.
+     *
+     * @param edgesMst List of MST's edges.
+     * @param out Text to receive the representation.
+     */
+    private void writeMST(List<E> edgesMst, TextWriter out) {
         for(int i=0; i < edgesMst.size(); i++) {
-            representation.append(edgesMst.get(i).toString()).append(LINE_SEPARATOR);
+            out.append(edgesMst.get(i).toString()).endLine();
         }
-        return representation.toString();
     }
 
     /**
@@ -503,27 +758,133 @@ public abstract class BaseGraph<V extends Comparable<V>, E extends Edge<V>> impl
      */
     @Override
     public String MST() {
-        Iterator<V> vertexIterator = this.getAllVertexes().iterator();
-        Map<V,V> subEdges = new HashMap<>();
-        while(vertexIterator.hasNext()) {
-            subEdges.put(vertexIterator.next(), null);
+        return this.MSTRepresentation(getEdgesMST());
+    }
+
+    @Override
+    public String MST(MSTAlgorithm algorithm) {
+        return this.MSTRepresentation(getEdgesMST(algorithm));
+    }
+
+    @Override
+    public String MST(ForkJoinPool pool) {
+        return this.MSTRepresentation(getEdgesMST(pool));
+    }
+
+    @Override
+    public String MST(MSTAlgorithm algorithm, ForkJoinPool pool) {
+        return this.MSTRepresentation(getEdgesMST(algorithm, pool));
+    }
+
+    @Override
+    public void MST(Writer writer) {
+        TextWriter representation = new TextWriter(writer);
+        writeMST(getEdgesMST(), representation);
+        representation.finish();
+    }
+
+    /**
+     * Returns the indexed snapshot of the graph, in which the vertexes are
+     * interned to dense indexes, building it if the graph was modified since
+     * the last one was built.
+     */
+    IndexedGraph<V, E> indexedGraph() {
+        IndexedGraph<V, E> indexedGraph = this.indexedGraph;
+        if (indexedGraph == null) {
+            indexedGraph = storage.index();
+            this.indexedGraph = indexedGraph;
         }
-        List<E> edgesMst =  getEdgesMST(subEdges);
+        return indexedGraph;
+    }
 
-        return this.MSTRepresentation(edgesMst);
+    /**
+     * Returns the point-to-point search of the current thread, whose buffers
+     * are reused by the queries of the thread. It is rebuilt when it was made
+     * for an older snapshot, so each thread keeps at most one search per
+     * graph.
+     */
+    private ShortestPaths.Search shortestPathSearch(IndexedGraph<V, E> indexedGraph) {
+        ShortestPaths.Search search = shortestPathSearches.get();
+        if (search == null || !search.isOver(indexedGraph.adjacency())) {
+            search = new ShortestPaths.Search(indexedGraph.adjacency());
+            shortestPathSearches.set(search);
+        }
+        return search;
     }
 
+    /**
+     * Discards the indexed snapshot of the graph and the shortest path trees
+     * computed on it. Must be called whenever the storage is modified.
+     */
+    protected void invalidateIndexedGraph() {
+        indexedGraph = null;
+        ShortestPathTreeCache cache = shortestPathTreeCache;
+        if (cache != null) cache.clear();
+    }
+
+    /**
+     * Returns the index of the specified vertex in the specified snapshot.
+     *
+     * @throws RuntimeException If the vertex isn't in the graph.
+     */
+    private int indexOf(IndexedGraph<V, E> indexedGraph, V v) {
+        int index = indexedGraph.indexOf(v);
+        if (index == IndexedGraph.ABSENT) {
+            throw new RuntimeException("The graph doesn't contains the specified vertex.");
+        }
+        return index;
+    }
+
+    /**
+     * Describes the edges of the graph to its storage.
+     */
+    private final class GraphEdgeModel implements AdjacencyStorage.EdgeModel<V, E> {
+
+        @Override
+        public boolean isWeighted() {
+            return BaseGraph.this.isWeighted();
+        }
+
+        @Override
+        public float weight(E e) {
+            return getEdgeWeight(e);
+        }
+
+        @Override
+        public E createEdge(V origin, V target, float weight) {
+            return BaseGraph.this.createEdge(origin, target, weight);
+        }
+
+        @Override
+        public boolean matchesArc(Edge<?> e, float weight) {
+            return BaseGraph.this.matchesArc(e, weight);
+        }
+    }
+
+    /**
+     * Returns if the specified object is a graph of the same class with the
+     * same vertexes and edges, whatever the storage.
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         BaseGraph<?, ?> baseGraph = (BaseGraph<?, ?>) o;
-        return Objects.equals(vertexes, baseGraph.vertexes);
+        return storage.vertexes().equals(baseGraph.storage.vertexes())
+                && getAllEdges().equals(baseGraph.getAllEdges());
     }
 
+    /**
+     * Returns the hash code of the graph, which is the one of the map from
+     * each vertex to its edges, whatever the storage.
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(vertexes);
+        int vertexesHash = 0;
+        for (V v : storage.vertexes()) {
+            vertexesHash += v.hashCode() ^ storage.edgesOf(v).hashCode();
+        }
+        return 31 + vertexesHash;
     }
 
 }
\ No newline at end of file
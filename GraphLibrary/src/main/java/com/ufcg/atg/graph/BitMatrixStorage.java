@@ -0,0 +1,152 @@
+package com.ufcg.atg.graph;
+
+import java.util.*;
+
+/**
+ * {@link AdjacencyStorage} of unweighted graphs that keeps the adjacency in a
+ * bit matrix: the row of each vertex is a {@code long[]} with a bit per
+ * vertex index, set if there is an edge to it, so the position of an arc is
+ * its target index. It takes {@code V² / 8} bytes, a fraction of the memory
+ * of the edge objects of a dense graph, tests an edge by a single bit, and
+ * intersects two neighborhoods 64 vertexes at a time.
+ *
+ * @param <V> Type of the vertex.
+ * @param <E> Type of the edge.
+ */
+final class BitMatrixStorage<V extends Comparable<V>, E extends Edge<V>> extends InternedStorage<V, E> {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[][] rows = new long[0][];
+
+    private int capacity;
+
+    private int arcNumber;
+
+    /**
+     * Constructs a {@link BitMatrixStorage}.
+     *
+     * @param edgeModel Model of the edges to be stored, which must be
+     *                  unweighted.
+     */
+    BitMatrixStorage(EdgeModel<V, E> edgeModel) {
+        super(edgeModel);
+    }
+
+    @Override
+    void addRow() {
+        int index = vertexNumber() - 1;
+        if (index == capacity) grow();
+        rows[index] = new long[capacity >>> 6];
+    }
+
+    /**
+     * Doubles the number of rows and of bits per row.
+     */
+    private void grow() {
+        capacity = Math.max(INITIAL_CAPACITY, capacity * 2);
+        rows = Arrays.copyOf(rows, capacity);
+        for (int i = 0; i < vertexNumber() - 1; i++) {
+            rows[i] = Arrays.copyOf(rows[i], capacity >>> 6);
+        }
+    }
+
+    @Override
+    void addArcs(int origin, int target, float weight) {
+        if ((rows[origin][target >>> 6] & 1L << target) != 0) return;
+        arcNumber += origin == target ? 1 : 2;
+        rows[origin][target >>> 6] |= 1L << target;
+        rows[target][origin >>> 6] |= 1L << origin;
+    }
+
+    @Override
+    public int arcNumber() {
+        return arcNumber;
+    }
+
+    @Override
+    int degree(int v) {
+        int degree = 0;
+        for (long word : rows[v]) {
+            degree += Long.bitCount(word);
+        }
+        return degree;
+    }
+
+    @Override
+    int firstArc(int v) {
+        return nextSetBit(v, 0);
+    }
+
+    @Override
+    int nextArc(int v, int arc) {
+        return nextSetBit(v, arc + 1);
+    }
+
+    /**
+     * Returns the first bit set in the row of the vertex at or after the
+     * specified one, or {@link #NO_ARC} if there isn't one.
+     */
+    private int nextSetBit(int v, int from) {
+        long[] row = rows[v];
+        int word = from >>> 6;
+        if (word >= row.length) return NO_ARC;
+        long bits = row[word] & -1L << from;
+        while (bits == 0) {
+            if (++word == row.length) return NO_ARC;
+            bits = row[word];
+        }
+        return word << 6 | Long.numberOfTrailingZeros(bits);
+    }
+
+    @Override
+    int target(int v, int arc) {
+        return arc;
+    }
+
+    @Override
+    float weight(int v, int arc) {
+        return CompressedAdjacency.UNWEIGHTED_ARC_WEIGHT;
+    }
+
+    @Override
+    boolean containsArc(int origin, int target, Edge<?> e) {
+        return (rows[origin][target >>> 6] & 1L << target) != 0
+                && edgeModel.matchesArc(e, CompressedAdjacency.UNWEIGHTED_ARC_WEIGHT);
+    }
+
+    /**
+     * Finds the common adjacent vertexes with a bitwise and of both rows.
+     */
+    @Override
+    public Set<V> commonAdjacentVertexes(V v1, V v2) {
+        long[] row1 = rows[indexOf(v1)], row2 = rows[indexOf(v2)];
+        Set<V> common = new HashSet<>();
+        for (int word = 0; word < row1.length; word++) {
+            for (long bits = row1[word] & row2[word]; bits != 0; bits &= bits - 1) {
+                common.add(vertexAt(word << 6 | Long.numberOfTrailingZeros(bits)));
+            }
+        }
+        return common;
+    }
+
+    @Override
+    CompressedAdjacency adjacency() {
+        int vertexNumber = vertexNumber();
+        int[] offsets = new int[vertexNumber + 1];
+        for (int v = 0; v < vertexNumber; v++) {
+            offsets[v + 1] = offsets[v] + degree(v);
+        }
+        int[] targets = new int[offsets[vertexNumber]];
+        for (int v = 0; v < vertexNumber; v++) {
+            int arc = offsets[v];
+            for (int word = 0; word < rows[v].length; word++) {
+                for (long bits = rows[v][word]; bits != 0; bits &= bits - 1) {
+                    targets[arc++] = word << 6 | Long.numberOfTrailingZeros(bits);
+                }
+            }
+        }
+        return new CompressedAdjacency(offsets, targets, null);
+    }
+
+}
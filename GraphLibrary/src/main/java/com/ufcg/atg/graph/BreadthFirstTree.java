@@ -0,0 +1,129 @@
+package com.ufcg.atg.graph;
+
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Represents the tree of a Breadth-first Search (BFS) from a root vertex, as
+ * returned by {@link IGraph#breadthFirstTree(Comparable)}. The level and the
+ * parent of each vertex are stored in arrays indexed by the index of the
+ * vertex, which can be read at once by {@link #getLevels()} and
+ * {@link #getParents()}.
+ *
+ * @param <V> Type of the vertexes.
+ */
+public final class BreadthFirstTree<V extends Comparable<V>> {
+
+    /**
+     * Level of the vertexes not reached by the search, and parent of the
+     * root and of those vertexes.
+     */
+    public static final int NONE = -1;
+
+    private final V root;
+
+    private final int[] levels;
+
+    private final int[] parents;
+
+    private final int reachedNumber;
+
+    private final ToIntFunction<V> indexOf;
+
+    private final IntFunction<V> vertexAt;
+
+    /**
+     * Constructs a {@link BreadthFirstTree}.
+     *
+     * @param root The root vertex of the search.
+     * @param levels Levels of the vertexes, by index.
+     * @param parents Parents of the vertexes, by index.
+     * @param reachedNumber Number of vertexes reached by the search.
+     * @param indexOf Function that maps a vertex to its index, or to a negative
+     *                number if it isn't in the graph.
+     * @param vertexAt Function that maps an index to its vertex.
+     */
+    BreadthFirstTree(V root, int[] levels, int[] parents, int reachedNumber, ToIntFunction<V> indexOf,
+                     IntFunction<V> vertexAt) {
+        this.root = root;
+        this.levels = levels;
+        this.parents = parents;
+        this.reachedNumber = reachedNumber;
+        this.indexOf = indexOf;
+        this.vertexAt = vertexAt;
+    }
+
+    public V getRoot() {
+        return root;
+    }
+
+    /**
+     * Returns the number of vertexes reached by the search, the root
+     * included.
+     */
+    public int getReachedNumber() {
+        return reachedNumber;
+    }
+
+    /**
+     * Returns the level of the specified vertex in the tree.
+     *
+     * @param v Vertex to have its level returned.
+     * @return The level of the vertex, or {@link #NONE} if it wasn't reached.
+     */
+    public int getLevel(V v) {
+        int index = indexOf.applyAsInt(v);
+        return index < 0 ? NONE : levels[index];
+    }
+
+    /**
+     * Returns the parent of the specified vertex in the tree.
+     *
+     * @param v Vertex to have its parent returned.
+     * @return The parent of the vertex, or null if it is the root or wasn't
+     * reached.
+     */
+    public V getParent(V v) {
+        int index = indexOf.applyAsInt(v);
+        if (index < 0 || parents[index] == NONE) return null;
+        return vertexAt.apply(parents[index]);
+    }
+
+    /**
+     * Returns the index of the specified vertex in the arrays of the tree.
+     *
+     * @param v Vertex to have its index returned.
+     * @return The index of the vertex, or a negative number if it isn't in
+     * the graph.
+     */
+    public int indexOf(V v) {
+        return indexOf.applyAsInt(v);
+    }
+
+    /**
+     * Returns the vertex of the specified index in the arrays of the tree.
+     *
+     * @param index Index of the vertex.
+     * @return The vertex.
+     */
+    public V vertexAt(int index) {
+        return vertexAt.apply(index);
+    }
+
+    /**
+     * Returns a copy of the levels of the vertexes, by index, with
+     * {@link #NONE} for the vertexes not reached.
+     */
+    public int[] getLevels() {
+        return levels.clone();
+    }
+
+    /**
+     * Returns a copy of the indexes of the parents of the vertexes, by index,
+     * with {@link #NONE} for the root and the vertexes not reached.
+     */
+    public int[] getParents() {
+        return parents.clone();
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.ufcg.atg.graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Labels the connected components of a {@link CompressedAdjacency} with a
+ * concurrent union-find, in which chunks of arcs are united in parallel.
+ *
+ * The union-find is lock-free: a root is linked with compare-and-set, always
+ * under the smaller of the two roots, so no cycle can be formed and the root
+ * of each component is its vertex of lowest index. The paths are halved with
+ * compare-and-set too, which only shortcuts a vertex to an ancestor.
+ */
+final class ComponentLabeling {
+
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+
+    private final CompressedAdjacency adjacency;
+
+    private final AtomicIntegerArray parents;
+
+    /**
+     * Constructs a {@link ComponentLabeling} in which each vertex is alone in
+     * its component.
+     */
+    private ComponentLabeling(CompressedAdjacency adjacency) {
+        this.adjacency = adjacency;
+        int[] singletons = new int[adjacency.vertexCapacity()];
+        for (int v = 0; v < singletons.length; v++) {
+            singletons[v] = v;
+        }
+        this.parents = new AtomicIntegerArray(singletons);
+    }
+
+    /**
+     * Returns the root of the component of each vertex, which is the vertex
+     * of lowest index of the component.
+     *
+     * @param adjacency Adjacency of the graph, which must be symmetric.
+     * @param pool Pool that unites the chunks of arcs.
+     * @return The roots of the components, by vertex index.
+     */
+    static int[] roots(CompressedAdjacency adjacency, ForkJoinPool pool) {
+        ComponentLabeling labeling = new ComponentLabeling(adjacency);
+        if (adjacency.arcCount() > 0) pool.invoke(labeling.new UnionTask(0, adjacency.arcCount()));
+        int[] roots = new int[adjacency.vertexCapacity()];
+        for (int v = 0; v < roots.length; v++) {
+            int parent = labeling.parents.get(v);
+            roots[v] = parent == v ? v : roots[parent];
+        }
+        return roots;
+    }
+
+    /**
+     * Unites the origin and the target of each arc in the specified range.
+     * Each edge is united once, by its arc from the lower index.
+     */
+    private void unite(int fromArc, int toArc) {
+        int[] offsets = adjacency.offsets, targets = adjacency.targets;
+        int origin = SpanningTrees.origin(adjacency, fromArc);
+        for (int arc = fromArc; arc < toArc; arc++) {
+            while (arc == offsets[origin + 1]) origin++;
+            if (targets[arc] > origin) union(origin, targets[arc]);
+        }
+    }
+
+    private void union(int v1, int v2) {
+        while (true) {
+            int root1 = find(v1), root2 = find(v2);
+            if (root1 == root2) return;
+            if (root1 < root2) {
+                int swap = root1;
+                root1 = root2;
+                root2 = swap;
+            }
+            if (parents.compareAndSet(root1, root1, root2)) return;
+        }
+    }
+
+    private int find(int v) {
+        int parent = parents.get(v);
+        while (parent != v) {
+            int grandparent = parents.get(parent);
+            if (grandparent != parent) parents.compareAndSet(v, parent, grandparent);
+            v = grandparent;
+            parent = parents.get(v);
+        }
+        return v;
+    }
+
+    /**
+     * Task that unites a range of arcs, splitting it in halves until it is
+     * small enough.
+     */
+    private final class UnionTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int fromArc;
+
+        private final int toArc;
+
+        UnionTask(int fromArc, int toArc) {
+            this.fromArc = fromArc;
+            this.toArc = toArc;
+        }
+
+        @Override
+        protected void compute() {
+            if (toArc - fromArc <= SEQUENTIAL_THRESHOLD) {
+                unite(fromArc, toArc);
+                return;
+            }
+            int middle = (fromArc + toArc) >>> 1;
+            invokeAll(new UnionTask(fromArc, middle), new UnionTask(middle, toArc));
+        }
+    }
+
+}
@@ -0,0 +1,310 @@
+package com.ufcg.atg.graph;
+
+import com.ufcg.atg.util.Utils;
+
+import java.util.Arrays;
+
+/**
+ * Immutable compressed sparse row (CSR) representation of the adjacency of an
+ * undirected graph whose vertexes are identified by dense indexes in
+ * {@code [0, vertexCapacity)}.
+ *
+ * The arcs leaving the vertex {@code v} are stored in the positions
+ * {@code [offsets[v], offsets[v + 1])} of {@link #targets} and
+ * {@link #weights}, ordered by target index and, for equal targets, by weight.
+ * Unweighted adjacencies don't allocate {@link #weights} and all of their
+ * arcs weigh one (1).
+ *
+ * The algorithms of the package iterate over those arrays directly, that's
+ * why they are package-private.
+ */
+final class CompressedAdjacency {
+
+    static final float UNWEIGHTED_ARC_WEIGHT = 1f;
+
+    final int[] offsets;
+
+    final int[] targets;
+
+    final float[] weights;
+
+    /**
+     * Constructs a {@link CompressedAdjacency}.
+     *
+     * @param offsets Offsets of the rows of each vertex.
+     * @param targets Target vertex of each arc.
+     * @param weights Weight of each arc, or {@code null} if unweighted.
+     */
+    CompressedAdjacency(int[] offsets, int[] targets, float[] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Returns an empty adjacency.
+     *
+     * @param weighted Whether the adjacency stores weights.
+     * @return An empty adjacency without vertexes.
+     */
+    static CompressedAdjacency empty(boolean weighted) {
+        return new CompressedAdjacency(new int[1], new int[0], weighted ? new float[0] : null);
+    }
+
+    /**
+     * Returns the number of vertex indexes covered by the adjacency.
+     */
+    int vertexCapacity() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the number of arcs. Each undirected edge is counted twice, once
+     * per direction, except loops.
+     */
+    int arcCount() {
+        return offsets[offsets.length - 1];
+    }
+
+    /**
+     * Returns if the adjacency stores weights.
+     */
+    boolean isWeighted() {
+        return weights != null;
+    }
+
+    /**
+     * Returns the weight of the specified arc.
+     *
+     * @param arc Index of the arc.
+     * @return Weight of the arc.
+     */
+    float weight(int arc) {
+        return weights == null ? UNWEIGHTED_ARC_WEIGHT : weights[arc];
+    }
+
+    /**
+     * Returns the number of arcs leaving the specified vertex.
+     *
+     * @param v Index of the vertex.
+     * @return Degree of the vertex.
+     */
+    int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Returns the index of the first arc from {@code origin} to {@code target},
+     * or -1 if there isn't one.
+     *
+     * @param origin Index of the origin vertex.
+     * @param target Index of the target vertex.
+     * @return Index of the first arc between the vertexes or -1.
+     */
+    int firstArc(int origin, int target) {
+        if (origin < 0 || origin >= vertexCapacity()) return -1;
+        int low = offsets[origin], high = offsets[origin + 1];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (targets[middle] < target) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low < offsets[origin + 1] && targets[low] == target ? low : -1;
+    }
+
+    /**
+     * Returns a new adjacency in which each vertex is renumbered to the
+     * specified rank. The rows are reordered by rank and their arcs are
+     * sorted again by the new target indexes.
+     *
+     * @param ranks New index of each vertex, a permutation of the current
+     *              indexes.
+     * @return The renumbered adjacency.
+     */
+    CompressedAdjacency renumbered(int[] ranks) {
+        int vertexCapacity = vertexCapacity();
+        int[] vertexes = new int[vertexCapacity];
+        for (int v = 0; v < vertexCapacity; v++) {
+            vertexes[ranks[v]] = v;
+        }
+        int[] newOffsets = new int[vertexCapacity + 1];
+        for (int rank = 0; rank < vertexCapacity; rank++) {
+            newOffsets[rank + 1] = newOffsets[rank] + degree(vertexes[rank]);
+        }
+        int[] newTargets = new int[targets.length];
+        float[] newWeights = weights == null ? null : new float[targets.length];
+        long[] keys = null;
+        for (int rank = 0; rank < vertexCapacity; rank++) {
+            int from = offsets[vertexes[rank]], degree = degree(vertexes[rank]), newFrom = newOffsets[rank];
+            if (weights == null) {
+                for (int i = 0; i < degree; i++) {
+                    newTargets[newFrom + i] = ranks[targets[from + i]];
+                }
+                Arrays.sort(newTargets, newFrom, newFrom + degree);
+            } else {
+                if (keys == null || keys.length < degree) keys = new long[degree];
+                for (int i = 0; i < degree; i++) {
+                    keys[i] = packArc(ranks[targets[from + i]], weights[from + i]);
+                }
+                Arrays.sort(keys, 0, degree);
+                for (int i = 0; i < degree; i++) {
+                    newTargets[newFrom + i] = unpackTarget(keys[i]);
+                    newWeights[newFrom + i] = unpackWeight(keys[i]);
+                }
+            }
+        }
+        return new CompressedAdjacency(newOffsets, newTargets, newWeights);
+    }
+
+    /**
+     * Returns a new adjacency with the arcs of this one plus both directions of
+     * each of the specified undirected edges. Rows touched by the new edges are
+     * sorted again and repeated arcs are discarded, so adding an edge that is
+     * already present does nothing.
+     *
+     * @param vertexCapacity Number of vertex indexes of the new adjacency. It
+     *                       can't be lesser than the current capacity.
+     * @param origins Origin vertex of each new edge.
+     * @param targets Target vertex of each new edge.
+     * @param weights Weight of each new edge, ignored if unweighted.
+     * @param count Number of new edges.
+     * @return The new adjacency.
+     */
+    CompressedAdjacency withEdges(int vertexCapacity, int[] origins, int[] targets,
+                                  float[] weights, int count) {
+        int oldCapacity = vertexCapacity();
+        int[] newOffsets = new int[vertexCapacity + 1];
+        boolean[] touched = new boolean[vertexCapacity];
+        for (int v = 0; v < oldCapacity; v++) {
+            newOffsets[v + 1] = degree(v);
+        }
+        for (int i = 0; i < count; i++) {
+            newOffsets[origins[i] + 1]++;
+            newOffsets[targets[i] + 1]++;
+            touched[origins[i]] = true;
+            touched[targets[i]] = true;
+        }
+        for (int v = 0; v < vertexCapacity; v++) {
+            newOffsets[v + 1] += newOffsets[v];
+        }
+
+        int[] newTargets = new int[newOffsets[vertexCapacity]];
+        float[] newWeights = isWeighted() ? new float[newTargets.length] : null;
+        int[] cursor = Arrays.copyOf(newOffsets, vertexCapacity);
+        for (int v = 0; v < oldCapacity; v++) {
+            int degree = degree(v);
+            System.arraycopy(this.targets, offsets[v], newTargets, cursor[v], degree);
+            if (newWeights != null) {
+                System.arraycopy(this.weights, offsets[v], newWeights, cursor[v], degree);
+            }
+            cursor[v] += degree;
+        }
+        for (int i = 0; i < count; i++) {
+            int origin = origins[i], target = targets[i];
+            if (newWeights != null) newWeights[cursor[origin]] = weights[i];
+            newTargets[cursor[origin]++] = target;
+            if (newWeights != null) newWeights[cursor[target]] = weights[i];
+            newTargets[cursor[target]++] = origin;
+        }
+
+        return compact(newOffsets, newTargets, newWeights, touched);
+    }
+
+    /**
+     * Sorts the touched rows and removes their repeated arcs, shifting the
+     * following rows to the left.
+     */
+    private static CompressedAdjacency compact(int[] offsets, int[] targets, float[] weights,
+                                               boolean[] touched) {
+        int vertexCapacity = offsets.length - 1;
+        long[] keys = null;
+        int write = 0;
+        for (int v = 0; v < vertexCapacity; v++) {
+            int from = offsets[v], to = offsets[v + 1];
+            offsets[v] = write;
+            if (!touched[v]) {
+                System.arraycopy(targets, from, targets, write, to - from);
+                if (weights != null) System.arraycopy(weights, from, weights, write, to - from);
+                write += to - from;
+            } else if (weights == null) {
+                Arrays.sort(targets, from, to);
+                for (int arc = from; arc < to; arc++) {
+                    if (write == offsets[v] || targets[write - 1] != targets[arc]) {
+                        targets[write++] = targets[arc];
+                    }
+                }
+            } else {
+                if (keys == null || keys.length < to - from) keys = new long[to - from];
+                for (int arc = from; arc < to; arc++) {
+                    keys[arc - from] = packArc(targets[arc], weights[arc]);
+                }
+                Arrays.sort(keys, 0, to - from);
+                for (int i = 0; i < to - from; i++) {
+                    if (write == offsets[v] || packArc(targets[write - 1], weights[write - 1]) != keys[i]) {
+                        targets[write] = unpackTarget(keys[i]);
+                        weights[write++] = unpackWeight(keys[i]);
+                    }
+                }
+            }
+        }
+        offsets[vertexCapacity] = write;
+        return new CompressedAdjacency(offsets, Arrays.copyOf(targets, write),
+                weights == null ? null : Arrays.copyOf(weights, write));
+    }
+
+    /**
+     * Packs an arc in a long whose natural ordering is the ordering by target
+     * and then by weight. The sign bit of the sortable weight is flipped, so
+     * the negative weights are ordered before the positive ones in the
+     * unsigned low half.
+     *
+     * @param target Index of the target vertex.
+     * @param weight Weight of the arc.
+     * @return The packed arc.
+     */
+    static long packArc(int target, float weight) {
+        return ((long) target << 32) | ((Utils.floatToSortableInt(weight) ^ Integer.MIN_VALUE) & 0xffffffffL);
+    }
+
+    /**
+     * Returns the target index of an arc packed by {@link #packArc}.
+     *
+     * @param arc The packed arc.
+     * @return Index of the target vertex.
+     */
+    static int unpackTarget(long arc) {
+        return (int) (arc >>> 32);
+    }
+
+    /**
+     * Returns the weight of an arc packed by {@link #packArc}.
+     *
+     * @param arc The packed arc.
+     * @return Weight of the arc.
+     */
+    static float unpackWeight(long arc) {
+        return Utils.sortableIntToFloat((int) arc ^ Integer.MIN_VALUE);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CompressedAdjacency that = (CompressedAdjacency) o;
+        return Arrays.equals(offsets, that.offsets) &&
+                Arrays.equals(targets, that.targets) &&
+                Arrays.equals(weights, that.weights);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(offsets);
+        result = 31 * result + Arrays.hashCode(targets);
+        result = 31 * result + Arrays.hashCode(weights);
+        return result;
+    }
+
+}
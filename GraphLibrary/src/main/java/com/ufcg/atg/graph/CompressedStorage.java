@@ -0,0 +1,131 @@
+package com.ufcg.atg.graph;
+
+import java.util.Arrays;
+
+/**
+ * {@link AdjacencyStorage} that keeps the adjacency in a single
+ * {@link CompressedAdjacency}, over the indexes in which the vertexes were
+ * interned. Added edges are buffered and merged into it on the next query, so
+ * the storage is meant to be loaded in bulk and then queried. It takes the
+ * least memory of the storages for sparse graphs, four bytes per arc plus four
+ * per weight.
+ *
+ * @param <V> Type of the vertex.
+ * @param <E> Type of the edge.
+ */
+final class CompressedStorage<V extends Comparable<V>, E extends Edge<V>> extends InternedStorage<V, E> {
+
+    private static final int INITIAL_BUFFER_CAPACITY = 16;
+
+    private CompressedAdjacency adjacency;
+
+    private int[] bufferedOrigins;
+
+    private int[] bufferedTargets;
+
+    private float[] bufferedWeights;
+
+    private int bufferedEdges;
+
+    /**
+     * Constructs a {@link CompressedStorage}.
+     *
+     * @param edgeModel Model of the edges to be stored.
+     */
+    CompressedStorage(EdgeModel<V, E> edgeModel) {
+        super(edgeModel);
+        adjacency = CompressedAdjacency.empty(edgeModel.isWeighted());
+        resetBuffer();
+    }
+
+    private void resetBuffer() {
+        bufferedOrigins = new int[INITIAL_BUFFER_CAPACITY];
+        bufferedTargets = new int[INITIAL_BUFFER_CAPACITY];
+        bufferedWeights = edgeModel.isWeighted() ? new float[INITIAL_BUFFER_CAPACITY] : null;
+        bufferedEdges = 0;
+    }
+
+    /**
+     * Does nothing, as the rows of the added vertexes are created when the
+     * buffered edges are merged.
+     */
+    @Override
+    void addRow() {
+    }
+
+    @Override
+    void addArcs(int origin, int target, float weight) {
+        if (bufferedEdges == bufferedOrigins.length) {
+            int capacity = bufferedEdges * 2;
+            bufferedOrigins = Arrays.copyOf(bufferedOrigins, capacity);
+            bufferedTargets = Arrays.copyOf(bufferedTargets, capacity);
+            if (bufferedWeights != null) bufferedWeights = Arrays.copyOf(bufferedWeights, capacity);
+        }
+        bufferedOrigins[bufferedEdges] = origin;
+        bufferedTargets[bufferedEdges] = target;
+        if (bufferedWeights != null) bufferedWeights[bufferedEdges] = weight;
+        bufferedEdges++;
+    }
+
+    /**
+     * Returns the adjacency, merging the buffered edges and the added
+     * vertexes first.
+     */
+    @Override
+    CompressedAdjacency adjacency() {
+        if (bufferedEdges > 0 || adjacency.vertexCapacity() < vertexNumber()) {
+            adjacency = adjacency.withEdges(vertexNumber(), bufferedOrigins, bufferedTargets,
+                    bufferedWeights, bufferedEdges);
+            resetBuffer();
+        }
+        return adjacency;
+    }
+
+    /**
+     * Returns the number of arcs, merging the buffered edges first, as the
+     * repeated ones are only discarded when merged.
+     */
+    @Override
+    public int arcNumber() {
+        return adjacency().arcCount();
+    }
+
+    @Override
+    int degree(int v) {
+        return adjacency().degree(v);
+    }
+
+    @Override
+    int firstArc(int v) {
+        return degree(v) > 0 ? 0 : NO_ARC;
+    }
+
+    @Override
+    int nextArc(int v, int arc) {
+        return arc + 1 < degree(v) ? arc + 1 : NO_ARC;
+    }
+
+    @Override
+    int target(int v, int arc) {
+        CompressedAdjacency adjacency = adjacency();
+        return adjacency.targets[adjacency.offsets[v] + arc];
+    }
+
+    @Override
+    float weight(int v, int arc) {
+        CompressedAdjacency adjacency = adjacency();
+        return adjacency.weight(adjacency.offsets[v] + arc);
+    }
+
+    @Override
+    boolean containsArc(int origin, int target, Edge<?> e) {
+        CompressedAdjacency adjacency = adjacency();
+        int arc = adjacency.firstArc(origin, target);
+        if (arc < 0) return false;
+        for (; arc < adjacency.offsets[origin + 1] && adjacency.targets[arc] == target; arc++) {
+            if (edgeModel.matchesArc(e, adjacency.weight(arc))) return true;
+        }
+        return false;
+    }
+
+}
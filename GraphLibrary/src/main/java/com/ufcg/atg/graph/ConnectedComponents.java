@@ -0,0 +1,106 @@
+package com.ufcg.atg.graph;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Represents the connected components of a graph, as returned by
+ * {@link IGraph#connectedComponents()}. The components are numbered from 0,
+ * in the order of their first vertex, and the component of each vertex is
+ * stored in an array indexed by the index of the vertex, which can be read at
+ * once by {@link #getComponentIds()}.
+ *
+ * @param <V> Type of the vertexes.
+ */
+public final class ConnectedComponents<V extends Comparable<V>> {
+
+    /**
+     * Component of the vertexes that aren't in the graph.
+     */
+    public static final int NONE = -1;
+
+    private final int[] componentIds;
+
+    private final int[] sizes;
+
+    private final ToIntFunction<V> indexOf;
+
+    /**
+     * Constructs a {@link ConnectedComponents} from the roots of the
+     * components, numbering the components in the order of the vertexes.
+     *
+     * @param roots Root of the component of each vertex, by index, which must
+     *              be the vertex of lowest index of the component.
+     * @param indexOf Function that maps a vertex to its index, or to a negative
+     *                number if it isn't in the graph.
+     */
+    ConnectedComponents(int[] roots, ToIntFunction<V> indexOf) {
+        this.componentIds = new int[roots.length];
+        int count = 0;
+        for (int v = 0; v < roots.length; v++) {
+            if (roots[v] == v) count++;
+        }
+        this.sizes = new int[count];
+        int component = 0;
+        for (int v = 0; v < roots.length; v++) {
+            componentIds[v] = roots[v] == v ? component++ : componentIds[roots[v]];
+            sizes[componentIds[v]]++;
+        }
+        this.indexOf = indexOf;
+    }
+
+    /**
+     * Returns the number of components.
+     */
+    public int getCount() {
+        return sizes.length;
+    }
+
+    /**
+     * Returns the component of the specified vertex.
+     *
+     * @param v Vertex to have its component returned.
+     * @return The number of the component, or {@link #NONE} if the vertex
+     * isn't in the graph.
+     */
+    public int getComponent(V v) {
+        int index = indexOf.applyAsInt(v);
+        return index < 0 || index >= componentIds.length ? NONE : componentIds[index];
+    }
+
+    /**
+     * Returns the number of vertexes of the specified component.
+     *
+     * @param component Number of the component.
+     * @return The size of the component.
+     */
+    public int getSize(int component) {
+        return sizes[component];
+    }
+
+    /**
+     * Returns the index of the specified vertex in
+     * {@link #getComponentIds()}.
+     *
+     * @param v Vertex to have its index returned.
+     * @return The index of the vertex, or a negative number if it isn't in
+     * the graph.
+     */
+    public int indexOf(V v) {
+        return indexOf.applyAsInt(v);
+    }
+
+    /**
+     * Returns a copy of the components of the vertexes, by index.
+     */
+    public int[] getComponentIds() {
+        return componentIds.clone();
+    }
+
+    /**
+     * Returns a copy of the sizes of the components, by component.
+     */
+    public int[] getSizes() {
+        return sizes.clone();
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.ufcg.atg.graph;
+
+import com.ufcg.atg.util.IntUnionFind;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the connected components of a graph that only grows, updated as its
+ * vertexes and edges are added, so the connectivity queries don't need to walk
+ * by the graph.
+ *
+ * The components are kept in an {@link IntUnionFind} over ids given to the
+ * vertexes in the order they are added, so each update and query takes nearly
+ * constant amortized time.
+ *
+ * @param <V> Type of the vertexes.
+ */
+final class ConnectivityTracker<V> {
+
+    private final Map<V, Integer> ids;
+
+    private final IntUnionFind components;
+
+    /**
+     * Constructs a {@link ConnectivityTracker} of an empty graph.
+     */
+    ConnectivityTracker() {
+        ids = new HashMap<>();
+        components = new IntUnionFind(0);
+    }
+
+    /**
+     * Adds a vertex, alone in its component, if it isn't already tracked.
+     *
+     * @param v Vertex to be added.
+     */
+    void addVertex(V v) {
+        if (!ids.containsKey(v)) ids.put(v, components.add());
+    }
+
+    /**
+     * Adds an edge, joining the components of its vertexes, which are added
+     * if they aren't already tracked.
+     *
+     * @param v1 One vertex of the edge.
+     * @param v2 The other vertex of the edge.
+     */
+    void addEdge(V v1, V v2) {
+        addVertex(v1);
+        addVertex(v2);
+        components.union(ids.get(v1), ids.get(v2));
+    }
+
+    /**
+     * Returns the number of components.
+     */
+    int componentNumber() {
+        return components.setNumber();
+    }
+
+    /**
+     * Returns if the specified vertexes are in the same component.
+     *
+     * @param v1 One vertex.
+     * @param v2 The other vertex.
+     * @return {@code true} if they are, {@code false} if they aren't or any of
+     * them isn't tracked.
+     */
+    boolean sameComponent(V v1, V v2) {
+        Integer id1 = ids.get(v1), id2 = ids.get(v2);
+        return id1 != null && id2 != null && components.connected(id1, id2);
+    }
+
+}
@@ -0,0 +1,490 @@
+package com.ufcg.atg.graph;
+
+import com.ufcg.atg.util.IndexedFloatHeap;
+
+import java.util.Arrays;
+
+/**
+ * Contraction hierarchy (CH) over a {@link CompressedAdjacency} with
+ * non-negative weights, which answers shortest path queries between two
+ * vertexes settling only a few hundred vertexes even in large graphs.
+ *
+ * In the preprocessing, the vertexes are contracted one by one, in the order
+ * of their importance: a contracted vertex leaves the graph, and every
+ * shortest path that went through it is kept by a shortcut edge between its
+ * neighbors. The shortcuts remember the two edges they replace, so paths can
+ * be unpacked back to the original edges.
+ *
+ * A query runs a bidirectional Dijkstra search in which both searches only
+ * follow edges to vertexes contracted later than the current one.
+ *
+ * The hierarchy is immutable after built, and queries may run concurrently.
+ */
+final class ContractionHierarchy {
+
+    private static final int NO_EDGE = -1;
+
+    private static final int WITNESS_SETTLE_LIMIT = 50;
+
+    private final int vertexCapacity;
+
+    private final int[] upwardOffsets;
+
+    private final int[] upwardTargets;
+
+    private final float[] upwardWeights;
+
+    private final int[] upwardEdges;
+
+    private final int[] edgeOrigins;
+
+    private final int[] edgeTargets;
+
+    private final int[] firstChildren;
+
+    private final int[] secondChildren;
+
+    private final ThreadLocal<Query> queries;
+
+    /**
+     * Constructs a {@link ContractionHierarchy}, contracting all the vertexes
+     * of the specified adjacency.
+     *
+     * @param adjacency Adjacency of the graph, without negative weights.
+     */
+    ContractionHierarchy(CompressedAdjacency adjacency) {
+        Contraction contraction = new Contraction(adjacency);
+        contraction.contractAll();
+
+        vertexCapacity = adjacency.vertexCapacity();
+        edgeOrigins = Arrays.copyOf(contraction.edgeOrigins, contraction.edgeNumber);
+        edgeTargets = Arrays.copyOf(contraction.edgeTargets, contraction.edgeNumber);
+        firstChildren = Arrays.copyOf(contraction.firstChildren, contraction.edgeNumber);
+        secondChildren = Arrays.copyOf(contraction.secondChildren, contraction.edgeNumber);
+
+        upwardOffsets = new int[vertexCapacity + 1];
+        for (int v = 0; v < vertexCapacity; v++) {
+            upwardOffsets[v + 1] = upwardOffsets[v] + contraction.degrees[v];
+        }
+        upwardTargets = new int[upwardOffsets[vertexCapacity]];
+        upwardWeights = new float[upwardTargets.length];
+        upwardEdges = new int[upwardTargets.length];
+        for (int v = 0; v < vertexCapacity; v++) {
+            int arc = upwardOffsets[v];
+            for (int i = 0; i < contraction.degrees[v]; i++, arc++) {
+                upwardEdges[arc] = contraction.edgesOfVertex[v][i];
+                upwardTargets[arc] = contraction.neighborsOfVertex[v][i];
+                upwardWeights[arc] = contraction.weightsOfVertex[v][i];
+            }
+        }
+        queries = ThreadLocal.withInitial(() -> new Query(vertexCapacity));
+    }
+
+    /**
+     * Finds the shortest path between the specified vertexes.
+     *
+     * @param source Index of the path start.
+     * @param target Index of the path end.
+     * @return The shortest path, with the shortcuts unpacked.
+     */
+    ShortestPaths.PathResult shortestPath(int source, int target) {
+        if (source == target) return new ShortestPaths.PathResult(new int[]{source}, 0f, 0);
+        return queries.get().run(source, target);
+    }
+
+    /**
+     * Reusable state of the queries of a thread. The arrays are reset only in
+     * the positions touched by the last query.
+     */
+    private final class Query {
+
+        private final float[][] distances;
+        private final int[][] predecessorEdges;
+        private final IndexedFloatHeap[] heaps;
+        private final int[] touched;
+        private int touchedNumber;
+        private int[] stack = new int[16];
+        private int[] path = new int[16];
+        private int pathLength;
+
+        Query(int vertexCapacity) {
+            distances = new float[][]{ShortestPaths.newDistances(vertexCapacity),
+                    ShortestPaths.newDistances(vertexCapacity)};
+            predecessorEdges = new int[][]{new int[vertexCapacity], new int[vertexCapacity]};
+            heaps = new IndexedFloatHeap[]{new IndexedFloatHeap(vertexCapacity),
+                    new IndexedFloatHeap(vertexCapacity)};
+            touched = new int[2 * vertexCapacity];
+        }
+
+        ShortestPaths.PathResult run(int source, int target) {
+            reach(0, source, 0f, NO_EDGE);
+            reach(1, target, 0f, NO_EDGE);
+            float bestDistance = Float.POSITIVE_INFINITY;
+            int meetingVertex = NO_EDGE, settled = 0;
+            while (true) {
+                boolean forward = !heaps[0].isEmpty() && heaps[0].peekKey() < bestDistance;
+                boolean backward = !heaps[1].isEmpty() && heaps[1].peekKey() < bestDistance;
+                if (!forward && !backward) break;
+                int side = forward && (!backward || heaps[0].peekKey() <= heaps[1].peekKey()) ? 0 : 1;
+                int current = heaps[side].poll();
+                settled++;
+                float distance = distances[side][current] + distances[1 - side][current];
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    meetingVertex = current;
+                }
+                for (int arc = upwardOffsets[current]; arc < upwardOffsets[current + 1]; arc++) {
+                    float candidate = distances[side][current] + upwardWeights[arc];
+                    if (candidate < distances[side][upwardTargets[arc]]) {
+                        reach(side, upwardTargets[arc], candidate, upwardEdges[arc]);
+                    }
+                }
+            }
+            int[] path = meetingVertex == NO_EDGE ? null : path(meetingVertex);
+            reset();
+            return new ShortestPaths.PathResult(path, bestDistance, settled);
+        }
+
+        private void reach(int side, int v, float distance, int edge) {
+            if (distances[side][v] == Float.POSITIVE_INFINITY) touched[touchedNumber++] = v;
+            distances[side][v] = distance;
+            predecessorEdges[side][v] = edge;
+            heaps[side].insertOrDecrease(v, distance);
+        }
+
+        /**
+         * Returns the unpacked path through the specified meeting vertex.
+         */
+        private int[] path(int meetingVertex) {
+            int forwardEdges = 0;
+            for (int v = meetingVertex; predecessorEdges[0][v] != NO_EDGE; forwardEdges++) {
+                v = otherEnd(predecessorEdges[0][v], v);
+            }
+            int[] forwardChain = new int[forwardEdges + 1];
+            forwardChain[forwardEdges] = meetingVertex;
+            for (int i = forwardEdges, v = meetingVertex; i > 0; i--) {
+                v = otherEnd(predecessorEdges[0][v], v);
+                forwardChain[i - 1] = v;
+            }
+
+            pathLength = 0;
+            append(forwardChain[0]);
+            for (int i = 0; i < forwardEdges; i++) {
+                unpack(predecessorEdges[0][forwardChain[i + 1]], forwardChain[i]);
+            }
+            for (int v = meetingVertex; predecessorEdges[1][v] != NO_EDGE; ) {
+                int edge = predecessorEdges[1][v];
+                unpack(edge, v);
+                v = otherEnd(edge, v);
+            }
+            return Arrays.copyOf(path, pathLength);
+        }
+
+        /**
+         * Appends to the path the vertexes of the specified edge after
+         * {@code from}, replacing the shortcuts by the two edges they
+         * represent until only original edges are left.
+         */
+        private void unpack(int edge, int from) {
+            int size = 0;
+            stack[size++] = edge;
+            stack[size++] = from;
+            while (size > 0) {
+                int current = stack[size - 2], currentFrom = stack[size - 1];
+                size -= 2;
+                if (firstChildren[current] == NO_EDGE) {
+                    append(otherEnd(current, currentFrom));
+                    continue;
+                }
+                int first = firstChildren[current], second = secondChildren[current];
+                if (edgeOrigins[current] != currentFrom) {
+                    int swap = first;
+                    first = second;
+                    second = swap;
+                }
+                if (size + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                stack[size++] = second;
+                stack[size++] = otherEnd(first, currentFrom);
+                stack[size++] = first;
+                stack[size++] = currentFrom;
+            }
+        }
+
+        private void append(int v) {
+            if (pathLength == path.length) path = Arrays.copyOf(path, pathLength * 2);
+            path[pathLength++] = v;
+        }
+
+        private void reset() {
+            for (int i = 0; i < touchedNumber; i++) {
+                distances[0][touched[i]] = Float.POSITIVE_INFINITY;
+                distances[1][touched[i]] = Float.POSITIVE_INFINITY;
+            }
+            touchedNumber = 0;
+            heaps[0].clear();
+            heaps[1].clear();
+        }
+    }
+
+    private int otherEnd(int edge, int v) {
+        return edgeOrigins[edge] == v ? edgeTargets[edge] : edgeOrigins[edge];
+    }
+
+    /**
+     * State of the preprocessing. The edges of each vertex not yet contracted
+     * are kept in growable lists, along with their neighbors and weights, and
+     * the endpoints and children of all edges in growable tables.
+     */
+    private static final class Contraction {
+
+        final int vertexCapacity;
+        final int[][] edgesOfVertex;
+        final int[][] neighborsOfVertex;
+        final float[][] weightsOfVertex;
+        final int[] degrees;
+        final int[] contractedNeighbors;
+        int[] edgeOrigins = new int[16];
+        int[] edgeTargets = new int[16];
+        int[] firstChildren = new int[16];
+        int[] secondChildren = new int[16];
+        int edgeNumber;
+
+        private final float[] witnessDistances;
+        private final int[] witnessTouched;
+        private final int[] witnessTargets;
+        private int witnessStamp;
+        private final IndexedFloatHeap witnessHeap;
+        private int[] shortcutOrigins = new int[16];
+        private int[] shortcutTargets = new int[16];
+        private int[] shortcutFirstChildren = new int[16];
+        private int[] shortcutSecondChildren = new int[16];
+        private float[] shortcutWeights = new float[16];
+        private int shortcutNumber;
+
+        Contraction(CompressedAdjacency adjacency) {
+            vertexCapacity = adjacency.vertexCapacity();
+            edgesOfVertex = new int[vertexCapacity][];
+            neighborsOfVertex = new int[vertexCapacity][];
+            weightsOfVertex = new float[vertexCapacity][];
+            degrees = new int[vertexCapacity];
+            contractedNeighbors = new int[vertexCapacity];
+            for (int v = 0; v < vertexCapacity; v++) {
+                int capacity = Math.max(4, adjacency.degree(v));
+                edgesOfVertex[v] = new int[capacity];
+                neighborsOfVertex[v] = new int[capacity];
+                weightsOfVertex[v] = new float[capacity];
+            }
+            for (int v = 0; v < vertexCapacity; v++) {
+                for (int arc = adjacency.offsets[v]; arc < adjacency.offsets[v + 1]; arc++) {
+                    int target = adjacency.targets[arc];
+                    if (target <= v) continue;
+                    if (arc > adjacency.offsets[v] && adjacency.targets[arc - 1] == target) continue;
+                    // The rows are ordered by weight for equal targets, so
+                    // the first arc is the lightest.
+                    addEdge(v, target, adjacency.weight(arc), NO_EDGE, NO_EDGE);
+                }
+            }
+            witnessDistances = ShortestPaths.newDistances(vertexCapacity);
+            witnessTouched = new int[vertexCapacity];
+            witnessTargets = new int[vertexCapacity];
+            witnessHeap = new IndexedFloatHeap(vertexCapacity);
+        }
+
+        /**
+         * Contracts all vertexes, always choosing the one with the lowest
+         * priority. As priorities change when neighbors are contracted, the
+         * priority of the chosen vertex is computed again and, if it is no
+         * longer the lowest, the vertex goes back to the queue.
+         */
+        void contractAll() {
+            IndexedFloatHeap queue = new IndexedFloatHeap(vertexCapacity);
+            for (int v = 0; v < vertexCapacity; v++) {
+                queue.insertOrDecrease(v, priority(v));
+            }
+            while (!queue.isEmpty()) {
+                int v = queue.poll();
+                float priority = priority(v);
+                if (!queue.isEmpty() && priority > queue.peekKey()) {
+                    queue.insertOrDecrease(v, priority);
+                    continue;
+                }
+                // The shortcuts found to compute the priority are the ones to add.
+                for (int i = 0; i < shortcutNumber; i++) {
+                    addOrImproveEdge(shortcutOrigins[i], shortcutTargets[i], shortcutWeights[i],
+                            shortcutFirstChildren[i], shortcutSecondChildren[i]);
+                }
+                detach(v);
+            }
+        }
+
+        /**
+         * Returns the priority of a vertex: the number of shortcuts its
+         * contraction adds minus the number of edges it removes, plus the
+         * number of its contracted neighbors, which spreads the contraction
+         * uniformly over the graph.
+         */
+        private float priority(int v) {
+            findShortcuts(v);
+            return shortcutNumber - degrees[v] + contractedNeighbors[v];
+        }
+
+        /**
+         * Finds the shortcuts needed to contract {@code v}: for each pair of
+         * its neighbors, a shortcut is needed if there isn't a path between
+         * them, avoiding {@code v}, as short as the path through {@code v}.
+         */
+        private void findShortcuts(int v) {
+            shortcutNumber = 0;
+            int[] neighbors = neighborsOfVertex[v];
+            float[] weights = weightsOfVertex[v];
+            for (int i = 0; i + 1 < degrees[v]; i++) {
+                float maxWeight = 0f;
+                witnessStamp++;
+                for (int j = i + 1; j < degrees[v]; j++) {
+                    maxWeight = Math.max(maxWeight, weights[j]);
+                    witnessTargets[neighbors[j]] = witnessStamp;
+                }
+                int touched = witnessSearch(neighbors[i], v, weights[i] + maxWeight, degrees[v] - i - 1);
+                for (int j = i + 1; j < degrees[v]; j++) {
+                    float distance = weights[i] + weights[j];
+                    if (witnessDistances[neighbors[j]] > distance) {
+                        addShortcut(neighbors[i], neighbors[j], distance, edgesOfVertex[v][i],
+                                edgesOfVertex[v][j]);
+                    }
+                }
+                for (int k = 0; k < touched; k++) {
+                    witnessDistances[witnessTouched[k]] = Float.POSITIVE_INFINITY;
+                }
+            }
+        }
+
+        /**
+         * Runs a Dijkstra search from {@code source} over the vertexes not yet
+         * contracted, avoiding {@code avoided}, until {@code maxDistance} or
+         * the settle limit is reached, or until the vertexes marked with the
+         * current stamp are settled.
+         *
+         * @return Number of vertexes whose distance was touched.
+         */
+        private int witnessSearch(int source, int avoided, float maxDistance, int targets) {
+            int touched = 0, settled = 0;
+            witnessDistances[source] = 0f;
+            witnessTouched[touched++] = source;
+            witnessHeap.insertOrDecrease(source, 0f);
+            while (!witnessHeap.isEmpty() && settled < WITNESS_SETTLE_LIMIT) {
+                if (witnessHeap.peekKey() > maxDistance) break;
+                int current = witnessHeap.poll();
+                settled++;
+                if (witnessTargets[current] == witnessStamp && --targets == 0) break;
+                int[] neighbors = neighborsOfVertex[current];
+                float[] weights = weightsOfVertex[current];
+                for (int i = 0; i < degrees[current]; i++) {
+                    int adjacent = neighbors[i];
+                    if (adjacent == avoided) continue;
+                    float distance = witnessDistances[current] + weights[i];
+                    if (distance < witnessDistances[adjacent]) {
+                        if (witnessDistances[adjacent] == Float.POSITIVE_INFINITY) {
+                            witnessTouched[touched++] = adjacent;
+                        }
+                        witnessDistances[adjacent] = distance;
+                        witnessHeap.insertOrDecrease(adjacent, distance);
+                    }
+                }
+            }
+            witnessHeap.clear();
+            return touched;
+        }
+
+        private void addShortcut(int origin, int target, float weight, int firstChild, int secondChild) {
+            if (shortcutNumber == shortcutOrigins.length) {
+                int capacity = shortcutNumber * 2;
+                shortcutOrigins = Arrays.copyOf(shortcutOrigins, capacity);
+                shortcutTargets = Arrays.copyOf(shortcutTargets, capacity);
+                shortcutWeights = Arrays.copyOf(shortcutWeights, capacity);
+                shortcutFirstChildren = Arrays.copyOf(shortcutFirstChildren, capacity);
+                shortcutSecondChildren = Arrays.copyOf(shortcutSecondChildren, capacity);
+            }
+            shortcutOrigins[shortcutNumber] = origin;
+            shortcutTargets[shortcutNumber] = target;
+            shortcutWeights[shortcutNumber] = weight;
+            shortcutFirstChildren[shortcutNumber] = firstChild;
+            shortcutSecondChildren[shortcutNumber++] = secondChild;
+        }
+
+        /**
+         * Adds an edge between the vertexes or, if there is already a heavier
+         * one, replaces it.
+         */
+        private void addOrImproveEdge(int origin, int target, float weight, int firstChild, int secondChild) {
+            for (int i = 0; i < degrees[origin]; i++) {
+                if (neighborsOfVertex[origin][i] != target) continue;
+                if (weightsOfVertex[origin][i] <= weight) return;
+                int replacement = newEdge(origin, target, firstChild, secondChild);
+                edgesOfVertex[origin][i] = replacement;
+                weightsOfVertex[origin][i] = weight;
+                for (int j = 0; j < degrees[target]; j++) {
+                    if (neighborsOfVertex[target][j] == origin) {
+                        edgesOfVertex[target][j] = replacement;
+                        weightsOfVertex[target][j] = weight;
+                    }
+                }
+                return;
+            }
+            addEdge(origin, target, weight, firstChild, secondChild);
+        }
+
+        private void addEdge(int origin, int target, float weight, int firstChild, int secondChild) {
+            int edge = newEdge(origin, target, firstChild, secondChild);
+            appendEdge(origin, edge, target, weight);
+            appendEdge(target, edge, origin, weight);
+        }
+
+        private int newEdge(int origin, int target, int firstChild, int secondChild) {
+            if (edgeNumber == edgeOrigins.length) {
+                int capacity = edgeNumber * 2;
+                edgeOrigins = Arrays.copyOf(edgeOrigins, capacity);
+                edgeTargets = Arrays.copyOf(edgeTargets, capacity);
+                firstChildren = Arrays.copyOf(firstChildren, capacity);
+                secondChildren = Arrays.copyOf(secondChildren, capacity);
+            }
+            edgeOrigins[edgeNumber] = origin;
+            edgeTargets[edgeNumber] = target;
+            firstChildren[edgeNumber] = firstChild;
+            secondChildren[edgeNumber] = secondChild;
+            return edgeNumber++;
+        }
+
+        private void appendEdge(int v, int edge, int neighbor, float weight) {
+            if (degrees[v] == edgesOfVertex[v].length) {
+                edgesOfVertex[v] = Arrays.copyOf(edgesOfVertex[v], degrees[v] * 2);
+                neighborsOfVertex[v] = Arrays.copyOf(neighborsOfVertex[v], degrees[v] * 2);
+                weightsOfVertex[v] = Arrays.copyOf(weightsOfVertex[v], degrees[v] * 2);
+            }
+            edgesOfVertex[v][degrees[v]] = edge;
+            neighborsOfVertex[v][degrees[v]] = neighbor;
+            weightsOfVertex[v][degrees[v]++] = weight;
+        }
+
+        /**
+         * Removes the edges of the contracted vertex from the lists of its
+         * neighbors. Its own list is kept, as the edges to the vertexes
+         * contracted after it become its upward edges.
+         */
+        private void detach(int v) {
+            for (int i = 0; i < degrees[v]; i++) {
+                int neighbor = neighborsOfVertex[v][i];
+                contractedNeighbors[neighbor]++;
+                for (int j = 0; j < degrees[neighbor]; j++) {
+                    if (neighborsOfVertex[neighbor][j] == v) {
+                        int last = --degrees[neighbor];
+                        edgesOfVertex[neighbor][j] = edgesOfVertex[neighbor][last];
+                        neighborsOfVertex[neighbor][j] = neighborsOfVertex[neighbor][last];
+                        weightsOfVertex[neighbor][j] = weightsOfVertex[neighbor][last];
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,238 @@
+package com.ufcg.atg.graph;
+
+import com.ufcg.atg.util.IntList;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Delta-stepping algorithm, which computes the shortest paths from a source
+ * to all vertexes of a {@link CompressedAdjacency} with non-negative weights,
+ * relaxing many vertexes in parallel.
+ *
+ * The vertexes are kept in buckets of width {@code bucketWidth} by their
+ * distance, and the buckets are processed in order. The vertexes of the
+ * current bucket relax their light arcs, the ones not heavier than the bucket
+ * width, in parallel and repeatedly, as those may reinsert vertexes in the
+ * current bucket. Then the heavy arcs of all vertexes removed from the bucket
+ * are relaxed once, in parallel, as they can only reach later buckets.
+ *
+ * The distance and the predecessor of each vertex are packed in a single long
+ * and updated with compare-and-set, so a predecessor always matches the
+ * distance it gave.
+ */
+final class DeltaStepping {
+
+    private static final int SEQUENTIAL_THRESHOLD = 256;
+
+    private final CompressedAdjacency adjacency;
+
+    private final float bucketWidth;
+
+    private final AtomicLongArray states;
+
+    private final TreeMap<Long, IntList> buckets;
+
+    private final int[] roundStamps;
+
+    private final int[] bucketStamps;
+
+    /**
+     * Constructs a {@link DeltaStepping} in which no vertex was reached.
+     */
+    private DeltaStepping(CompressedAdjacency adjacency, float bucketWidth) {
+        this.adjacency = adjacency;
+        this.bucketWidth = bucketWidth;
+        this.states = new AtomicLongArray(adjacency.vertexCapacity());
+        long unreached = pack(Float.POSITIVE_INFINITY, ShortestPaths.NO_PREDECESSOR);
+        for (int v = 0; v < adjacency.vertexCapacity(); v++) {
+            states.set(v, unreached);
+        }
+        this.buckets = new TreeMap<>();
+        this.roundStamps = new int[adjacency.vertexCapacity()];
+        this.bucketStamps = new int[adjacency.vertexCapacity()];
+    }
+
+    /**
+     * Returns a bucket width suited to the specified adjacency: its maximum
+     * weight divided by its average degree, which keeps few relaxations per
+     * vertex while leaving many vertexes to relax in parallel in each bucket.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @return The bucket width.
+     */
+    static float defaultBucketWidth(CompressedAdjacency adjacency) {
+        float maxWeight = 0f;
+        for (int arc = 0; arc < adjacency.arcCount(); arc++) {
+            maxWeight = Math.max(maxWeight, adjacency.weight(arc));
+        }
+        if (maxWeight == 0f) return 1f;
+        float averageDegree = (float) adjacency.arcCount() / Math.max(1, adjacency.vertexCapacity());
+        return maxWeight / Math.max(1f, averageDegree);
+    }
+
+    /**
+     * Computes the shortest paths from {@code source} to all vertexes. The
+     * weights of the adjacency can't be negative.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @param source Index of the source vertex.
+     * @param bucketWidth Width of the distance buckets.
+     * @param pool Pool that runs the relaxations.
+     * @param distances Distances to the source, filled by the search.
+     * @param predecessors Predecessors of the vertexes, filled by the search.
+     * @throws RuntimeException If the bucket width isn't positive.
+     */
+    static void run(CompressedAdjacency adjacency, int source, float bucketWidth, ForkJoinPool pool,
+                    float[] distances, int[] predecessors) {
+        if (!(bucketWidth > 0f)) {
+            throw new RuntimeException("The bucket width must be positive.");
+        }
+        DeltaStepping deltaStepping = new DeltaStepping(adjacency, bucketWidth);
+        deltaStepping.run(source, pool);
+        for (int v = 0; v < adjacency.vertexCapacity(); v++) {
+            long state = deltaStepping.states.get(v);
+            distances[v] = distanceOf(state);
+            predecessors[v] = predecessorOf(state);
+        }
+    }
+
+    private void run(int source, ForkJoinPool pool) {
+        states.set(source, pack(0f, ShortestPaths.NO_PREDECESSOR));
+        bucket(0L).add(source);
+        int round = 0, bucketNumber = 0;
+        IntList removed = new IntList();
+        while (!buckets.isEmpty()) {
+            Map.Entry<Long, IntList> first = buckets.pollFirstEntry();
+            long bucket = first.getKey();
+            bucketNumber++;
+            removed.clear();
+            IntList frontier = filter(first.getValue(), bucket, ++round, bucketNumber, removed);
+            while (!frontier.isEmpty()) {
+                distribute(pool.invoke(new RelaxTask(frontier.toArray(), 0, frontier.size(), true)));
+                IntList reinserted = buckets.remove(bucket);
+                frontier = reinserted == null ? new IntList(1)
+                        : filter(reinserted, bucket, ++round, bucketNumber, removed);
+            }
+            distribute(pool.invoke(new RelaxTask(removed.toArray(), 0, removed.size(), false)));
+        }
+    }
+
+    /**
+     * Returns the vertexes of the list that still belong to the bucket, once
+     * each, and adds the ones not yet removed from the bucket to
+     * {@code removed}.
+     */
+    private IntList filter(IntList vertexes, long bucket, int round, int bucketNumber, IntList removed) {
+        IntList frontier = new IntList(vertexes.size());
+        for (int i = 0; i < vertexes.size(); i++) {
+            int v = vertexes.get(i);
+            if (roundStamps[v] == round || bucketOf(distanceOf(states.get(v))) != bucket) continue;
+            roundStamps[v] = round;
+            frontier.add(v);
+            if (bucketStamps[v] != bucketNumber) {
+                bucketStamps[v] = bucketNumber;
+                removed.add(v);
+            }
+        }
+        return frontier;
+    }
+
+    /**
+     * Inserts each of the improved vertexes in the bucket of its distance.
+     */
+    private void distribute(IntList improved) {
+        for (int i = 0; i < improved.size(); i++) {
+            int v = improved.get(i);
+            bucket(bucketOf(distanceOf(states.get(v)))).add(v);
+        }
+    }
+
+    private IntList bucket(long bucket) {
+        return buckets.computeIfAbsent(bucket, key -> new IntList());
+    }
+
+    private long bucketOf(float distance) {
+        return (long) (distance / bucketWidth);
+    }
+
+    /**
+     * Relaxes the light or the heavy arcs of the specified vertexes.
+     *
+     * @return The vertexes whose distance decreased.
+     */
+    private IntList relax(int[] vertexes, int from, int to, boolean light) {
+        IntList improved = new IntList();
+        for (int i = from; i < to; i++) {
+            int origin = vertexes[i];
+            float distance = distanceOf(states.get(origin));
+            for (int arc = adjacency.offsets[origin]; arc < adjacency.offsets[origin + 1]; arc++) {
+                float weight = adjacency.weight(arc);
+                if ((weight <= bucketWidth) != light) continue;
+                int target = adjacency.targets[arc];
+                float candidate = distance + weight;
+                long state = states.get(target);
+                while (candidate < distanceOf(state)) {
+                    if (states.compareAndSet(target, state, pack(candidate, origin))) {
+                        improved.add(target);
+                        break;
+                    }
+                    state = states.get(target);
+                }
+            }
+        }
+        return improved;
+    }
+
+    private static long pack(float distance, int predecessor) {
+        return (long) Float.floatToRawIntBits(distance) << 32 | (predecessor & 0xFFFFFFFFL);
+    }
+
+    private static float distanceOf(long state) {
+        return Float.intBitsToFloat((int) (state >>> 32));
+    }
+
+    private static int predecessorOf(long state) {
+        return (int) state;
+    }
+
+    /**
+     * Task that relaxes the arcs of a range of vertexes, splitting it in
+     * halves until it is small enough.
+     */
+    private final class RelaxTask extends RecursiveTask<IntList> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] vertexes;
+
+        private final int from;
+
+        private final int to;
+
+        private final boolean light;
+
+        RelaxTask(int[] vertexes, int from, int to, boolean light) {
+            this.vertexes = vertexes;
+            this.from = from;
+            this.to = to;
+            this.light = light;
+        }
+
+        @Override
+        protected IntList compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) return relax(vertexes, from, to, light);
+            int middle = (from + to) >>> 1;
+            RelaxTask left = new RelaxTask(vertexes, from, middle, light);
+            left.fork();
+            IntList improved = new RelaxTask(vertexes, middle, to, light).compute();
+            IntList leftImproved = left.join();
+            leftImproved.addAll(improved);
+            return leftImproved;
+        }
+    }
+
+}
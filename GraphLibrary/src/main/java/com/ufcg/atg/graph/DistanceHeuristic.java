@@ -0,0 +1,24 @@
+package com.ufcg.atg.graph;
+
+/**
+ * Estimates the distance between two vertexes, guiding the search for the
+ * shortest path towards the path end. To find the shortest path, the estimate
+ * must be admissible, that is, never greater than the real distance.
+ *
+ * Ex: the straight line distance between vertexes with known coordinates.
+ *
+ * @param <V> Type of the vertex.
+ */
+@FunctionalInterface
+public interface DistanceHeuristic<V> {
+
+    /**
+     * Returns the estimated distance between the specified vertexes.
+     *
+     * @param v Vertex whose distance to {@code target} is estimated.
+     * @param target The path end.
+     * @return Estimated distance between {@code v} and {@code target}.
+     */
+    float estimate(V v, V target);
+
+}
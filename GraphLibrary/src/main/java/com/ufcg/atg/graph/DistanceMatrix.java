@@ -0,0 +1,68 @@
+package com.ufcg.atg.graph;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Represents the lengths of the shortest paths between all pairs of vertexes
+ * of a graph, as returned by
+ * {@link IWeightedGraph#allPairsShortestPaths()}. The distances are stored in
+ * a single array, row by row, in the order of {@link #getVertexes()}.
+ *
+ * @param <V> Type of the vertexes.
+ */
+public final class DistanceMatrix<V extends Comparable<V>> {
+
+    private final List<V> vertexes;
+
+    private final float[] distances;
+
+    private final ToIntFunction<V> indexOf;
+
+    /**
+     * Constructs a {@link DistanceMatrix}.
+     *
+     * @param vertexes The vertexes of the rows and columns, in order.
+     * @param distances The distances, row by row.
+     * @param indexOf Function that maps a vertex to its position, or to a
+     *                negative number if it isn't in the matrix.
+     */
+    DistanceMatrix(List<V> vertexes, float[] distances, ToIntFunction<V> indexOf) {
+        this.vertexes = vertexes;
+        this.distances = distances;
+        this.indexOf = indexOf;
+    }
+
+    /**
+     * Returns the vertexes of the rows and columns of the matrix, in order.
+     */
+    public List<V> getVertexes() {
+        return vertexes;
+    }
+
+    /**
+     * Returns the length of the shortest path between the specified vertexes.
+     *
+     * @param v1 Origin vertex of the path.
+     * @param v2 Target vertex of the path.
+     * @return Length of the path, or +Infinity if there isn't a path.
+     */
+    public float getDistance(V v1, V v2) {
+        int row = indexOf.applyAsInt(v1), column = indexOf.applyAsInt(v2);
+        if (row < 0 || column < 0) return Float.POSITIVE_INFINITY;
+        return getDistance(row, column);
+    }
+
+    /**
+     * Returns the length of the shortest path between the vertexes at the
+     * specified positions of {@link #getVertexes()}.
+     *
+     * @param row Position of the origin vertex of the path.
+     * @param column Position of the target vertex of the path.
+     * @return Length of the path, or +Infinity if there isn't a path.
+     */
+    public float getDistance(int row, int column) {
+        return distances[row * vertexes.size() + column];
+    }
+
+}
@@ -0,0 +1,284 @@
+package com.ufcg.atg.graph;
+
+import com.ufcg.atg.util.IntUnionFind;
+import com.ufcg.atg.util.Utils;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Finds the minimum spanning forest of a {@link CompressedAdjacency} with the
+ * Filter-Kruskal algorithm, which only sorts the edges that may still join
+ * two trees of the forest.
+ *
+ * The edges are kept as primitive keys with the weight in the high bits and
+ * the index of the edge in the low bits. A range of keys is partitioned
+ * around a pivot, as in quicksort: the lighter part is processed first, then
+ * the edges of the heavier part whose vertexes were already joined are
+ * discarded, and only what is left is processed. A range short enough is
+ * sorted with {@link Arrays#parallelSort(long[], int, int)} and its edges are
+ * taken in order, as in Kruskal's algorithm. The edges are taken in the
+ * order of {@link SpanningTrees#kruskal(CompressedAdjacency)}, so the same
+ * forest is found.
+ *
+ * Everything but the union of the trees runs in parallel in a pool: the keys
+ * of a long range are split in chunks, which are partitioned through a buffer
+ * at the offsets given by the counts of their lighter keys, or filtered in
+ * place and then moved together, and the sorts run in the pool's threads.
+ */
+final class FilterKruskal {
+
+    private static final int SORT_THRESHOLD = 1 << 16;
+
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+
+    private static final int CHUNKS_PER_THREAD = 8;
+
+    private final ForkJoinPool pool;
+
+    private final int[] targets;
+
+    private final int[] arcs;
+
+    private final int[] origins;
+
+    private final long[] keys;
+
+    private final long[] buffer;
+
+    private final IntUnionFind forest;
+
+    private final int[] tree;
+
+    private int size;
+
+    /**
+     * Constructs a {@link FilterKruskal} with the keys of the edges of the
+     * specified adjacency, not yet ordered.
+     */
+    private FilterKruskal(CompressedAdjacency adjacency, ForkJoinPool pool) {
+        this.pool = pool;
+        this.targets = adjacency.targets;
+        this.origins = new int[adjacency.arcCount() / 2];
+        this.arcs = SpanningTrees.forwardArcs(adjacency, origins);
+        this.keys = new long[arcs.length];
+        for (int i = 0; i < arcs.length; i++) {
+            keys[i] = (long) Utils.floatToSortableInt(adjacency.weight(arcs[i])) << 32 | i;
+        }
+        this.buffer = new long[keys.length > SORT_THRESHOLD ? keys.length : 0];
+        this.forest = new IntUnionFind(adjacency.vertexCapacity());
+        this.tree = new int[Math.max(0, adjacency.vertexCapacity() - 1)];
+    }
+
+    /**
+     * Finds the minimum spanning forest.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @param pool Pool that runs the partitions, filters and sorts.
+     * @return Indexes of the arcs of the forest, in the order of
+     * {@link SpanningTrees#kruskal(CompressedAdjacency)}.
+     */
+    static int[] forest(CompressedAdjacency adjacency, ForkJoinPool pool) {
+        FilterKruskal filterKruskal = new FilterKruskal(adjacency, pool);
+        filterKruskal.process(0, filterKruskal.keys.length);
+        return Arrays.copyOf(filterKruskal.tree, filterKruskal.size);
+    }
+
+    /**
+     * Takes the edges of the specified range of keys that join two trees, in
+     * the order of the keys. The lighter part of each partition is processed
+     * recursively and the heavier one in the loop, after being filtered.
+     */
+    private void process(int from, int to) {
+        while (to - from > SORT_THRESHOLD && size < tree.length) {
+            int middle = partition(from, to);
+            process(from, middle);
+            to = filter(middle, to);
+            from = middle;
+        }
+        if (size == tree.length) return;
+        sort(from, to);
+        for (int i = from; i < to && size < tree.length; i++) {
+            int edge = (int) keys[i];
+            if (forest.union(origins[edge], targets[arcs[edge]])) tree[size++] = arcs[edge];
+        }
+    }
+
+    /**
+     * Partitions the specified range around the median of its first, middle
+     * and last keys. The keys are all distinct, so neither part is empty.
+     * Each chunk of the range counts its keys not greater than the pivot and
+     * then copies its keys of each part to the buffer, after the ones of the
+     * previous chunks, from where they are copied back.
+     *
+     * @return The start of the part of keys greater than the pivot.
+     */
+    private int partition(int from, int to) {
+        long pivot = median(keys[from], keys[(from + to) >>> 1], keys[to - 1]);
+        int length = to - from, chunks = chunkNumber(length);
+        if (chunks == 1) return partition(from, to, pivot);
+        int[] lowStarts = new int[chunks + 1];
+        run(chunks, chunk -> lowStarts[chunk + 1] = countLow(from + from(chunk, chunks, length),
+                from + from(chunk + 1, chunks, length), pivot));
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            lowStarts[chunk + 1] += lowStarts[chunk];
+        }
+        int middle = from + lowStarts[chunks];
+        run(chunks, chunk -> {
+            int chunkFrom = from + from(chunk, chunks, length);
+            int low = from + lowStarts[chunk], high = middle + chunkFrom - from - lowStarts[chunk];
+            for (int i = chunkFrom, chunkTo = from + from(chunk + 1, chunks, length); i < chunkTo; i++) {
+                if (keys[i] <= pivot) {
+                    buffer[low++] = keys[i];
+                } else {
+                    buffer[high++] = keys[i];
+                }
+            }
+        });
+        run(chunks, chunk -> {
+            int chunkFrom = from + from(chunk, chunks, length);
+            System.arraycopy(buffer, chunkFrom, keys, chunkFrom, from + from(chunk + 1, chunks, length) - chunkFrom);
+        });
+        return middle;
+    }
+
+    /**
+     * Partitions the specified range around the specified pivot, swapping the
+     * keys in place.
+     *
+     * @return The start of the part of keys greater than the pivot.
+     */
+    private int partition(int from, int to, long pivot) {
+        int low = from, high = to - 1;
+        while (low <= high) {
+            if (keys[low] <= pivot) {
+                low++;
+            } else {
+                long swap = keys[low];
+                keys[low] = keys[high];
+                keys[high--] = swap;
+            }
+        }
+        return low;
+    }
+
+    private int countLow(int from, int to, long pivot) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (keys[i] <= pivot) count++;
+        }
+        return count;
+    }
+
+    private static long median(long a, long b, long c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    /**
+     * Discards the keys of the specified range whose edges join vertexes
+     * already in the same tree, moving the others to the start of the range.
+     * Each chunk of the range is filtered in place, as no trees are joined
+     * meanwhile, and the keys kept are then moved together.
+     *
+     * @return The end of the keys kept.
+     */
+    private int filter(int from, int to) {
+        int length = to - from, chunks = chunkNumber(length);
+        int[] kept = new int[chunks];
+        run(chunks, chunk -> kept[chunk] = filterChunk(from + from(chunk, chunks, length),
+                from + from(chunk + 1, chunks, length)));
+        int end = from;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            System.arraycopy(keys, from + from(chunk, chunks, length), keys, end, kept[chunk]);
+            end += kept[chunk];
+        }
+        return end;
+    }
+
+    /**
+     * Moves the keys of the specified range whose edges join different trees
+     * to the start of the range.
+     *
+     * @return The number of keys kept.
+     */
+    private int filterChunk(int from, int to) {
+        int kept = from;
+        for (int i = from; i < to; i++) {
+            int edge = (int) keys[i];
+            if (forest.root(origins[edge]) != forest.root(targets[arcs[edge]])) keys[kept++] = keys[i];
+        }
+        return kept - from;
+    }
+
+    /**
+     * Sorts the specified range. The sort is invoked as a task of the pool,
+     * so the subtasks it forks run in the pool's threads.
+     */
+    private void sort(int from, int to) {
+        if (to - from <= SEQUENTIAL_THRESHOLD) {
+            Arrays.sort(keys, from, to);
+        } else {
+            pool.invoke(ForkJoinTask.adapt(() -> Arrays.parallelSort(keys, from, to)));
+        }
+    }
+
+    /**
+     * Returns the number of chunks in which a range of the specified length
+     * is split: enough for each thread of the pool to steal several of them,
+     * but none shorter than the sequential threshold.
+     */
+    private int chunkNumber(int length) {
+        int maxChunks = pool.getParallelism() * CHUNKS_PER_THREAD;
+        return Math.max(1, Math.min(maxChunks, length / SEQUENTIAL_THRESHOLD));
+    }
+
+    private static int from(int chunk, int chunks, int length) {
+        return (int) ((long) length * chunk / chunks);
+    }
+
+    /**
+     * Runs the specified action for each chunk, in parallel in the pool.
+     */
+    private void run(int chunks, IntConsumer action) {
+        if (chunks == 1) {
+            action.accept(0);
+        } else {
+            pool.invoke(new ChunkTask(0, chunks, action));
+        }
+    }
+
+    /**
+     * Task that runs an action for a range of chunks, splitting it in halves
+     * until a single chunk is left.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int fromChunk;
+
+        private final int toChunk;
+
+        private final IntConsumer action;
+
+        ChunkTask(int fromChunk, int toChunk, IntConsumer action) {
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                action.accept(fromChunk);
+                return;
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            invokeAll(new ChunkTask(fromChunk, middle, action), new ChunkTask(middle, toChunk, action));
+        }
+    }
+
+}
@@ -19,17 +19,38 @@ public class Graph<V extends Comparable<V>> extends BaseGraph<V, Edge<V>> implem
         super();
     }
 
+    /**
+     * Constructs a {@link Graph} that keeps its vertexes and edges in the
+     * specified storage.
+     *
+     * @param storage Storage of the vertexes and edges of the graph.
+     */
+    public Graph(GraphStorage storage) {
+        super(storage);
+    }
+
     @Override
     public Edge<V> addEdge(V v1, V v2) {
-        addIfAbsent(v1);
-        addIfAbsent(v2);
-        Edge<V> edgeToReturn = new Edge<>(v1, v2),
-                reverseEdge = new Edge<>(v2, v1);
-        vertexes.get(v1).add(edgeToReturn);
-        vertexes.get(v2).add(reverseEdge);
+        Edge<V> edgeToReturn = new Edge<>(v1, v2);
+        putEdge(edgeToReturn);
         return edgeToReturn;
     }
 
+    @Override
+    protected boolean isWeighted() {
+        return false;
+    }
+
+    @Override
+    protected Edge<V> createEdge(V origin, V target, float weight) {
+        return new Edge<>(origin, target);
+    }
+
+    @Override
+    protected boolean matchesArc(Edge<?> e, float weight) {
+        return e.getClass() == Edge.class;
+    }
+
     @Override
     protected float getEdgeWeight(Edge<V> e) {
         return EDGE_WEIGHT;
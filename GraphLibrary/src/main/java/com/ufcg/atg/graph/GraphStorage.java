@@ -0,0 +1,42 @@
+package com.ufcg.atg.graph;
+
+/**
+ * Represents all structures in which a {@link BaseGraph} can keep its
+ * vertexes and edges. They only differ in memory and in the latency of each
+ * access; the results of the graph are the same.
+ */
+public enum GraphStorage {
+    /**
+     * A set of edge objects per vertex, in a hash map. The edges returned by
+     * the graph are the ones that were added. Best for graphs that are
+     * modified as much as they are queried.
+     */
+    HASH_SETS,
+    /**
+     * A sorted array of primitive arcs per vertex, in which the arcs are
+     * inserted in place and found by binary search. Best for sparse graphs
+     * that are queried between modifications, as it takes eight bytes per
+     * arc.
+     */
+    SORTED_ARRAYS,
+    /**
+     * A single compressed sparse row (CSR) snapshot of the adjacency, into
+     * which the added edges are merged on the next query. Best for graphs
+     * loaded in bulk and then queried, as it takes the least memory.
+     */
+    COMPRESSED,
+    /**
+     * A single copy of each edge, in primitive arrays, linked to both of its
+     * vertexes as a pair of half-edges and indexed by a hash table. Best for
+     * graphs loaded edge by edge, as adding or finding an edge takes
+     * constant time and no edge object is kept.
+     */
+    HALF_EDGES,
+    /**
+     * A bit matrix with a row of bits per vertex. Best for dense unweighted
+     * graphs, as it takes a bit per pair of vertexes, tests an edge by a
+     * single bit and intersects two neighborhoods 64 vertexes at a time. It
+     * can't store weighted graphs.
+     */
+    BIT_MATRIX
+}
@@ -0,0 +1,256 @@
+package com.ufcg.atg.graph;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * {@link AdjacencyStorage} that keeps each undirected edge once, in primitive
+ * arrays indexed by edge, as a pair of half-edges: the half-edge
+ * {@code 2 * edge} leaves its first vertex and {@code 2 * edge + 1} leaves the
+ * second one, so the target of a half-edge is the vertex of its twin,
+ * {@code halfEdge ^ 1}. The half-edges leaving each vertex are linked in a
+ * list, from the last added one, so adding an edge only appends to the arrays
+ * and links it to the lists of its vertexes. A loop is linked once.
+ *
+ * The edges are also kept in an open addressing hash table of edge indexes,
+ * hashed by their vertexes, in which repeated edges are found, so they aren't
+ * added again, and so are the edges looked up. The rows are walked in the
+ * order the edges were added, not by target index.
+ *
+ * @param <V> Type of the vertex.
+ * @param <E> Type of the edge.
+ */
+final class HalfEdgeStorage<V extends Comparable<V>, E extends Edge<V>> extends InternedStorage<V, E> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final int EMPTY_SLOT = -1;
+
+    private int[] vertexesOfHalfEdges = new int[2 * INITIAL_CAPACITY];
+
+    private int[] nextHalfEdges = new int[2 * INITIAL_CAPACITY];
+
+    private float[] weights;
+
+    private int edgeNumber;
+
+    private int[] firstHalfEdges = new int[INITIAL_CAPACITY];
+
+    private int[] degrees = new int[INITIAL_CAPACITY];
+
+    private int arcNumber;
+
+    private int[] edgeTable = newEdgeTable(2 * INITIAL_CAPACITY);
+
+    /**
+     * Constructs a {@link HalfEdgeStorage}.
+     *
+     * @param edgeModel Model of the edges to be stored.
+     */
+    HalfEdgeStorage(EdgeModel<V, E> edgeModel) {
+        super(edgeModel);
+        weights = edgeModel.isWeighted() ? new float[INITIAL_CAPACITY] : null;
+    }
+
+    private static int[] newEdgeTable(int capacity) {
+        int[] table = new int[capacity];
+        Arrays.fill(table, EMPTY_SLOT);
+        return table;
+    }
+
+    @Override
+    void addRow() {
+        int index = vertexNumber() - 1;
+        if (index == firstHalfEdges.length) {
+            firstHalfEdges = Arrays.copyOf(firstHalfEdges, index * 2);
+            degrees = Arrays.copyOf(degrees, index * 2);
+        }
+        firstHalfEdges[index] = NO_ARC;
+    }
+
+    @Override
+    void addArcs(int origin, int target, float weight) {
+        int slot = slotOf(origin, target);
+        for (; edgeTable[slot] != EMPTY_SLOT; slot = (slot + 1) & (edgeTable.length - 1)) {
+            int edge = edgeTable[slot];
+            if (joins(edge, origin, target) && Float.compare(weight(edge), weight) == 0) return;
+        }
+        if (edgeNumber == edgeCapacity()) grow();
+        int edge = edgeNumber++;
+        vertexesOfHalfEdges[2 * edge] = origin;
+        vertexesOfHalfEdges[2 * edge + 1] = target;
+        if (weights != null) weights[edge] = weight;
+        link(origin, 2 * edge);
+        if (origin != target) link(target, 2 * edge + 1);
+        edgeTable[slot] = edge;
+        if (2 * edgeNumber > edgeTable.length) rehash();
+    }
+
+    private int edgeCapacity() {
+        return vertexesOfHalfEdges.length / 2;
+    }
+
+    private void link(int v, int halfEdge) {
+        nextHalfEdges[halfEdge] = firstHalfEdges[v];
+        firstHalfEdges[v] = halfEdge;
+        degrees[v]++;
+        arcNumber++;
+    }
+
+    /**
+     * Doubles the number of edges the arrays can keep.
+     */
+    private void grow() {
+        int capacity = edgeCapacity() * 2;
+        vertexesOfHalfEdges = Arrays.copyOf(vertexesOfHalfEdges, 2 * capacity);
+        nextHalfEdges = Arrays.copyOf(nextHalfEdges, 2 * capacity);
+        if (weights != null) weights = Arrays.copyOf(weights, capacity);
+    }
+
+    /**
+     * Doubles the hash table, which is kept at most half full.
+     */
+    private void rehash() {
+        int[] table = newEdgeTable(edgeTable.length * 2);
+        for (int edge = 0; edge < edgeNumber; edge++) {
+            int slot = slotOf(vertexesOfHalfEdges[2 * edge], vertexesOfHalfEdges[2 * edge + 1], table.length);
+            while (table[slot] != EMPTY_SLOT) {
+                slot = (slot + 1) & (table.length - 1);
+            }
+            table[slot] = edge;
+        }
+        edgeTable = table;
+    }
+
+    private int slotOf(int v1, int v2) {
+        return slotOf(v1, v2, edgeTable.length);
+    }
+
+    /**
+     * Returns the slot in which the search of an edge between the specified
+     * vertexes starts, the same for both of its directions.
+     */
+    private static int slotOf(int v1, int v2, int tableLength) {
+        long key = (long) Math.min(v1, v2) << 32 | Math.max(v1, v2);
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32) & (tableLength - 1);
+    }
+
+    private boolean joins(int edge, int v1, int v2) {
+        int end1 = vertexesOfHalfEdges[2 * edge], end2 = vertexesOfHalfEdges[2 * edge + 1];
+        return (end1 == v1 && end2 == v2) || (end1 == v2 && end2 == v1);
+    }
+
+    private float weight(int edge) {
+        return weights == null ? CompressedAdjacency.UNWEIGHTED_ARC_WEIGHT : weights[edge];
+    }
+
+    @Override
+    public int arcNumber() {
+        return arcNumber;
+    }
+
+    @Override
+    int degree(int v) {
+        return degrees[v];
+    }
+
+    @Override
+    int firstArc(int v) {
+        return firstHalfEdges[v];
+    }
+
+    @Override
+    int nextArc(int v, int arc) {
+        return nextHalfEdges[arc];
+    }
+
+    @Override
+    int target(int v, int arc) {
+        return vertexesOfHalfEdges[arc ^ 1];
+    }
+
+    @Override
+    float weight(int v, int arc) {
+        return weight(arc >>> 1);
+    }
+
+    @Override
+    boolean containsArc(int origin, int target, Edge<?> e) {
+        int slot = slotOf(origin, target);
+        for (; edgeTable[slot] != EMPTY_SLOT; slot = (slot + 1) & (edgeTable.length - 1)) {
+            int edge = edgeTable[slot];
+            if (joins(edge, origin, target) && edgeModel.matchesArc(e, weight(edge))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Finds the common adjacent vertexes by looking up each vertex adjacent
+     * to the vertex of lesser degree in the hash table, as the rows aren't
+     * ordered by target index.
+     */
+    @Override
+    public Set<V> commonAdjacentVertexes(V v1, V v2) {
+        int index1 = indexOf(v1), index2 = indexOf(v2);
+        if (degrees[index1] > degrees[index2]) {
+            int swap = index1;
+            index1 = index2;
+            index2 = swap;
+        }
+        Set<V> common = new HashSet<>();
+        for (int halfEdge = firstHalfEdges[index1]; halfEdge != NO_ARC; halfEdge = nextHalfEdges[halfEdge]) {
+            int target = vertexesOfHalfEdges[halfEdge ^ 1];
+            if (adjacent(index2, target)) common.add(vertexAt(target));
+        }
+        return common;
+    }
+
+    private boolean adjacent(int v1, int v2) {
+        int slot = slotOf(v1, v2);
+        for (; edgeTable[slot] != EMPTY_SLOT; slot = (slot + 1) & (edgeTable.length - 1)) {
+            if (joins(edgeTable[slot], v1, v2)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Builds the adjacency from the lists of half-edges, sorting its rows by
+     * target index in place.
+     */
+    @Override
+    CompressedAdjacency adjacency() {
+        int vertexNumber = vertexNumber();
+        int[] offsets = new int[vertexNumber + 1];
+        for (int v = 0; v < vertexNumber; v++) {
+            offsets[v + 1] = offsets[v] + degrees[v];
+        }
+        int[] targets = new int[offsets[vertexNumber]];
+        float[] arcWeights = weights == null ? null : new float[targets.length];
+        long[] keys = null;
+        for (int v = 0; v < vertexNumber; v++) {
+            int from = offsets[v], to = offsets[v + 1];
+            int arc = from;
+            for (int halfEdge = firstHalfEdges[v]; halfEdge != NO_ARC; halfEdge = nextHalfEdges[halfEdge], arc++) {
+                targets[arc] = vertexesOfHalfEdges[halfEdge ^ 1];
+                if (arcWeights != null) arcWeights[arc] = weights[halfEdge >>> 1];
+            }
+            if (arcWeights == null) {
+                Arrays.sort(targets, from, to);
+            } else {
+                if (keys == null || keys.length < to - from) keys = new long[to - from];
+                for (arc = from; arc < to; arc++) {
+                    keys[arc - from] = CompressedAdjacency.packArc(targets[arc], arcWeights[arc]);
+                }
+                Arrays.sort(keys, 0, to - from);
+                for (arc = from; arc < to; arc++) {
+                    targets[arc] = CompressedAdjacency.unpackTarget(keys[arc - from]);
+                    arcWeights[arc] = CompressedAdjacency.unpackWeight(keys[arc - from]);
+                }
+            }
+        }
+        return new CompressedAdjacency(offsets, targets, arcWeights);
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.ufcg.atg.graph;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link AdjacencyStorage} that keeps the edges of each vertex in a
+ * {@link HashSet}, mapped by vertex. It stores each undirected edge as two
+ * edge objects, the added one and its reverse.
+ *
+ * @param <V> Type of the vertex.
+ * @param <E> Type of the edge.
+ */
+final class HashSetStorage<V extends Comparable<V>, E extends Edge<V>> implements AdjacencyStorage<V, E> {
+
+    private final EdgeModel<V, E> edgeModel;
+
+    private final Map<V, Set<E>> vertexes = new HashMap<>();
+
+    private int arcNumber;
+
+    /**
+     * Constructs a {@link HashSetStorage}.
+     *
+     * @param edgeModel Model of the edges to be stored.
+     */
+    HashSetStorage(EdgeModel<V, E> edgeModel) {
+        this.edgeModel = edgeModel;
+    }
+
+    @Override
+    public boolean addVertex(V v) {
+        if (vertexes.containsKey(v)) return false;
+        vertexes.put(v, new HashSet<>());
+        return true;
+    }
+
+    @Override
+    public void addEdge(E edge) {
+        E reverseEdge = edgeModel.createEdge(edge.getTargetVertex(), edge.getOriginVertex(),
+                edgeModel.weight(edge));
+        if (vertexes.get(edge.getOriginVertex()).add(edge)) {
+            arcNumber += vertexes.get(edge.getTargetVertex()).add(reverseEdge) ? 2 : 1;
+        }
+    }
+
+    @Override
+    public Set<V> vertexes() {
+        return Collections.unmodifiableSet(vertexes.keySet());
+    }
+
+    @Override
+    public int vertexNumber() {
+        return vertexes.size();
+    }
+
+    @Override
+    public int arcNumber() {
+        return arcNumber;
+    }
+
+    @Override
+    public boolean containsVertex(V v) {
+        return vertexes.containsKey(v);
+    }
+
+    @Override
+    public Set<E> edgesOf(V v) {
+        Set<E> edges = vertexes.get(v);
+        return edges == null ? null : Collections.unmodifiableSet(edges);
+    }
+
+    @Override
+    public boolean containsEdge(Edge<?> e) {
+        Set<E> edges = vertexes.get(e.getOriginVertex());
+        return edges != null && edges.contains(e);
+    }
+
+    @Override
+    public Set<V> commonAdjacentVertexes(V v1, V v2) {
+        Set<V> common = new HashSet<>();
+        Set<E> edges1 = vertexes.get(v1), edges2 = vertexes.get(v2);
+        Set<V> adjacent2 = new HashSet<>();
+        for (E e : edges2) {
+            adjacent2.add(e.getTargetVertex());
+        }
+        for (E e : edges1) {
+            if (adjacent2.contains(e.getTargetVertex())) common.add(e.getTargetVertex());
+        }
+        return common;
+    }
+
+    @Override
+    public IndexedGraph<V, E> index() {
+        return new IndexedGraph<>(vertexes, edgeModel::weight);
+    }
+
+}
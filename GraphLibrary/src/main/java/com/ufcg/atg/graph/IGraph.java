@@ -1,6 +1,10 @@
 package com.ufcg.atg.graph;
 
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Defines the interface of an undirected and unweighted graph.
@@ -61,6 +65,16 @@ public interface IGraph<V extends Comparable<V>, E extends Edge<V>> {
      */
     Set<V> getAdjacentVertexes(V v);
 
+    /**
+     * Returns the vertexes adjacent to both specified vertexes.
+     *
+     * @param v1 One vertex.
+     * @param v2 The other vertex.
+     * @throws RuntimeException If any of the vertexes isn't in the graph.
+     * @return Vertexes adjacent to both {@code v1} and {@code v2}.
+     */
+    Set<V> getCommonAdjacentVertexes(V v1, V v2);
+
     /**
      * Returns if the graph contains the specified vertex.
      *
@@ -108,6 +122,17 @@ public interface IGraph<V extends Comparable<V>, E extends Edge<V>> {
      */
     String graphRepresentation(RepresentationType representationType);
 
+    /**
+     * Writes the graph representation based on the {@link RepresentationType}
+     * specified to a writer, line by line, without building it as a whole in
+     * memory. The writer is flushed, but not closed.
+     *
+     * @param representationType Type of the representation to be written.
+     * @param writer Writer to receive the representation.
+     * @throws RuntimeException If there is an error writing the representation.
+     */
+    void graphRepresentation(RepresentationType representationType, Writer writer);
+
     /**
      * Returns a tree representation based on the Breadth-first Search (BFS)
      * algorithm starting from the vertex specified.
@@ -117,6 +142,62 @@ public interface IGraph<V extends Comparable<V>, E extends Edge<V>> {
      */
     String BFS(V v);
 
+    /**
+     * Returns a tree representation based on the Breadth-first Search (BFS)
+     * algorithm starting from the vertex specified, walked with the specified
+     * algorithm.
+     *
+     * @param v The vertex to be the root of the returned tree.
+     * @param algorithm Algorithm to be used to walk by the graph.
+     * @return BFS of the graph.
+     */
+    String BFS(V v, BFSAlgorithm algorithm);
+
+    /**
+     * Returns a tree representation based on the Breadth-first Search (BFS)
+     * algorithm starting from the vertex specified, expanding each level in
+     * parallel in the specified pool. The representation is the same of
+     * {@link #BFS(Comparable)}.
+     *
+     * @param v The vertex to be the root of the returned tree.
+     * @param pool Pool that expands the levels.
+     * @return BFS of the graph.
+     */
+    String BFS(V v, ForkJoinPool pool);
+
+    /**
+     * Writes the tree representation of {@link #BFS(Comparable)} to a
+     * writer, line by line, without building it as a whole in memory. The
+     * writer is flushed, but not closed.
+     *
+     * @param v The vertex to be the root of the tree.
+     * @param writer Writer to receive the BFS.
+     * @throws RuntimeException If there is an error writing the BFS.
+     */
+    void BFS(V v, Writer writer);
+
+    /**
+     * Returns the tree of the Breadth-first Search (BFS) starting from the
+     * vertex specified, walked with the
+     * {@link BFSAlgorithm#DIRECTION_OPTIMIZING} algorithm.
+     *
+     * @param root The vertex to be the root of the tree.
+     * @throws RuntimeException If the graph doesn't contains the vertex.
+     * @return The BFS tree of the vertex.
+     */
+    BreadthFirstTree<V> breadthFirstTree(V root);
+
+    /**
+     * Returns the tree of the Breadth-first Search (BFS) starting from the
+     * vertex specified, walked with the specified algorithm.
+     *
+     * @param root The vertex to be the root of the tree.
+     * @param algorithm Algorithm to be used to walk by the graph.
+     * @throws RuntimeException If the graph doesn't contains the vertex.
+     * @return The BFS tree of the vertex.
+     */
+    BreadthFirstTree<V> breadthFirstTree(V root, BFSAlgorithm algorithm);
+
     /**
      * Returns a tree representation based on the Depth-first Search (DFS)
      * algorithm starting from the vertex specified.
@@ -126,6 +207,17 @@ public interface IGraph<V extends Comparable<V>, E extends Edge<V>> {
      */
     String DFS(V v);
 
+    /**
+     * Writes the tree representation of {@link #DFS(Comparable)} to a
+     * writer, line by line, without building it as a whole in memory. The
+     * writer is flushed, but not closed.
+     *
+     * @param v The vertex to be the root of the tree.
+     * @param writer Writer to receive the DFS.
+     * @throws RuntimeException If there is an error writing the DFS.
+     */
+    void DFS(V v, Writer writer);
+
     /**
      * Returns a boolean indicating if the graph is connect or not.
      *
@@ -133,6 +225,49 @@ public interface IGraph<V extends Comparable<V>, E extends Edge<V>> {
      */
     boolean connected();
 
+    /**
+     * Returns the connected components of the graph, labeled by a union-find
+     * that unites chunks of edges in parallel in the common
+     * {@link ForkJoinPool}.
+     *
+     * @return The connected components of the graph.
+     */
+    ConnectedComponents<V> connectedComponents();
+
+    /**
+     * Returns the connected components of the graph, labeled by a union-find
+     * that unites chunks of edges in parallel in the specified pool.
+     *
+     * @param pool Pool that unites the chunks of edges.
+     * @return The connected components of the graph.
+     */
+    ConnectedComponents<V> connectedComponents(ForkJoinPool pool);
+
+    /**
+     * Returns a boolean indicating if there is a path between the specified
+     * vertexes.
+     *
+     * @param v1 One vertex.
+     * @param v2 The other vertex.
+     * @throws RuntimeException If the graph doesn't contains any of the
+     * vertexes.
+     * @return {@code true} if they are in the same component, {@code false}
+     * otherwise.
+     */
+    boolean sameComponent(V v1, V v2);
+
+    /**
+     * Enables or disables the tracking of the connected components. While it
+     * is enabled, the components are updated as vertexes and edges are added,
+     * and {@link #connected()} and {@link #sameComponent(Comparable,
+     * Comparable)} are answered in nearly constant time. Enabling it takes a
+     * pass over the whole graph. It is disabled by default.
+     *
+     * @param enabled {@code true} to enable the tracking, {@code false} to
+     *                disable it.
+     */
+    void setConnectivityTracking(boolean enabled);
+
     /**
      * Returns a representation of the shortest path between the specified
      * vertexes.
@@ -143,12 +278,132 @@ public interface IGraph<V extends Comparable<V>, E extends Edge<V>> {
      */
     String shortestPath(V v1, V v2);
 
+    /**
+     * Returns a representation of the shortest path between the specified
+     * vertexes, found with the specified algorithm.
+     *
+     * @param v1 Origin vertex of the path.
+     * @param v2 Target vertex of the path.
+     * @param algorithm Algorithm to be used to find the path.
+     * @return Shortest path between {@code v1} e {@code v2}.
+     */
+    String shortestPath(V v1, V v2, ShortestPathAlgorithm algorithm);
+
+    /**
+     * Returns the shortest paths from the specified vertex to all vertexes,
+     * found by the delta-stepping algorithm in the common
+     * {@link ForkJoinPool}, with a bucket width chosen from the weights and
+     * degrees of the graph.
+     *
+     * @param source Source vertex of the paths.
+     * @throws RuntimeException If the graph doesn't contains the vertex, or
+     * contains negative weighted edges.
+     * @return The shortest path tree of the vertex.
+     */
+    ShortestPathTree<V> shortestPathTree(V source);
+
+    /**
+     * Returns the shortest paths from the specified vertex to all vertexes,
+     * found by the delta-stepping algorithm, which relaxes the edges of the
+     * vertexes whose distances fall in the same bucket in parallel. Narrow
+     * buckets relax fewer edges more than once, while wide buckets have more
+     * vertexes to relax in parallel.
+     *
+     * @param source Source vertex of the paths.
+     * @param bucketWidth Width of the distance buckets.
+     * @param pool Pool that runs the relaxations.
+     * @throws RuntimeException If the graph doesn't contains the vertex, or
+     * contains negative weighted edges, or if the bucket width isn't
+     * positive.
+     * @return The shortest path tree of the vertex.
+     */
+    ShortestPathTree<V> shortestPathTree(V source, float bucketWidth, ForkJoinPool pool);
+
+    /**
+     * Returns the shortest paths between each pair of origin and target
+     * vertexes. The pairs are grouped by origin, so a single search is done
+     * for each origin, and the searches of different origins run in parallel
+     * in the specified pool.
+     *
+     * @param pairs Pairs of origin and target vertexes of the paths.
+     * @param pool Pool that runs the searches.
+     * @throws RuntimeException If the graph contains negative weighted edges.
+     * @return The shortest paths, in the order of the pairs. A pair with a
+     * vertex that isn't in the graph has no path.
+     */
+    List<ShortestPath<V>> shortestPaths(List<? extends Map.Entry<V, V>> pairs, ForkJoinPool pool);
+
+    /**
+     * Sets the memory limit of the cache of shortest path trees used by
+     * {@link #shortestPath(Comparable, Comparable)}. With the cache, the
+     * first path from a vertex computes the shortest paths to all vertexes,
+     * and the later paths from the same vertex are read from them. The least
+     * recently used trees are discarded to respect the limit, and all of
+     * them are discarded when the graph is modified.
+     *
+     * @param maxBytes Memory limit of the cache, in bytes, or zero to disable
+     *                 it, which is the default.
+     * @throws RuntimeException If the limit is negative.
+     */
+    void setShortestPathCacheLimit(long maxBytes);
+
+    /**
+     * Builds an index over the current state of the graph that answers
+     * repeated shortest path queries faster than
+     * {@link #shortestPath(Comparable, Comparable)}. Building the index is
+     * expensive, and it doesn't follow later changes to the graph.
+     *
+     * @throws RuntimeException If the graph contains negative weighted edges.
+     * @return Shortest path index of the graph.
+     */
+    ShortestPathIndex<V> shortestPathIndex();
+
     /**
      * Returns a representation of the Minimum Spanning Tree (MST) of the
-     * graph.
+     * graph, found by the algorithm expected to be the fastest for the
+     * density of the graph.
      *
      * @return MST of the graph.
      */
     String MST();
 
+    /**
+     * Returns a representation of the Minimum Spanning Tree (MST) of the
+     * graph, found by the specified algorithm.
+     *
+     * @param algorithm Algorithm to be used to find the MST.
+     * @return MST of the graph.
+     */
+    String MST(MSTAlgorithm algorithm);
+
+    /**
+     * Returns a representation of the Minimum Spanning Tree (MST) of the
+     * graph, found by {@link MSTAlgorithm#BORUVKA} in the specified pool.
+     *
+     * @param pool Pool that runs the rounds of the algorithm.
+     * @return MST of the graph.
+     */
+    String MST(ForkJoinPool pool);
+
+    /**
+     * Returns a representation of the Minimum Spanning Tree (MST) of the
+     * graph, found by the specified algorithm in the specified pool, which
+     * runs {@link MSTAlgorithm#BORUVKA} and {@link MSTAlgorithm#FILTER_KRUSKAL}.
+     *
+     * @param algorithm Algorithm to be used to find the MST.
+     * @param pool Pool that runs the parallel steps of the algorithm.
+     * @return MST of the graph.
+     */
+    String MST(MSTAlgorithm algorithm, ForkJoinPool pool);
+
+    /**
+     * Writes the representation of {@link #MST()} to a writer, line by line,
+     * without building it as a whole in memory. The writer is flushed, but
+     * not closed.
+     *
+     * @param writer Writer to receive the MST.
+     * @throws RuntimeException If there is an error writing the MST.
+     */
+    void MST(Writer writer);
+
 }
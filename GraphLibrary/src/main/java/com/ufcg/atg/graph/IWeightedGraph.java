@@ -1,5 +1,7 @@
 package com.ufcg.atg.graph;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Defines the interface of a undirected and weighted graph, extending the
  * common methods from {@link IGraph}.
@@ -37,4 +39,39 @@ public interface IWeightedGraph<V extends Comparable<V>, E extends WeightedEdge<
      * @return The added weighted edge.
      */
     E addEdge(V v1, V v2, float weight);
-}
\ No newline at end of file
+
+    /**
+     * Returns a representation of the shortest path between the specified
+     * vertexes, found with the A* algorithm. The heuristic guides the search
+     * towards {@code v2}, so fewer vertexes are visited than in the search of
+     * {@link #shortestPath(Comparable, Comparable)}.
+     *
+     * @param v1 Origin vertex of the path.
+     * @param v2 Target vertex of the path.
+     * @param heuristic Admissible estimate of the distance between vertexes.
+     * @return Shortest path between {@code v1} e {@code v2}.
+     */
+    String shortestPath(V v1, V v2, DistanceHeuristic<V> heuristic);
+
+    /**
+     * Returns the lengths of the shortest paths between all pairs of
+     * vertexes, computed in the common {@link ForkJoinPool} by the algorithm
+     * expected to be the fastest for the density of the graph.
+     *
+     * @throws RuntimeException If the graph contains negative weighted edges.
+     * @return The distance matrix of the graph.
+     */
+    DistanceMatrix<V> allPairsShortestPaths();
+
+    /**
+     * Returns the lengths of the shortest paths between all pairs of
+     * vertexes, computed by the specified algorithm in the specified pool.
+     *
+     * @param algorithm Algorithm to be used.
+     * @param pool Pool that runs the computation.
+     * @throws RuntimeException If the graph contains negative weighted edges.
+     * @return The distance matrix of the graph.
+     */
+    DistanceMatrix<V> allPairsShortestPaths(AllPairsAlgorithm algorithm, ForkJoinPool pool);
+
+}
@@ -0,0 +1,165 @@
+package com.ufcg.atg.graph;
+
+import java.util.*;
+
+/**
+ * Immutable snapshot of a {@link BaseGraph} in which each vertex is interned
+ * to a dense index in {@code [0, vertexNumber)}. The indexes follow the
+ * natural ordering of the vertexes, so walking the indexes in order is the
+ * same as walking the ordered vertexes.
+ *
+ * The adjacency is stored in a {@link CompressedAdjacency} over the indexes,
+ * and each of its arcs keeps a reference to the edge object of the graph that
+ * originated it, or, if the graph doesn't store edge objects, the edge is
+ * created from its vertexes when looked up. The algorithms only deal with the
+ * indexes, and the vertexes and edges are only looked up to build their
+ * results.
+ *
+ * @param <V> Type of the vertex.
+ * @param <E> Type of the edge.
+ */
+final class IndexedGraph<V extends Comparable<V>, E extends Edge<V>> {
+
+    static final int ABSENT = -1;
+
+    private final List<V> vertexes;
+
+    private final Map<V, Integer> indexes;
+
+    private final CompressedAdjacency adjacency;
+
+    private final List<E> arcEdges;
+
+    private final AdjacencyStorage.EdgeModel<V, E> edgeModel;
+
+    /**
+     * Constructs a {@link IndexedGraph} from the specified adjacency sets.
+     *
+     * @param edgesByVertex Edges of each vertex of the graph.
+     * @param weight Function that returns the weight of an edge.
+     */
+    IndexedGraph(Map<V, Set<E>> edgesByVertex, ToFloatFunction<E> weight) {
+        vertexes = new ArrayList<>(edgesByVertex.keySet());
+        Collections.sort(vertexes);
+        indexes = new HashMap<>(vertexes.size() * 4 / 3 + 1);
+        for (int i = 0; i < vertexes.size(); i++) {
+            indexes.put(vertexes.get(i), i);
+        }
+
+        int[] offsets = new int[vertexes.size() + 1];
+        for (int i = 0; i < vertexes.size(); i++) {
+            offsets[i + 1] = offsets[i] + edgesByVertex.get(vertexes.get(i)).size();
+        }
+        int[] targets = new int[offsets[vertexes.size()]];
+        float[] weights = new float[targets.length];
+        List<E> arcEdges = new ArrayList<>(targets.length);
+        for (V v : vertexes) {
+            List<E> row = new ArrayList<>(edgesByVertex.get(v));
+            row.sort(Comparator.comparingInt((E e) -> indexes.get(e.getTargetVertex()))
+                    .thenComparingDouble(weight::applyAsFloat));
+            for (E e : row) {
+                targets[arcEdges.size()] = indexes.get(e.getTargetVertex());
+                weights[arcEdges.size()] = weight.applyAsFloat(e);
+                arcEdges.add(e);
+            }
+        }
+        this.adjacency = new CompressedAdjacency(offsets, targets, weights);
+        this.arcEdges = arcEdges;
+        this.edgeModel = null;
+    }
+
+    /**
+     * Constructs a {@link IndexedGraph} from an adjacency already built over
+     * the indexes of the ordered vertexes, whose edges are created when
+     * looked up.
+     *
+     * @param orderedVertexes Vertexes of the graph, in their natural order.
+     * @param adjacency Adjacency over the indexes of the vertexes.
+     * @param edgeModel Model that creates the edge of an arc.
+     */
+    IndexedGraph(List<V> orderedVertexes, CompressedAdjacency adjacency,
+                 AdjacencyStorage.EdgeModel<V, E> edgeModel) {
+        vertexes = orderedVertexes;
+        indexes = new HashMap<>(vertexes.size() * 4 / 3 + 1);
+        for (int i = 0; i < vertexes.size(); i++) {
+            indexes.put(vertexes.get(i), i);
+        }
+        this.adjacency = adjacency;
+        this.arcEdges = null;
+        this.edgeModel = edgeModel;
+    }
+
+    /**
+     * Returns the adjacency over the vertex indexes.
+     */
+    CompressedAdjacency adjacency() {
+        return adjacency;
+    }
+
+    /**
+     * Returns the number of vertexes.
+     */
+    int vertexNumber() {
+        return vertexes.size();
+    }
+
+    /**
+     * Returns the index of the specified vertex, or {@link #ABSENT} if it isn't
+     * in the graph.
+     *
+     * @param v Vertex to have its index returned.
+     * @return Index of the vertex.
+     */
+    int indexOf(V v) {
+        Integer index = indexes.get(v);
+        return index == null ? ABSENT : index;
+    }
+
+    /**
+     * Returns the vertexes, ordered by their indexes.
+     */
+    List<V> vertexes() {
+        return Collections.unmodifiableList(vertexes);
+    }
+
+    /**
+     * Returns the vertex of the specified index.
+     *
+     * @param index Index of the vertex.
+     * @return The vertex.
+     */
+    V vertexAt(int index) {
+        return vertexes.get(index);
+    }
+
+    /**
+     * Returns the edge of the graph that originated the specified arc.
+     *
+     * @param arc Index of the arc.
+     * @return The edge of the arc.
+     */
+    E edgeAt(int arc) {
+        if (arcEdges != null) return arcEdges.get(arc);
+        return edgeModel.createEdge(vertexAt(SpanningTrees.origin(adjacency, arc)),
+                vertexAt(adjacency.targets[arc]), adjacency.weight(arc));
+    }
+
+    /**
+     * Represents a function that produces a float-valued result, as the
+     * weight of an edge.
+     *
+     * @param <T> Type of the input.
+     */
+    @FunctionalInterface
+    interface ToFloatFunction<T> {
+
+        /**
+         * Applies this function to the specified argument.
+         *
+         * @param value The function argument.
+         * @return The function result.
+         */
+        float applyAsFloat(T value);
+    }
+
+}
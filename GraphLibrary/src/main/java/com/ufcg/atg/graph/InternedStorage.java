@@ -0,0 +1,269 @@
+package com.ufcg.atg.graph;
+
+import java.util.*;
+
+/**
+ * Skeletal {@link AdjacencyStorage} that interns each vertex to a dense index,
+ * in the order it is added, and keeps the arcs of each vertex in primitive
+ * form, as target indexes and weights, in a row ordered by target index. The
+ * edge objects aren't stored: the edges of a vertex are a view that creates
+ * them, through the {@link EdgeModel}, as it is walked by.
+ *
+ * The arcs of a row are identified by positions, walked by from the first
+ * one to each next one, so each subclass lays its rows out as it fits. Unless
+ * a subclass says otherwise, the walk is in the order of the target
+ * indexes.
+ *
+ * @param <V> Type of the vertex.
+ * @param <E> Type of the edge.
+ */
+abstract class InternedStorage<V extends Comparable<V>, E extends Edge<V>> implements AdjacencyStorage<V, E> {
+
+    static final int NO_ARC = -1;
+
+    final EdgeModel<V, E> edgeModel;
+
+    private final Map<V, Integer> indexes = new HashMap<>();
+
+    private final List<V> vertexes = new ArrayList<>();
+
+    /**
+     * Constructs a {@link InternedStorage}.
+     *
+     * @param edgeModel Model of the edges to be stored.
+     */
+    InternedStorage(EdgeModel<V, E> edgeModel) {
+        this.edgeModel = edgeModel;
+    }
+
+    /**
+     * Adds an empty row for the vertex that was just interned to the next
+     * index.
+     */
+    abstract void addRow();
+
+    /**
+     * Adds both arcs of an undirected edge, if they aren't already stored.
+     *
+     * @param origin Index of the origin vertex.
+     * @param target Index of the target vertex.
+     * @param weight Weight of the edge.
+     */
+    abstract void addArcs(int origin, int target, float weight);
+
+    /**
+     * Returns the number of arcs leaving the specified vertex.
+     *
+     * @param v Index of the vertex.
+     * @return Degree of the vertex.
+     */
+    abstract int degree(int v);
+
+    /**
+     * Returns the position of the first arc of the specified vertex.
+     *
+     * @param v Index of the vertex.
+     * @return Position of the arc, or {@link #NO_ARC} if there isn't one.
+     */
+    abstract int firstArc(int v);
+
+    /**
+     * Returns the position of the arc of the specified vertex that follows
+     * the specified one.
+     *
+     * @param v Index of the vertex.
+     * @param arc Position of the current arc.
+     * @return Position of the next arc, or {@link #NO_ARC} if there isn't
+     * one.
+     */
+    abstract int nextArc(int v, int arc);
+
+    /**
+     * Returns the target index of the specified arc.
+     *
+     * @param v Index of the origin vertex.
+     * @param arc Position of the arc.
+     * @return Index of the target vertex.
+     */
+    abstract int target(int v, int arc);
+
+    /**
+     * Returns the weight of the specified arc.
+     *
+     * @param v Index of the origin vertex.
+     * @param arc Position of the arc.
+     * @return Weight of the arc.
+     */
+    abstract float weight(int v, int arc);
+
+    /**
+     * Returns if an arc between the specified vertexes is represented by the
+     * specified edge.
+     *
+     * @param origin Index of the origin vertex.
+     * @param target Index of the target vertex.
+     * @param e Edge between the vertexes.
+     * @return {@code true} if there is such an arc, {@code false} otherwise.
+     */
+    abstract boolean containsArc(int origin, int target, Edge<?> e);
+
+    /**
+     * Returns the stored adjacency over the indexes in which the vertexes
+     * were interned.
+     */
+    abstract CompressedAdjacency adjacency();
+
+    @Override
+    public boolean addVertex(V v) {
+        if (indexes.containsKey(v)) return false;
+        indexes.put(v, vertexes.size());
+        vertexes.add(v);
+        addRow();
+        return true;
+    }
+
+    @Override
+    public void addEdge(E edge) {
+        float weight = edgeModel.isWeighted() ? edgeModel.weight(edge)
+                : CompressedAdjacency.UNWEIGHTED_ARC_WEIGHT;
+        addArcs(indexes.get(edge.getOriginVertex()), indexes.get(edge.getTargetVertex()), weight);
+    }
+
+    @Override
+    public Set<V> vertexes() {
+        return Collections.unmodifiableSet(indexes.keySet());
+    }
+
+    @Override
+    public int vertexNumber() {
+        return vertexes.size();
+    }
+
+    @Override
+    public boolean containsVertex(V v) {
+        return indexes.containsKey(v);
+    }
+
+    /**
+     * Returns the index in which the specified vertex was interned.
+     *
+     * @param v Vertex to have its index returned.
+     * @return Index of the vertex, or {@code null} if it isn't stored.
+     */
+    Integer indexOf(V v) {
+        return indexes.get(v);
+    }
+
+    /**
+     * Returns the vertex interned to the specified index.
+     *
+     * @param index Index of the vertex.
+     * @return The vertex.
+     */
+    V vertexAt(int index) {
+        return vertexes.get(index);
+    }
+
+    @Override
+    public Set<E> edgesOf(V v) {
+        Integer index = indexes.get(v);
+        return index == null ? null : new RowEdges(index);
+    }
+
+    @Override
+    public boolean containsEdge(Edge<?> e) {
+        Integer origin = indexes.get(e.getOriginVertex()), target = indexes.get(e.getTargetVertex());
+        return origin != null && target != null && containsArc(origin, target, e);
+    }
+
+    /**
+     * Finds the common adjacent vertexes by merging both rows, which are
+     * ordered by target index.
+     */
+    @Override
+    public Set<V> commonAdjacentVertexes(V v1, V v2) {
+        int index1 = indexes.get(v1), index2 = indexes.get(v2);
+        Set<V> common = new HashSet<>();
+        int arc1 = firstArc(index1), arc2 = firstArc(index2);
+        while (arc1 != NO_ARC && arc2 != NO_ARC) {
+            int target1 = target(index1, arc1), target2 = target(index2, arc2);
+            if (target1 == target2) common.add(vertexes.get(target1));
+            if (target1 <= target2) arc1 = nextArc(index1, arc1);
+            if (target2 <= target1) arc2 = nextArc(index2, arc2);
+        }
+        return common;
+    }
+
+    /**
+     * Builds the snapshot by renumbering the stored adjacency to the natural
+     * order of the vertexes, unless they were added in that order.
+     */
+    @Override
+    public IndexedGraph<V, E> index() {
+        int vertexNumber = vertexes.size();
+        Integer[] order = new Integer[vertexNumber];
+        for (int i = 0; i < vertexNumber; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(vertexes::get));
+        int[] ranks = new int[vertexNumber];
+        List<V> orderedVertexes = new ArrayList<>(vertexNumber);
+        boolean ordered = true;
+        for (int rank = 0; rank < vertexNumber; rank++) {
+            ranks[order[rank]] = rank;
+            orderedVertexes.add(vertexes.get(order[rank]));
+            ordered &= order[rank] == rank;
+        }
+        CompressedAdjacency adjacency = adjacency();
+        return new IndexedGraph<>(orderedVertexes, ordered ? adjacency : adjacency.renumbered(ranks), edgeModel);
+    }
+
+    /**
+     * View of the edges leaving a vertex, created from the arcs of its row.
+     */
+    private final class RowEdges extends AbstractSet<E> {
+
+        private final int index;
+
+        RowEdges(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public int size() {
+            return degree(index);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Edge)) return false;
+            Edge<?> e = (Edge<?>) o;
+            Integer target = indexes.get(e.getTargetVertex());
+            return vertexes.get(index).equals(e.getOriginVertex()) && target != null
+                    && containsArc(index, target, e);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new Iterator<E>() {
+
+                private int arc = firstArc(index);
+
+                @Override
+                public boolean hasNext() {
+                    return arc != NO_ARC;
+                }
+
+                @Override
+                public E next() {
+                    if (arc == NO_ARC) throw new NoSuchElementException();
+                    E e = edgeModel.createEdge(vertexes.get(index), vertexes.get(target(index, arc)),
+                            weight(index, arc));
+                    arc = nextArc(index, arc);
+                    return e;
+                }
+            };
+        }
+    }
+
+}
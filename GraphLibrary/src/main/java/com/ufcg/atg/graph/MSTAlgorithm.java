@@ -0,0 +1,33 @@
+package com.ufcg.atg.graph;
+
+/**
+ * Represents all algorithms that can be used to find the Minimum Spanning
+ * Tree (MST) of a graph. All of them find the same tree, as the edges of equal
+ * weight are taken in the same order.
+ */
+public enum MSTAlgorithm {
+    /**
+     * Kruskal's algorithm, which sorts all edges by weight and takes each one
+     * that doesn't close a cycle. Best for sparse graphs.
+     */
+    KRUSKAL,
+    /**
+     * Prim's algorithm, which grows the tree from a vertex, taking the
+     * lightest edge to a vertex out of it, kept in an indexed heap. Best for
+     * dense graphs, as it doesn't sort the edges.
+     */
+    PRIM,
+    /**
+     * Borůvka's algorithm, which hooks each component to the one at the other
+     * end of its lightest edge, in rounds that walk by the edges in parallel.
+     * Best for large graphs in machines with many cores.
+     */
+    BORUVKA,
+    /**
+     * Filter-Kruskal algorithm, which partitions the edges around pivots as
+     * in quicksort and discards the heavier edges that would close a cycle
+     * before sorting them, in parallel. Best for large graphs whose tree is
+     * found among their lighter edges.
+     */
+    FILTER_KRUSKAL
+}
@@ -0,0 +1,300 @@
+package com.ufcg.atg.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Finds the minimum spanning forest of a {@link CompressedAdjacency} with
+ * Borůvka's algorithm, whose rounds run in parallel over chunks of an edge
+ * list.
+ *
+ * In each round, every component finds its lightest edge to another
+ * component, kept in an {@link AtomicLongArray} by compare-and-set, and is
+ * hooked to the component at the other end of it. The edges are compared by
+ * the keys of {@link SpanningTrees#edgeKey(CompressedAdjacency, int)}, which
+ * are all distinct, so the hooks can only form cycles of two components that
+ * chose the same edge, broken by keeping the one of lower index as root, and
+ * the forest found is the same of {@link SpanningTrees#kruskal}. The edge
+ * list is then relabeled with the roots of the hooks and compacted, dropping
+ * the edges inside a component, so each round walks by fewer edges.
+ */
+final class ParallelBoruvka {
+
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+
+    private static final int CHUNKS_PER_THREAD = 8;
+
+    private static final long NO_KEY = Long.MAX_VALUE;
+
+    private final CompressedAdjacency adjacency;
+
+    private final ForkJoinPool pool;
+
+    private long[] keys;
+
+    private int[] ends1;
+
+    private int[] ends2;
+
+    private int edgeNumber;
+
+    private final AtomicLongArray lightestKeys;
+
+    private final int[] hooks;
+
+    private final long[] treeKeys;
+
+    /**
+     * Constructs a {@link ParallelBoruvka} in which each vertex is alone in
+     * its component.
+     */
+    private ParallelBoruvka(CompressedAdjacency adjacency, ForkJoinPool pool) {
+        this.adjacency = adjacency;
+        this.pool = pool;
+        int vertexCapacity = adjacency.vertexCapacity();
+        long[] noKeys = new long[vertexCapacity];
+        Arrays.fill(noKeys, NO_KEY);
+        this.lightestKeys = new AtomicLongArray(noKeys);
+        this.hooks = new int[vertexCapacity];
+        for (int v = 0; v < vertexCapacity; v++) {
+            hooks[v] = v;
+        }
+        this.treeKeys = new long[vertexCapacity];
+    }
+
+    /**
+     * Finds the minimum spanning forest.
+     *
+     * @param adjacency Adjacency of the graph, which must be symmetric.
+     * @param pool Pool that runs the rounds.
+     * @return Indexes of the arcs of the forest, in the order of
+     * {@link SpanningTrees#kruskal(CompressedAdjacency)}.
+     */
+    static int[] forest(CompressedAdjacency adjacency, ForkJoinPool pool) {
+        ParallelBoruvka boruvka = new ParallelBoruvka(adjacency, pool);
+        boruvka.collectEdges();
+        while (boruvka.edgeNumber > 0) {
+            boruvka.round();
+        }
+        return boruvka.treeArcs();
+    }
+
+    /**
+     * Fills the edge list with the arcs whose origin index is lesser than the
+     * target index, splitting the vertexes in chunks of about the same number
+     * of arcs, which are counted and then copied in parallel.
+     */
+    private void collectEdges() {
+        int vertexCapacity = adjacency.vertexCapacity();
+        int chunks = chunkNumber(adjacency.arcCount());
+        int[] bounds = new int[chunks + 1];
+        for (int chunk = 1; chunk < chunks; chunk++) {
+            bounds[chunk] = SpanningTrees.origin(adjacency, (int) ((long) adjacency.arcCount() * chunk / chunks));
+        }
+        bounds[chunks] = vertexCapacity;
+        int[] starts = new int[chunks + 1];
+        run(chunks, chunk -> starts[chunk + 1] = countForwardArcs(bounds[chunk], bounds[chunk + 1]));
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            starts[chunk + 1] += starts[chunk];
+        }
+        edgeNumber = starts[chunks];
+        keys = new long[edgeNumber];
+        ends1 = new int[edgeNumber];
+        ends2 = new int[edgeNumber];
+        run(chunks, chunk -> copyForwardArcs(bounds[chunk], bounds[chunk + 1], starts[chunk]));
+    }
+
+    private int countForwardArcs(int fromVertex, int toVertex) {
+        int[] offsets = adjacency.offsets, targets = adjacency.targets;
+        int count = 0;
+        for (int v = fromVertex; v < toVertex; v++) {
+            for (int arc = offsets[v]; arc < offsets[v + 1]; arc++) {
+                if (targets[arc] > v) count++;
+            }
+        }
+        return count;
+    }
+
+    private void copyForwardArcs(int fromVertex, int toVertex, int edge) {
+        int[] offsets = adjacency.offsets, targets = adjacency.targets;
+        for (int v = fromVertex; v < toVertex; v++) {
+            for (int arc = offsets[v]; arc < offsets[v + 1]; arc++) {
+                if (targets[arc] > v) {
+                    keys[edge] = SpanningTrees.edgeKey(adjacency, arc);
+                    ends1[edge] = v;
+                    ends2[edge++] = targets[arc];
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs a round: finds the lightest edge of each component, hooks the
+     * components by them and compacts the edge list.
+     */
+    private void round() {
+        int size = edgeNumber, chunks = chunkNumber(size);
+        run(chunks, chunk -> findLightest(from(chunk, chunks, size), from(chunk + 1, chunks, size)));
+        run(chunks, chunk -> hook(from(chunk, chunks, size), from(chunk + 1, chunks, size)));
+        int[] kept = new int[chunks];
+        run(chunks, chunk -> kept[chunk] = relabel(from(chunk, chunks, size), from(chunk + 1, chunks, size)));
+        int edge = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int from = from(chunk, chunks, size);
+            System.arraycopy(keys, from, keys, edge, kept[chunk]);
+            System.arraycopy(ends1, from, ends1, edge, kept[chunk]);
+            System.arraycopy(ends2, from, ends2, edge, kept[chunk]);
+            edge += kept[chunk];
+        }
+        edgeNumber = edge;
+    }
+
+    private void findLightest(int fromEdge, int toEdge) {
+        for (int edge = fromEdge; edge < toEdge; edge++) {
+            decrease(ends1[edge], keys[edge]);
+            decrease(ends2[edge], keys[edge]);
+        }
+    }
+
+    private void decrease(int component, long key) {
+        long current = lightestKeys.get(component);
+        while (key < current && !lightestKeys.compareAndSet(component, current, key)) {
+            current = lightestKeys.get(component);
+        }
+    }
+
+    /**
+     * Hooks each component whose lightest edge is in the specified range to
+     * the other end of the edge, and adds the edge to the forest. Only one
+     * edge is the lightest of a component, so each hook is written by a single
+     * task.
+     */
+    private void hook(int fromEdge, int toEdge) {
+        for (int edge = fromEdge; edge < toEdge; edge++) {
+            long key = keys[edge];
+            int end1 = ends1[edge], end2 = ends2[edge];
+            boolean lightest1 = lightestKeys.get(end1) == key, lightest2 = lightestKeys.get(end2) == key;
+            if (lightest1 && (!lightest2 || end1 > end2)) {
+                hooks[end1] = end2;
+                treeKeys[end1] = key;
+            } else if (lightest2) {
+                hooks[end2] = end1;
+                treeKeys[end2] = key;
+            }
+        }
+    }
+
+    /**
+     * Replaces the ends of the edges in the specified range by the roots of
+     * their hooks, moving the edges between different roots to the start of
+     * the range, and clears the lightest edges of the old components.
+     *
+     * @return The number of edges kept.
+     */
+    private int relabel(int fromEdge, int toEdge) {
+        int kept = fromEdge;
+        for (int edge = fromEdge; edge < toEdge; edge++) {
+            int end1 = ends1[edge], end2 = ends2[edge];
+            lightestKeys.lazySet(end1, NO_KEY);
+            lightestKeys.lazySet(end2, NO_KEY);
+            int root1 = root(end1), root2 = root(end2);
+            if (root1 == root2) continue;
+            keys[kept] = keys[edge];
+            ends1[kept] = root1;
+            ends2[kept++] = root2;
+        }
+        return kept - fromEdge;
+    }
+
+    /**
+     * Returns the root of the hooks of the specified component, halving the
+     * path walked. The tasks may halve the same path at once, but each write
+     * only shortcuts a component to one of its ancestors, so any value read
+     * leads to the root.
+     */
+    private int root(int component) {
+        while (hooks[component] != component) {
+            int parent = hooks[component];
+            hooks[component] = hooks[parent];
+            component = parent;
+        }
+        return component;
+    }
+
+    /**
+     * Returns the arcs of the hooks, sorted by their keys.
+     */
+    private int[] treeArcs() {
+        long[] tree = new long[hooks.length];
+        int size = 0;
+        for (int v = 0; v < hooks.length; v++) {
+            if (hooks[v] != v) tree[size++] = treeKeys[v];
+        }
+        Arrays.sort(tree, 0, size);
+        int[] arcs = new int[size];
+        for (int i = 0; i < size; i++) {
+            arcs[i] = (int) tree[i];
+        }
+        return arcs;
+    }
+
+    /**
+     * Returns the number of chunks in which a range of the specified length
+     * is split: enough for each thread of the pool to steal several of them,
+     * but none shorter than the sequential threshold.
+     */
+    private int chunkNumber(int length) {
+        int maxChunks = pool.getParallelism() * CHUNKS_PER_THREAD;
+        return Math.max(1, Math.min(maxChunks, length / SEQUENTIAL_THRESHOLD));
+    }
+
+    private static int from(int chunk, int chunks, int length) {
+        return (int) ((long) length * chunk / chunks);
+    }
+
+    /**
+     * Runs the specified action for each chunk, in parallel in the pool.
+     */
+    private void run(int chunks, IntConsumer action) {
+        if (chunks == 1) {
+            action.accept(0);
+        } else {
+            pool.invoke(new ChunkTask(0, chunks, action));
+        }
+    }
+
+    /**
+     * Task that runs an action for a range of chunks, splitting it in halves
+     * until a single chunk is left.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int fromChunk;
+
+        private final int toChunk;
+
+        private final IntConsumer action;
+
+        ChunkTask(int fromChunk, int toChunk, IntConsumer action) {
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                action.accept(fromChunk);
+                return;
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            invokeAll(new ChunkTask(fromChunk, middle, action), new ChunkTask(middle, toChunk, action));
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+package com.ufcg.atg.graph;
+
+import com.ufcg.atg.util.IntList;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Level-synchronous Breadth-first Search (BFS), which expands each level of a
+ * {@link CompressedAdjacency} in parallel, with the same levels and
+ * predecessors of {@link Traversals#breadthFirst(CompressedAdjacency, int,
+ * int[], int[])}.
+ *
+ * Each level is expanded in two parallel passes. The first one scans the arcs
+ * of the frontier and claims each unvisited vertex for the frontier vertex of
+ * lowest position that reaches it, by an atomic minimum, recording the claims
+ * in order. The second one keeps the claims that weren't lowered by another
+ * position and marks their vertexes in an atomic visited bitmap. The kept
+ * claims are in the order a sequential queue would have given to the next
+ * frontier.
+ */
+final class ParallelBreadthFirst {
+
+    private static final int SEQUENTIAL_THRESHOLD = 512;
+
+    private final CompressedAdjacency adjacency;
+
+    private final AtomicLongArray visited;
+
+    private final AtomicIntegerArray claims;
+
+    private final int[] levels;
+
+    private final int[] predecessors;
+
+    /**
+     * Constructs a {@link ParallelBreadthFirst} in which no vertex was
+     * visited.
+     */
+    private ParallelBreadthFirst(CompressedAdjacency adjacency, int[] levels, int[] predecessors) {
+        this.adjacency = adjacency;
+        this.visited = new AtomicLongArray((adjacency.vertexCapacity() + 63) >>> 6);
+        int[] unclaimed = new int[adjacency.vertexCapacity()];
+        Arrays.fill(unclaimed, Integer.MAX_VALUE);
+        this.claims = new AtomicIntegerArray(unclaimed);
+        this.levels = levels;
+        this.predecessors = predecessors;
+    }
+
+    /**
+     * Walks by the graph in BFS starting from {@code root}, expanding the
+     * levels in the specified pool.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @param root Index of the root vertex.
+     * @param pool Pool that expands the levels.
+     * @param levels Levels of the vertexes, filled by the walk.
+     * @param predecessors Predecessors of the vertexes, filled by the walk.
+     * @return Number of visited vertexes.
+     */
+    static int run(CompressedAdjacency adjacency, int root, ForkJoinPool pool, int[] levels,
+                   int[] predecessors) {
+        return new ParallelBreadthFirst(adjacency, levels, predecessors).run(root, pool);
+    }
+
+    private int run(int root, ForkJoinPool pool) {
+        levels[root] = 0;
+        visited.set(root >>> 6, 1L << root);
+        int[] frontier = {root};
+        int visitedNumber = 1;
+        while (frontier.length > 0) {
+            int[] claimed = pool.invoke(new ClaimTask(frontier, 0, frontier.length)).toArray();
+            frontier = pool.invoke(new CollectTask(frontier, claimed, 0, claimed.length / 2)).toArray();
+            visitedNumber += frontier.length;
+        }
+        return visitedNumber;
+    }
+
+    /**
+     * Claims the unvisited adjacent vertexes of the frontier vertexes at the
+     * specified positions for the vertex of lowest position.
+     *
+     * @return Pairs of a vertex and the position that claimed it, for each
+     * successful claim, in the order they were made.
+     */
+    private IntList claim(int[] frontier, int from, int to) {
+        IntList claimed = new IntList();
+        int[] offsets = adjacency.offsets, targets = adjacency.targets;
+        for (int position = from; position < to; position++) {
+            int current = frontier[position];
+            for (int arc = offsets[current], end = offsets[current + 1]; arc < end; arc++) {
+                int adjacent = targets[arc];
+                if (isVisited(adjacent)) continue;
+                int claim = claims.get(adjacent);
+                while (position < claim) {
+                    if (claims.compareAndSet(adjacent, claim, position)) {
+                        claimed.add(adjacent);
+                        claimed.add(position);
+                        break;
+                    }
+                    claim = claims.get(adjacent);
+                }
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Visits the vertexes of the specified claims that are still held by the
+     * position that made them, once all claims of the level were made.
+     *
+     * @return The visited vertexes, in the order of the claims.
+     */
+    private IntList collect(int[] frontier, int[] claimed, int from, int to) {
+        IntList next = new IntList(to - from);
+        for (int i = from; i < to; i++) {
+            int adjacent = claimed[2 * i], position = claimed[2 * i + 1];
+            if (claims.get(adjacent) != position) continue;
+            int current = frontier[position];
+            visited.getAndAccumulate(adjacent >>> 6, 1L << adjacent, (bits, bit) -> bits | bit);
+            levels[adjacent] = levels[current] + 1;
+            predecessors[adjacent] = current;
+            next.add(adjacent);
+        }
+        return next;
+    }
+
+    private boolean isVisited(int v) {
+        return (visited.get(v >>> 6) & 1L << v) != 0L;
+    }
+
+    /**
+     * Task that claims the adjacent vertexes of a range of the frontier,
+     * splitting it in halves until it is small enough, and joins the claims
+     * of the halves in order.
+     */
+    private final class ClaimTask extends RecursiveTask<IntList> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] frontier;
+
+        private final int from;
+
+        private final int to;
+
+        ClaimTask(int[] frontier, int from, int to) {
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected IntList compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) return claim(frontier, from, to);
+            int middle = (from + to) >>> 1;
+            ClaimTask left = new ClaimTask(frontier, from, middle);
+            left.fork();
+            IntList claimed = new ClaimTask(frontier, middle, to).compute();
+            IntList leftClaimed = left.join();
+            leftClaimed.addAll(claimed);
+            return leftClaimed;
+        }
+    }
+
+    /**
+     * Task that visits the vertexes of a range of the claims, splitting it in
+     * halves until it is small enough, and joins the halves in order.
+     */
+    private final class CollectTask extends RecursiveTask<IntList> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] frontier;
+
+        private final int[] claimed;
+
+        private final int from;
+
+        private final int to;
+
+        CollectTask(int[] frontier, int[] claimed, int from, int to) {
+            this.frontier = frontier;
+            this.claimed = claimed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected IntList compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) return collect(frontier, claimed, from, to);
+            int middle = (from + to) >>> 1;
+            CollectTask left = new CollectTask(frontier, claimed, from, middle);
+            left.fork();
+            IntList next = new CollectTask(frontier, claimed, middle, to).compute();
+            IntList leftNext = left.join();
+            leftNext.addAll(next);
+            return leftNext;
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.ufcg.atg.graph;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents the shortest path between two vertexes, as returned by the
+ * batch search of {@link IGraph#shortestPaths(List, java.util.concurrent.ForkJoinPool)}.
+ *
+ * @param <V> Type of the vertexes.
+ */
+public final class ShortestPath<V extends Comparable<V>> {
+
+    private final V originVertex;
+
+    private final V targetVertex;
+
+    private final List<V> vertexes;
+
+    private final float distance;
+
+    /**
+     * Constructs a {@link ShortestPath}.
+     *
+     * @param originVertex The origin vertex of the path.
+     * @param targetVertex The target vertex of the path.
+     * @param vertexes The vertexes of the path, in order, or an empty list if
+     *                 there isn't a path.
+     * @param distance The length of the path, or +Infinity if there isn't a
+     *                 path.
+     */
+    public ShortestPath(V originVertex, V targetVertex, List<V> vertexes, float distance) {
+        this.originVertex = originVertex;
+        this.targetVertex = targetVertex;
+        this.vertexes = Collections.unmodifiableList(vertexes);
+        this.distance = distance;
+    }
+
+    public V getOriginVertex() {
+        return originVertex;
+    }
+
+    public V getTargetVertex() {
+        return targetVertex;
+    }
+
+    public List<V> getVertexes() {
+        return vertexes;
+    }
+
+    public float getDistance() {
+        return distance;
+    }
+
+    /**
+     * Returns if there is a path between the vertexes.
+     */
+    public boolean exists() {
+        return !vertexes.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ShortestPath<?> that = (ShortestPath<?>) o;
+        return Float.compare(distance, that.distance) == 0 &&
+                Objects.equals(originVertex, that.originVertex) &&
+                Objects.equals(targetVertex, that.targetVertex) &&
+                Objects.equals(vertexes, that.vertexes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(originVertex, targetVertex, vertexes, distance);
+    }
+
+    /**
+     * Returns the vertexes of the path separated by spaces, in the same format
+     * of {@link IGraph#shortestPath(Comparable, Comparable)}, or an empty
+     * string if there isn't a path.
+     */
+    @Override
+    public String toString() {
+        StringBuilder representation = new StringBuilder();
+        for (int i = 0; i < vertexes.size(); i++) {
+            if (i > 0) representation.append(" ");
+            representation.append(vertexes.get(i));
+        }
+        return representation.toString();
+    }
+
+}
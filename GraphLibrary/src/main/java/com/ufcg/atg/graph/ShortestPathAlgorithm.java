@@ -0,0 +1,18 @@
+package com.ufcg.atg.graph;
+
+/**
+ * Represents all algorithms that can be used to find the shortest path
+ * between two vertexes.
+ */
+public enum ShortestPathAlgorithm {
+    /**
+     * Dijkstra's algorithm, searching from the path start until the path end
+     * is settled.
+     */
+    DIJKSTRA,
+    /**
+     * Dijkstra's algorithm searching from both path ends at the same time,
+     * until the two searches meet.
+     */
+    BIDIRECTIONAL_DIJKSTRA
+}
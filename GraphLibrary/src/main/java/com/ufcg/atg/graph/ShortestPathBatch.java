@@ -0,0 +1,152 @@
+package com.ufcg.atg.graph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Finds the shortest paths of many pairs of vertexes over an immutable
+ * adjacency. The pairs are grouped by their origin vertex, so a single
+ * Dijkstra search is run for each origin, and it stops as soon as all the
+ * targets of the origin are settled. The searches of different origins are
+ * independent and run in parallel in a {@link ForkJoinPool}.
+ *
+ * @param <V> Type of the vertex.
+ */
+final class ShortestPathBatch<V extends Comparable<V>> {
+
+    private final CompressedAdjacency adjacency;
+
+    private final List<Map.Entry<V, V>> pairs;
+
+    private final IntFunction<V> vertexAt;
+
+    private final int[] sources;
+
+    private final int[] targets;
+
+    private final int[] pairsBySource;
+
+    private final int[] groupOffsets;
+
+    private final List<ShortestPath<V>> results;
+
+    /**
+     * Constructs a {@link ShortestPathBatch}, grouping the pairs by origin.
+     *
+     * @param adjacency Adjacency of the graph, without negative weights.
+     * @param pairs Pairs of origin and target vertexes of the paths.
+     * @param indexOf Function that maps a vertex to its index, or to a negative
+     *                number if it isn't in the graph.
+     * @param vertexAt Function that maps an index to its vertex.
+     */
+    ShortestPathBatch(CompressedAdjacency adjacency, List<? extends Map.Entry<V, V>> pairs,
+                      ToIntFunction<V> indexOf, IntFunction<V> vertexAt) {
+        this.adjacency = adjacency;
+        this.pairs = new ArrayList<>(pairs);
+        this.vertexAt = vertexAt;
+        this.sources = new int[pairs.size()];
+        this.targets = new int[pairs.size()];
+        this.results = new ArrayList<>(Collections.nCopies(pairs.size(), null));
+
+        long[] keys = new long[pairs.size()];
+        int keyNumber = 0;
+        for (int i = 0; i < pairs.size(); i++) {
+            Map.Entry<V, V> pair = pairs.get(i);
+            sources[i] = indexOf.applyAsInt(pair.getKey());
+            targets[i] = indexOf.applyAsInt(pair.getValue());
+            if (sources[i] < 0 || targets[i] < 0) {
+                results.set(i, new ShortestPath<>(pair.getKey(), pair.getValue(),
+                        Collections.emptyList(), Float.POSITIVE_INFINITY));
+            } else {
+                keys[keyNumber++] = (long) sources[i] << 32 | i;
+            }
+        }
+        Arrays.sort(keys, 0, keyNumber);
+
+        pairsBySource = new int[keyNumber];
+        int[] groupOffsets = new int[keyNumber + 1];
+        int groupNumber = 0;
+        for (int i = 0; i < keyNumber; i++) {
+            pairsBySource[i] = (int) keys[i];
+            if (i == 0 || keys[i] >>> 32 != keys[i - 1] >>> 32) groupOffsets[groupNumber++] = i;
+        }
+        groupOffsets[groupNumber] = keyNumber;
+        this.groupOffsets = Arrays.copyOf(groupOffsets, groupNumber + 1);
+    }
+
+    /**
+     * Runs the searches of all origins in the specified pool.
+     *
+     * @param pool Pool that runs the searches.
+     * @return The shortest paths, in the order of the pairs.
+     */
+    List<ShortestPath<V>> run(ForkJoinPool pool) {
+        int groupNumber = groupOffsets.length - 1;
+        if (groupNumber > 0) pool.invoke(new SearchTask(0, groupNumber));
+        return results;
+    }
+
+    /**
+     * Runs the search of the specified group of pairs, which share the same
+     * origin.
+     */
+    private void search(int group) {
+        int vertexCapacity = adjacency.vertexCapacity();
+        int source = sources[pairsBySource[groupOffsets[group]]];
+        boolean[] marks = new boolean[vertexCapacity];
+        int targetNumber = 0;
+        for (int i = groupOffsets[group]; i < groupOffsets[group + 1]; i++) {
+            int target = targets[pairsBySource[i]];
+            if (!marks[target]) {
+                marks[target] = true;
+                targetNumber++;
+            }
+        }
+        float[] distances = ShortestPaths.newDistances(vertexCapacity);
+        int[] predecessors = Traversals.newPredecessors(vertexCapacity);
+        ShortestPaths.dijkstra(adjacency, source, marks, targetNumber, distances, predecessors);
+
+        for (int i = groupOffsets[group]; i < groupOffsets[group + 1]; i++) {
+            int pair = pairsBySource[i], target = targets[pair];
+            int[] path = ShortestPaths.path(source, target, predecessors);
+            List<V> vertexes = new ArrayList<>(path == null ? 0 : path.length);
+            if (path != null) {
+                for (int v : path) vertexes.add(vertexAt.apply(v));
+            }
+            results.set(pair, new ShortestPath<>(pairs.get(pair).getKey(), pairs.get(pair).getValue(),
+                    vertexes, distances[target]));
+        }
+    }
+
+    /**
+     * Task that searches a range of groups, splitting it in halves until a
+     * single group is left.
+     */
+    private final class SearchTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int fromGroup;
+
+        private final int toGroup;
+
+        SearchTask(int fromGroup, int toGroup) {
+            this.fromGroup = fromGroup;
+            this.toGroup = toGroup;
+        }
+
+        @Override
+        protected void compute() {
+            if (toGroup - fromGroup == 1) {
+                search(fromGroup);
+                return;
+            }
+            int middle = (fromGroup + toGroup) >>> 1;
+            invokeAll(new SearchTask(fromGroup, middle), new SearchTask(middle, toGroup));
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.ufcg.atg.graph;
+
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Index for repeated shortest path queries over a snapshot of a graph. It is
+ * built by {@link IGraph#shortestPathIndex()}, which preprocesses the graph
+ * into a contraction hierarchy, so each query settles only a small part of the
+ * graph instead of searching it again.
+ *
+ * The index doesn't follow changes made to the graph after it was built, and
+ * it can be queried concurrently.
+ *
+ * @param <V> Type of the vertex.
+ */
+public final class ShortestPathIndex<V extends Comparable<V>> {
+
+    private final ContractionHierarchy hierarchy;
+
+    private final ToIntFunction<V> indexOf;
+
+    private final IntFunction<V> vertexAt;
+
+    /**
+     * Constructs a {@link ShortestPathIndex}, contracting the specified
+     * adjacency.
+     *
+     * @param adjacency Adjacency of the graph, without negative weights.
+     * @param indexOf Function that maps a vertex to its index, or to a negative
+     *                number if it isn't in the graph.
+     * @param vertexAt Function that maps an index to its vertex.
+     */
+    ShortestPathIndex(CompressedAdjacency adjacency, ToIntFunction<V> indexOf, IntFunction<V> vertexAt) {
+        this.hierarchy = new ContractionHierarchy(adjacency);
+        this.indexOf = indexOf;
+        this.vertexAt = vertexAt;
+    }
+
+    /**
+     * Returns the length of the shortest path between the specified vertexes.
+     *
+     * @param v1 Origin vertex of the path.
+     * @param v2 Target vertex of the path.
+     * @return Length of the shortest path, or +Infinity if there isn't a path.
+     */
+    public float distance(V v1, V v2) {
+        int pathStart = indexOf.applyAsInt(v1), pathEnd = indexOf.applyAsInt(v2);
+        if (pathStart < 0 || pathEnd < 0) return Float.POSITIVE_INFINITY;
+        return hierarchy.shortestPath(pathStart, pathEnd).distance;
+    }
+
+    /**
+     * Returns a representation of the shortest path between the specified
+     * vertexes, in the same format of {@link IGraph#shortestPath(Comparable, Comparable)}.
+     *
+     * @param v1 Origin vertex of the path.
+     * @param v2 Target vertex of the path.
+     * @throws RuntimeException If there isn't a path between the vertexes.
+     * @return Shortest path between {@code v1} e {@code v2}.
+     */
+    public String shortestPath(V v1, V v2) {
+        if (v1.equals(v2)) return v1.toString();
+        int pathStart = indexOf.applyAsInt(v1), pathEnd = indexOf.applyAsInt(v2);
+        if (pathStart < 0 || pathEnd < 0) {
+            throw new RuntimeException("There isn't a path between " + v1 + " and " + v2);
+        }
+        ShortestPaths.PathResult result = hierarchy.shortestPath(pathStart, pathEnd);
+        return ShortestPaths.pathString(pathStart, pathEnd, result.path, vertexAt);
+    }
+
+    /**
+     * Returns the number of vertexes settled by the query of the shortest path
+     * between the specified vertexes, which must be in the index.
+     *
+     * @param v1 Origin vertex of the path.
+     * @param v2 Target vertex of the path.
+     * @return Number of settled vertexes.
+     */
+    int settledVertexes(V v1, V v2) {
+        return hierarchy.shortestPath(indexOf.applyAsInt(v1), indexOf.applyAsInt(v2)).settledVertexes;
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.ufcg.atg.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Represents the shortest paths from a source vertex to all vertexes of a
+ * graph, stored as the distance and the predecessor of each vertex, as
+ * returned by {@link IGraph#shortestPathTree(Comparable)}.
+ *
+ * @param <V> Type of the vertexes.
+ */
+public final class ShortestPathTree<V extends Comparable<V>> {
+
+    private final V source;
+
+    private final float[] distances;
+
+    private final int[] predecessors;
+
+    private final ToIntFunction<V> indexOf;
+
+    private final IntFunction<V> vertexAt;
+
+    /**
+     * Constructs a {@link ShortestPathTree}.
+     *
+     * @param source The source vertex of the paths.
+     * @param distances Distances of the vertexes to the source, by index.
+     * @param predecessors Predecessors of the vertexes in their paths, by
+     *                     index.
+     * @param indexOf Function that maps a vertex to its index, or to a negative
+     *                number if it isn't in the graph.
+     * @param vertexAt Function that maps an index to its vertex.
+     */
+    ShortestPathTree(V source, float[] distances, int[] predecessors, ToIntFunction<V> indexOf,
+                     IntFunction<V> vertexAt) {
+        this.source = source;
+        this.distances = distances;
+        this.predecessors = predecessors;
+        this.indexOf = indexOf;
+        this.vertexAt = vertexAt;
+    }
+
+    public V getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the length of the shortest path from the source to the
+     * specified vertex.
+     *
+     * @param v Target vertex of the path.
+     * @return Length of the path, or +Infinity if there isn't a path.
+     */
+    public float getDistance(V v) {
+        int index = indexOf.applyAsInt(v);
+        return index < 0 ? Float.POSITIVE_INFINITY : distances[index];
+    }
+
+    /**
+     * Returns the shortest path from the source to the specified vertex.
+     *
+     * @param v Target vertex of the path.
+     * @return The shortest path, without vertexes if there isn't a path.
+     */
+    public ShortestPath<V> getPath(V v) {
+        int index = indexOf.applyAsInt(v);
+        int[] path = index < 0 ? null : ShortestPaths.path(indexOf.applyAsInt(source), index, predecessors);
+        if (path == null) {
+            return new ShortestPath<>(source, v, Collections.emptyList(), Float.POSITIVE_INFINITY);
+        }
+        List<V> vertexes = new ArrayList<>(path.length);
+        for (int i : path) vertexes.add(vertexAt.apply(i));
+        return new ShortestPath<>(source, v, vertexes, distances[index]);
+    }
+
+}
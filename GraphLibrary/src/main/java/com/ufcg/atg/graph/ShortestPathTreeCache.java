@@ -0,0 +1,140 @@
+package com.ufcg.atg.graph;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of shortest path trees, keyed by the index of their source vertex.
+ * Each tree is computed by a Dijkstra search that settles all vertexes
+ * reachable from the source, so every later path from the same source is
+ * read from the tree predecessors in time proportional to its length.
+ *
+ * The trees are evicted in least recently used order to keep the memory
+ * they use within a limit. They belong to the current adjacency of the graph,
+ * which clears the cache as soon as it is modified.
+ */
+final class ShortestPathTreeCache {
+
+    private static final int BYTES_PER_VERTEX = Float.BYTES + Integer.BYTES;
+
+    private final long maxBytes;
+
+    private final LinkedHashMap<Integer, Tree> trees;
+
+    private long usedBytes;
+
+    /**
+     * Constructs a {@link ShortestPathTreeCache}.
+     *
+     * @param maxBytes Maximum number of bytes of the cached trees.
+     */
+    ShortestPathTreeCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.trees = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns a cache with the specified memory limit.
+     *
+     * @param maxBytes Memory limit of the cache, in bytes, or zero to disable
+     *                 it.
+     * @throws RuntimeException If the limit is negative.
+     * @return The cache, or {@code null} if it is disabled.
+     */
+    static ShortestPathTreeCache withLimit(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new RuntimeException("The memory limit of the cache can't be negative.");
+        }
+        return maxBytes == 0 ? null : new ShortestPathTreeCache(maxBytes);
+    }
+
+    /**
+     * Returns the shortest path tree of the specified source, computing it if
+     * it isn't cached. The weights of the adjacency can't be negative. It can
+     * be called by concurrent queries: the map of trees is only accessed while
+     * holding the lock of the cache, and a missing tree is computed outside of
+     * it.
+     *
+     * @param adjacency Current adjacency of the graph.
+     * @param source Index of the source of the tree.
+     * @return The shortest path tree.
+     */
+    Tree tree(CompressedAdjacency adjacency, int source) {
+        Tree tree;
+        synchronized (this) {
+            tree = trees.get(source);
+        }
+        if (tree != null) return tree;
+        tree = new Tree(adjacency, source);
+        long treeBytes = (long) BYTES_PER_VERTEX * adjacency.vertexCapacity();
+        if (treeBytes > maxBytes) return tree;
+        synchronized (this) {
+            Tree cached = trees.get(source);
+            if (cached != null) return cached;
+            Iterator<Map.Entry<Integer, Tree>> eldest = trees.entrySet().iterator();
+            while (usedBytes + treeBytes > maxBytes) {
+                eldest.next();
+                eldest.remove();
+                usedBytes -= treeBytes;
+            }
+            trees.put(source, tree);
+            usedBytes += treeBytes;
+        }
+        return tree;
+    }
+
+    /**
+     * Discards all cached trees.
+     */
+    synchronized void clear() {
+        trees.clear();
+        usedBytes = 0;
+    }
+
+    /**
+     * Returns the number of cached trees.
+     */
+    synchronized int size() {
+        return trees.size();
+    }
+
+    /**
+     * Shortest path tree of a source vertex, stored as the distances and
+     * predecessors of all vertexes.
+     */
+    static final class Tree {
+
+        final int source;
+
+        final float[] distances;
+
+        final int[] predecessors;
+
+        /**
+         * Constructs a {@link Tree}, running a Dijkstra search from the
+         * specified source.
+         *
+         * @param adjacency Adjacency of the graph.
+         * @param source Index of the source of the tree.
+         */
+        Tree(CompressedAdjacency adjacency, int source) {
+            this.source = source;
+            this.distances = ShortestPaths.newDistances(adjacency.vertexCapacity());
+            this.predecessors = Traversals.newPredecessors(adjacency.vertexCapacity());
+            ShortestPaths.dijkstra(adjacency, source, -1, distances, predecessors);
+        }
+
+        /**
+         * Returns the shortest path from the source to the specified vertex.
+         *
+         * @param target Index of the path end.
+         * @return The shortest path.
+         */
+        ShortestPaths.PathResult pathTo(int target) {
+            return new ShortestPaths.PathResult(ShortestPaths.path(source, target, predecessors),
+                    distances[target], 0);
+        }
+    }
+
+}
@@ -0,0 +1,461 @@
+package com.ufcg.atg.graph;
+
+import com.ufcg.atg.util.IndexedFloatHeap;
+import com.ufcg.atg.util.IntList;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Contains the shortest path algorithms over a {@link CompressedAdjacency}.
+ *
+ * The state of the searches is stored in two arrays indexed by vertex: the
+ * distance of the vertex to the path start, +Infinity if it wasn't reached,
+ * and its predecessor in the path, -1 if it is the path start or wasn't
+ * reached.
+ */
+final class ShortestPaths {
+
+    static final int NO_PREDECESSOR = -1;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ShortestPaths() {}
+
+    /**
+     * Returns a new array of distances in which no vertex was reached.
+     *
+     * @param vertexCapacity Number of vertex indexes.
+     * @return Array of distances filled with +Infinity.
+     */
+    static float[] newDistances(int vertexCapacity) {
+        float[] distances = new float[vertexCapacity];
+        Arrays.fill(distances, Float.POSITIVE_INFINITY);
+        return distances;
+    }
+
+    /**
+     * Runs the Dijkstra algorithm from {@code source} until {@code target} is
+     * settled, or until every reachable vertex is settled if {@code target}
+     * is negative. The weights of the adjacency can't be negative.
+     *
+     * Only the discovered vertexes enter the heap, and a vertex whose distance
+     * decreases has its key decreased in place, so the search stops as soon as
+     * {@code target} leaves the heap.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @param source Index of the path start.
+     * @param target Index of the path end, or a negative number to settle all
+     *               reachable vertexes.
+     * @param distances Distances to the path start, filled by the search.
+     * @param predecessors Predecessors of the vertexes, filled by the search.
+     * @return Number of settled vertexes.
+     */
+    static int dijkstra(CompressedAdjacency adjacency, int source, int target,
+                        float[] distances, int[] predecessors) {
+        IndexedFloatHeap heap = new IndexedFloatHeap(adjacency.vertexCapacity());
+        int settled = 0;
+        distances[source] = 0f;
+        heap.insertOrDecrease(source, 0f);
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            settled++;
+            if (current == target) break;
+            for (int arc = adjacency.offsets[current]; arc < adjacency.offsets[current + 1]; arc++) {
+                int adjacent = adjacency.targets[arc];
+                if (relax(current, adjacent, adjacency.weight(arc), distances, predecessors)) {
+                    heap.insertOrDecrease(adjacent, distances[adjacent]);
+                }
+            }
+        }
+        return settled;
+    }
+
+    /**
+     * Runs the Dijkstra algorithm from {@code source} until all the marked
+     * targets are settled, or until every reachable vertex is settled if some
+     * of them can't be reached. The weights of the adjacency can't be
+     * negative.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @param source Index of the path start.
+     * @param targets Marks of the vertexes that end paths.
+     * @param targetNumber Number of marked vertexes.
+     * @param distances Distances to the path start, filled by the search.
+     * @param predecessors Predecessors of the vertexes, filled by the search.
+     * @return Number of settled vertexes.
+     */
+    static int dijkstra(CompressedAdjacency adjacency, int source, boolean[] targets, int targetNumber,
+                        float[] distances, int[] predecessors) {
+        IndexedFloatHeap heap = new IndexedFloatHeap(adjacency.vertexCapacity());
+        int settled = 0;
+        distances[source] = 0f;
+        heap.insertOrDecrease(source, 0f);
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            settled++;
+            if (targets[current] && --targetNumber == 0) break;
+            for (int arc = adjacency.offsets[current]; arc < adjacency.offsets[current + 1]; arc++) {
+                int adjacent = adjacency.targets[arc];
+                if (relax(current, adjacent, adjacency.weight(arc), distances, predecessors)) {
+                    heap.insertOrDecrease(adjacent, distances[adjacent]);
+                }
+            }
+        }
+        return settled;
+    }
+
+    /**
+     * Relaxes the arc between vertexes {@code originVertex} and
+     * {@code targetVertex}. Only if the distance between
+     * {@code originVertex} and {@code targetVertex} is lesser than the
+     * distance already leaded to {@code targetVertex}.
+     *
+     * @param originVertex Index of the origin vertex of the arc.
+     * @param targetVertex Index of the target vertex of the arc.
+     * @param weight Weight of the arc.
+     * @param distances Distances to the path start.
+     * @param predecessors Predecessors of the vertexes in the path.
+     * @return {@code true} if the distance of {@code targetVertex} decreased,
+     * {@code false} otherwise.
+     */
+    static boolean relax(int originVertex, int targetVertex, float weight, float[] distances,
+                         int[] predecessors) {
+        float distance = distances[originVertex] + weight;
+        if (distance < distances[targetVertex]) {
+            distances[targetVertex] = distance;
+            predecessors[targetVertex] = originVertex;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reusable state of the point-to-point searches of a thread over an
+     * adjacency. The arrays of each side of the search, and the estimates of
+     * A*, are allocated when first needed and, after each search, reset only
+     * in the positions of the vertexes it reached, so a search costs the
+     * vertexes it discovers instead of the size of the graph.
+     */
+    static final class Search {
+
+        private static final int FORWARD = 0;
+
+        private static final int BACKWARD = 1;
+
+        private final CompressedAdjacency adjacency;
+
+        private final float[][] distances = new float[2][];
+
+        private final int[][] predecessors = new int[2][];
+
+        private final IndexedFloatHeap[] heaps = new IndexedFloatHeap[2];
+
+        private float[] estimates;
+
+        private final IntList touched = new IntList();
+
+        /**
+         * Constructs a {@link Search}.
+         *
+         * @param adjacency Adjacency of the graph, without negative weights.
+         */
+        Search(CompressedAdjacency adjacency) {
+            this.adjacency = adjacency;
+        }
+
+        /**
+         * Returns if the search is over the specified adjacency.
+         *
+         * @param adjacency Adjacency to be checked.
+         * @return {@code true} if it is, {@code false} otherwise.
+         */
+        boolean isOver(CompressedAdjacency adjacency) {
+            return this.adjacency == adjacency;
+        }
+
+        /**
+         * Finds the shortest path from {@code source} to {@code target} with
+         * the specified algorithm.
+         *
+         * @param source Index of the path start.
+         * @param target Index of the path end.
+         * @param algorithm Algorithm to be used in the search.
+         * @return The shortest path found.
+         */
+        PathResult pointToPoint(int source, int target, ShortestPathAlgorithm algorithm) {
+            if (algorithm == ShortestPathAlgorithm.BIDIRECTIONAL_DIJKSTRA) {
+                return bidirectionalDijkstra(source, target);
+            }
+            return dijkstra(source, target);
+        }
+
+        /**
+         * Runs the Dijkstra algorithm from {@code source} until
+         * {@code target} is settled.
+         */
+        private PathResult dijkstra(int source, int target) {
+            prepare(FORWARD);
+            IndexedFloatHeap heap = heaps[FORWARD];
+            int settled = 0;
+            reach(FORWARD, source);
+            heap.insertOrDecrease(source, 0f);
+            while (!heap.isEmpty()) {
+                int current = heap.poll();
+                settled++;
+                if (current == target) break;
+                for (int arc = adjacency.offsets[current]; arc < adjacency.offsets[current + 1]; arc++) {
+                    int adjacent = adjacency.targets[arc];
+                    if (relax(FORWARD, current, adjacent, adjacency.weight(arc))) {
+                        heap.insertOrDecrease(adjacent, distances[FORWARD][adjacent]);
+                    }
+                }
+            }
+            return forwardResult(source, target, settled);
+        }
+
+        /**
+         * Runs the Dijkstra algorithm from {@code source} and from
+         * {@code target} at the same time, always advancing the search whose
+         * next vertex is the closest to its origin. Whenever an arc connects
+         * the two searches, the path through it is a candidate; the search
+         * stops when no path shorter than the best candidate can be found.
+         */
+        private PathResult bidirectionalDijkstra(int source, int target) {
+            if (source == target) return new PathResult(new int[]{source}, 0f, 0);
+            prepare(FORWARD);
+            prepare(BACKWARD);
+            reach(FORWARD, source);
+            reach(BACKWARD, target);
+            heaps[FORWARD].insertOrDecrease(source, 0f);
+            heaps[BACKWARD].insertOrDecrease(target, 0f);
+
+            float bestDistance = Float.POSITIVE_INFINITY;
+            int[] meetingArc = {NO_PREDECESSOR, NO_PREDECESSOR};
+            int settled = 0;
+            while (!heaps[FORWARD].isEmpty() && !heaps[BACKWARD].isEmpty()
+                    && heaps[FORWARD].peekKey() + heaps[BACKWARD].peekKey() < bestDistance) {
+                int side = heaps[FORWARD].peekKey() <= heaps[BACKWARD].peekKey() ? FORWARD : BACKWARD;
+                float[] sideDistances = distances[side], otherDistances = distances[1 - side];
+                int current = heaps[side].poll();
+                settled++;
+                for (int arc = adjacency.offsets[current]; arc < adjacency.offsets[current + 1]; arc++) {
+                    int adjacent = adjacency.targets[arc];
+                    float weight = adjacency.weight(arc);
+                    if (relax(side, current, adjacent, weight)) {
+                        heaps[side].insertOrDecrease(adjacent, sideDistances[adjacent]);
+                    }
+                    float distance = sideDistances[current] + weight + otherDistances[adjacent];
+                    if (distance < bestDistance) {
+                        bestDistance = distance;
+                        meetingArc[side] = current;
+                        meetingArc[1 - side] = adjacent;
+                    }
+                }
+            }
+            int[] path = meetingArc[FORWARD] == NO_PREDECESSOR ? null : joinedPath(meetingArc);
+            reset();
+            return new PathResult(path, bestDistance, settled);
+        }
+
+        /**
+         * Returns the path of the bidirectional search through the specified
+         * arc, from the path start to its origin and from its target to the
+         * path end.
+         */
+        private int[] joinedPath(int[] meetingArc) {
+            int[] forward = predecessors[FORWARD], backward = predecessors[BACKWARD];
+            int forwardLength = 0, backwardLength = 0;
+            for (int v = meetingArc[FORWARD]; v != NO_PREDECESSOR; v = forward[v]) forwardLength++;
+            for (int v = meetingArc[BACKWARD]; v != NO_PREDECESSOR; v = backward[v]) backwardLength++;
+            int[] path = new int[forwardLength + backwardLength];
+            for (int i = forwardLength - 1, v = meetingArc[FORWARD]; i >= 0; i--, v = forward[v]) {
+                path[i] = v;
+            }
+            for (int i = forwardLength, v = meetingArc[BACKWARD]; i < path.length; i++, v = backward[v]) {
+                path[i] = v;
+            }
+            return path;
+        }
+
+        /**
+         * Runs the A* algorithm from {@code source} until {@code target} is
+         * settled. It is the Dijkstra algorithm with the vertexes ordered by
+         * their distance to {@code source} plus the estimated distance to
+         * {@code target}. If the estimate is admissible, the path found is the
+         * shortest one; a vertex whose distance decreases after being settled
+         * is settled again.
+         *
+         * @param source Index of the path start.
+         * @param target Index of the path end.
+         * @param heuristic Estimated distance from each vertex to {@code target}.
+         * @return The shortest path found.
+         */
+        PathResult aStar(int source, int target, IntToDoubleFunction heuristic) {
+            prepare(FORWARD);
+            if (estimates == null) {
+                estimates = new float[adjacency.vertexCapacity()];
+                Arrays.fill(estimates, Float.NaN);
+            }
+            IndexedFloatHeap heap = heaps[FORWARD];
+            int settled = 0;
+            reach(FORWARD, source);
+            heap.insertOrDecrease(source, 0f);
+            while (!heap.isEmpty()) {
+                int current = heap.poll();
+                settled++;
+                if (current == target) break;
+                for (int arc = adjacency.offsets[current]; arc < adjacency.offsets[current + 1]; arc++) {
+                    int adjacent = adjacency.targets[arc];
+                    if (relax(FORWARD, current, adjacent, adjacency.weight(arc))) {
+                        if (Float.isNaN(estimates[adjacent])) {
+                            estimates[adjacent] = (float) heuristic.applyAsDouble(adjacent);
+                        }
+                        heap.insertOrDecrease(adjacent, distances[FORWARD][adjacent] + estimates[adjacent]);
+                    }
+                }
+            }
+            return forwardResult(source, target, settled);
+        }
+
+        /**
+         * Allocates the arrays and the heap of the specified side of the
+         * search, if it wasn't used yet.
+         */
+        private void prepare(int side) {
+            if (distances[side] != null) return;
+            int vertexCapacity = adjacency.vertexCapacity();
+            distances[side] = newDistances(vertexCapacity);
+            predecessors[side] = Traversals.newPredecessors(vertexCapacity);
+            heaps[side] = new IndexedFloatHeap(vertexCapacity);
+        }
+
+        /**
+         * Places the origin of the specified side of the search.
+         */
+        private void reach(int side, int origin) {
+            distances[side][origin] = 0f;
+            touched.add(origin);
+        }
+
+        /**
+         * Relaxes an arc of the specified side of the search, recording its
+         * target the first time it is reached.
+         */
+        private boolean relax(int side, int originVertex, int targetVertex, float weight) {
+            boolean reached = distances[side][targetVertex] != Float.POSITIVE_INFINITY;
+            if (!ShortestPaths.relax(originVertex, targetVertex, weight, distances[side], predecessors[side])) {
+                return false;
+            }
+            if (!reached) touched.add(targetVertex);
+            return true;
+        }
+
+        /**
+         * Returns the result of a search of the forward side and resets it.
+         */
+        private PathResult forwardResult(int source, int target, int settled) {
+            PathResult result = new PathResult(path(source, target, predecessors[FORWARD]),
+                    distances[FORWARD][target], settled);
+            reset();
+            return result;
+        }
+
+        /**
+         * Resets the positions of the vertexes reached by the last search.
+         */
+        private void reset() {
+            for (int i = 0; i < touched.size(); i++) {
+                int v = touched.get(i);
+                for (int side = FORWARD; side <= BACKWARD; side++) {
+                    if (distances[side] == null) continue;
+                    distances[side][v] = Float.POSITIVE_INFINITY;
+                    predecessors[side][v] = NO_PREDECESSOR;
+                }
+                if (estimates != null) estimates[v] = Float.NaN;
+            }
+            touched.clear();
+            for (IndexedFloatHeap heap : heaps) {
+                if (heap != null) heap.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the path from {@code pathStart} to {@code pathEnd} following the
+     * specified predecessors, or {@code null} if {@code pathEnd} can't be
+     * reached from {@code pathStart}.
+     *
+     * @param pathStart Index of the vertex that starts the path.
+     * @param pathEnd Index of the vertex that ends the path.
+     * @param predecessors Predecessors of the vertexes in the path.
+     * @return Indexes of the vertexes of the path, in order, or {@code null}.
+     */
+    static int[] path(int pathStart, int pathEnd, int[] predecessors) {
+        int length = 1, current = pathEnd;
+        while (current != pathStart && predecessors[current] != NO_PREDECESSOR) {
+            current = predecessors[current];
+            length++;
+        }
+        if (current != pathStart) return null;
+        int[] path = new int[length];
+        for (int i = length - 1, v = pathEnd; i >= 0; i--, v = predecessors[v]) {
+            path[i] = v;
+        }
+        return path;
+    }
+
+    /**
+     * Sets up the shortest path between {@code pathStart} and {@code pathEnd}
+     * string representation.
+     *
+     * @param pathStart Index of the vertex that starts the path.
+     * @param pathEnd Index of the vertex that ends the path.
+     * @param path Indexes of the vertexes of the path, or {@code null} if there
+     *             isn't a path.
+     * @param vertexAt Function that maps an index to its vertex.
+     * @throws RuntimeException If there isn't a path between the vertexes.
+     * @return Shortest path string representation.
+     */
+    static String pathString(int pathStart, int pathEnd, int[] path, IntFunction<?> vertexAt) {
+        if (path == null) {
+            throw new RuntimeException("There isn't a path between " + vertexAt.apply(pathStart)
+                    + " and " + vertexAt.apply(pathEnd));
+        }
+        StringBuilder shortestPath = new StringBuilder();
+        for (int i = 0; i < path.length; i++) {
+            if (i > 0) shortestPath.append(" ");
+            shortestPath.append(vertexAt.apply(path[i]));
+        }
+        return shortestPath.toString();
+    }
+
+    /**
+     * Result of a search for the shortest path between two vertexes.
+     */
+    static final class PathResult {
+
+        final int[] path;
+
+        final float distance;
+
+        final int settledVertexes;
+
+        /**
+         * Constructs a {@link PathResult}.
+         *
+         * @param path Indexes of the vertexes of the path, or {@code null} if
+         *             there isn't a path.
+         * @param distance Length of the path.
+         * @param settledVertexes Number of vertexes settled by the search.
+         */
+        PathResult(int[] path, float distance, int settledVertexes) {
+            this.path = path;
+            this.distance = distance;
+            this.settledVertexes = settledVertexes;
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.ufcg.atg.graph;
+
+import java.util.Arrays;
+
+/**
+ * {@link AdjacencyStorage} that keeps the arcs of each vertex in a sorted
+ * {@code long[]}, each one packed by {@link CompressedAdjacency#packArc} with
+ * its target index and weight. An arc is inserted in its place, shifting the
+ * greater ones, and found by binary search, so the storage is always ready to
+ * be queried and takes eight bytes per arc, with no object per edge.
+ *
+ * @param <V> Type of the vertex.
+ * @param <E> Type of the edge.
+ */
+final class SortedArrayStorage<V extends Comparable<V>, E extends Edge<V>> extends InternedStorage<V, E> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final long[] EMPTY_ROW = new long[0];
+
+    private long[][] rows = new long[INITIAL_CAPACITY][];
+
+    private int[] degrees = new int[INITIAL_CAPACITY];
+
+    private int arcNumber;
+
+    /**
+     * Constructs a {@link SortedArrayStorage}.
+     *
+     * @param edgeModel Model of the edges to be stored.
+     */
+    SortedArrayStorage(EdgeModel<V, E> edgeModel) {
+        super(edgeModel);
+    }
+
+    @Override
+    void addRow() {
+        int index = vertexNumber() - 1;
+        if (index == rows.length) {
+            rows = Arrays.copyOf(rows, index * 2);
+            degrees = Arrays.copyOf(degrees, index * 2);
+        }
+        rows[index] = EMPTY_ROW;
+    }
+
+    @Override
+    void addArcs(int origin, int target, float weight) {
+        insert(origin, CompressedAdjacency.packArc(target, weight));
+        if (origin != target) insert(target, CompressedAdjacency.packArc(origin, weight));
+    }
+
+    /**
+     * Inserts the packed arc in the row of the vertex, if it isn't there.
+     */
+    private void insert(int v, long arc) {
+        int degree = degrees[v];
+        int position = Arrays.binarySearch(rows[v], 0, degree, arc);
+        if (position >= 0) return;
+        position = -position - 1;
+        if (degree == rows[v].length) rows[v] = Arrays.copyOf(rows[v], Math.max(2, degree * 2));
+        System.arraycopy(rows[v], position, rows[v], position + 1, degree - position);
+        rows[v][position] = arc;
+        degrees[v]++;
+        arcNumber++;
+    }
+
+    @Override
+    public int arcNumber() {
+        return arcNumber;
+    }
+
+    @Override
+    int degree(int v) {
+        return degrees[v];
+    }
+
+    @Override
+    int firstArc(int v) {
+        return degrees[v] > 0 ? 0 : NO_ARC;
+    }
+
+    @Override
+    int nextArc(int v, int arc) {
+        return arc + 1 < degrees[v] ? arc + 1 : NO_ARC;
+    }
+
+    @Override
+    int target(int v, int arc) {
+        return CompressedAdjacency.unpackTarget(rows[v][arc]);
+    }
+
+    @Override
+    float weight(int v, int arc) {
+        return CompressedAdjacency.unpackWeight(rows[v][arc]);
+    }
+
+    /**
+     * Finds the first arc to the target by binary search, then checks the
+     * arcs to the target, one per weight.
+     */
+    @Override
+    boolean containsArc(int origin, int target, Edge<?> e) {
+        long[] row = rows[origin];
+        int degree = degrees[origin];
+        int arc = Arrays.binarySearch(row, 0, degree, (long) target << 32);
+        if (arc < 0) arc = -arc - 1;
+        for (; arc < degree && CompressedAdjacency.unpackTarget(row[arc]) == target; arc++) {
+            if (edgeModel.matchesArc(e, CompressedAdjacency.unpackWeight(row[arc]))) return true;
+        }
+        return false;
+    }
+
+    @Override
+    CompressedAdjacency adjacency() {
+        int vertexNumber = vertexNumber();
+        int[] offsets = new int[vertexNumber + 1];
+        for (int v = 0; v < vertexNumber; v++) {
+            offsets[v + 1] = offsets[v] + degrees[v];
+        }
+        int[] targets = new int[offsets[vertexNumber]];
+        float[] weights = edgeModel.isWeighted() ? new float[targets.length] : null;
+        for (int v = 0; v < vertexNumber; v++) {
+            for (int i = 0; i < degrees[v]; i++) {
+                targets[offsets[v] + i] = CompressedAdjacency.unpackTarget(rows[v][i]);
+                if (weights != null) weights[offsets[v] + i] = CompressedAdjacency.unpackWeight(rows[v][i]);
+            }
+        }
+        return new CompressedAdjacency(offsets, targets, weights);
+    }
+
+}
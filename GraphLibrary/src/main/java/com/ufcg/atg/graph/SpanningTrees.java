@@ -0,0 +1,245 @@
+package com.ufcg.atg.graph;
+
+import com.ufcg.atg.util.IndexedLongHeap;
+import com.ufcg.atg.util.IntUnionFind;
+import com.ufcg.atg.util.Utils;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Contains the minimum spanning tree algorithms over a
+ * {@link CompressedAdjacency}.
+ *
+ * The trees are returned as arrays with the indexes of their arcs, in the
+ * order in which they were chosen. As each undirected edge is stored as two
+ * arcs, only the arc whose origin has the lesser index is considered.
+ */
+final class SpanningTrees {
+
+    private static final int NO_ARC = -1;
+
+    private static final int PRIM_DENSITY_FACTOR = 4;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private SpanningTrees() {}
+
+    /**
+     * Finds the minimum spanning forest with the specified algorithm.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @param algorithm Algorithm to be used.
+     * @param pool Pool that runs {@link MSTAlgorithm#BORUVKA} and
+     *             {@link MSTAlgorithm#FILTER_KRUSKAL}.
+     * @return Indexes of the arcs of the forest, in the order of
+     * {@link #kruskal(CompressedAdjacency)}.
+     */
+    static int[] minimumSpanningForest(CompressedAdjacency adjacency, MSTAlgorithm algorithm,
+                                       ForkJoinPool pool) {
+        switch (algorithm) {
+            case PRIM:
+                return prim(adjacency);
+            case BORUVKA:
+                return ParallelBoruvka.forest(adjacency, pool);
+            case FILTER_KRUSKAL:
+                return FilterKruskal.forest(adjacency, pool);
+            default:
+                return kruskal(adjacency);
+        }
+    }
+
+    /**
+     * Returns the algorithm expected to be the fastest for the specified
+     * adjacency: Prim's if the graph is dense enough that sorting its edges
+     * costs more than the heap operations over its vertexes, otherwise
+     * Filter-Kruskal if the edges have weights to be sorted, and Kruskal's if
+     * they don't, as their order is already known.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @return The algorithm to be used.
+     */
+    static MSTAlgorithm chooseAlgorithm(CompressedAdjacency adjacency) {
+        double log = Math.max(1, 32 - Integer.numberOfLeadingZeros(adjacency.vertexCapacity()));
+        if (adjacency.arcCount() / 2 > PRIM_DENSITY_FACTOR * adjacency.vertexCapacity() * log) {
+            return MSTAlgorithm.PRIM;
+        }
+        return adjacency.isWeighted() ? MSTAlgorithm.FILTER_KRUSKAL : MSTAlgorithm.KRUSKAL;
+    }
+
+    /**
+     * Finds the minimum spanning forest with the Kruskal algorithm. The edges
+     * are processed by weight and, for equal weights, by origin and target
+     * indexes, the same order of {@link Edge#compareTo(Edge)} and
+     * {@link WeightedEdge#compareTo(Edge)}.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @return Indexes of the arcs of the forest.
+     */
+    static int[] kruskal(CompressedAdjacency adjacency) {
+        int[] origins = new int[adjacency.arcCount() / 2];
+        int[] candidates = forwardArcs(adjacency, origins);
+        if (adjacency.isWeighted()) sortByWeight(adjacency, candidates, origins);
+
+        IntUnionFind forest = new IntUnionFind(adjacency.vertexCapacity());
+        int[] tree = new int[Math.max(0, adjacency.vertexCapacity() - 1)];
+        int size = 0;
+        for (int i = 0; i < candidates.length && size < tree.length; i++) {
+            if (forest.union(origins[i], adjacency.targets[candidates[i]])) {
+                tree[size++] = candidates[i];
+            }
+        }
+        return Arrays.copyOf(tree, size);
+    }
+
+    /**
+     * Finds the minimum spanning forest with the Prim algorithm, growing a
+     * tree from each vertex not yet reached. Each vertex out of the tree is
+     * kept in an {@link IndexedLongHeap} by its lightest edge to the tree,
+     * with the index of the forward arc of the edge as tie-breaker, so the
+     * edges are compared in the same order of
+     * {@link #kruskal(CompressedAdjacency)} and the same forest is found.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @return Indexes of the arcs of the forest, in the order of
+     * {@link #kruskal(CompressedAdjacency)}.
+     */
+    static int[] prim(CompressedAdjacency adjacency) {
+        int vertexCapacity = adjacency.vertexCapacity();
+        int[] offsets = adjacency.offsets, targets = adjacency.targets;
+        int[] forwardArcs = forwardArcIndexes(adjacency);
+        IndexedLongHeap heap = new IndexedLongHeap(vertexCapacity);
+        boolean[] inTree = new boolean[vertexCapacity];
+        int[] lightestArcs = new int[vertexCapacity];
+        long[] tree = new long[Math.max(0, vertexCapacity - 1)];
+        int size = 0;
+        for (int root = 0; root < vertexCapacity; root++) {
+            if (inTree[root]) continue;
+            heap.insertOrDecrease(root, Long.MIN_VALUE);
+            lightestArcs[root] = NO_ARC;
+            while (!heap.isEmpty()) {
+                long key = heap.peekKey();
+                int v = heap.poll();
+                inTree[v] = true;
+                if (lightestArcs[v] != NO_ARC) tree[size++] = key;
+                for (int arc = offsets[v]; arc < offsets[v + 1]; arc++) {
+                    int target = targets[arc];
+                    if (inTree[target]) continue;
+                    if (heap.insertOrDecrease(target, edgeKey(adjacency, forwardArcs[arc]))) {
+                        lightestArcs[target] = forwardArcs[arc];
+                    }
+                }
+            }
+        }
+        Arrays.sort(tree, 0, size);
+        int[] arcs = new int[size];
+        for (int i = 0; i < size; i++) {
+            arcs[i] = (int) tree[i];
+        }
+        return arcs;
+    }
+
+    /**
+     * Returns the key that orders the edges as
+     * {@link #kruskal(CompressedAdjacency)} does: the weight in the high bits
+     * and the index of the forward arc in the low bits.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @param forwardArc Index of the arc of the edge whose origin has the
+     *                   lesser index.
+     * @return The key of the edge.
+     */
+    static long edgeKey(CompressedAdjacency adjacency, int forwardArc) {
+        int weight = adjacency.isWeighted() ? Utils.floatToSortableInt(adjacency.weights[forwardArc]) : 0;
+        return (long) weight << 32 | forwardArc;
+    }
+
+    /**
+     * Returns, for each arc, the index of the arc of the same edge whose
+     * origin has the lesser index. The rows are sorted by target and weight,
+     * so the arcs from {@code v} to {@code t} match the arcs from {@code t}
+     * to {@code v} in order, and a cursor per row finds all of them in a
+     * single pass.
+     */
+    private static int[] forwardArcIndexes(CompressedAdjacency adjacency) {
+        int[] offsets = adjacency.offsets, targets = adjacency.targets;
+        int[] forwardArcs = new int[adjacency.arcCount()];
+        int[] cursors = Arrays.copyOf(offsets, adjacency.vertexCapacity());
+        for (int v = 0; v < adjacency.vertexCapacity(); v++) {
+            for (int arc = offsets[v]; arc < offsets[v + 1]; arc++) {
+                int target = targets[arc];
+                if (target >= v) {
+                    forwardArcs[arc] = arc;
+                    continue;
+                }
+                while (targets[cursors[target]] < v) cursors[target]++;
+                forwardArcs[arc] = cursors[target]++;
+            }
+        }
+        return forwardArcs;
+    }
+
+    /**
+     * Returns the arcs whose origin index is lesser than the target index,
+     * ordered by origin and target, which are half of the arcs.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @param origins Array filled with the origin of each returned arc, with
+     *                room for half of the arcs.
+     * @return The arcs.
+     */
+    static int[] forwardArcs(CompressedAdjacency adjacency, int[] origins) {
+        int[] arcs = new int[origins.length];
+        int size = 0;
+        for (int v = 0; v < adjacency.vertexCapacity(); v++) {
+            for (int arc = adjacency.offsets[v]; arc < adjacency.offsets[v + 1]; arc++) {
+                if (adjacency.targets[arc] > v) {
+                    origins[size] = v;
+                    arcs[size++] = arc;
+                }
+            }
+        }
+        return Arrays.copyOf(arcs, size);
+    }
+
+    /**
+     * Sorts the arcs and their origins by weight, keeping the current order
+     * for equal weights.
+     */
+    private static void sortByWeight(CompressedAdjacency adjacency, int[] arcs, int[] origins) {
+        long[] keys = new long[arcs.length];
+        for (int i = 0; i < arcs.length; i++) {
+            keys[i] = ((long) Utils.floatToSortableInt(adjacency.weights[arcs[i]]) << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] ordered = new int[arcs.length], orderedOrigins = new int[arcs.length];
+        for (int i = 0; i < keys.length; i++) {
+            ordered[i] = arcs[(int) keys[i]];
+            orderedOrigins[i] = origins[(int) keys[i]];
+        }
+        System.arraycopy(ordered, 0, arcs, 0, arcs.length);
+        System.arraycopy(orderedOrigins, 0, origins, 0, arcs.length);
+    }
+
+    /**
+     * Returns the origin vertex of the specified arc.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @param arc Index of the arc.
+     * @return Index of the origin vertex of the arc.
+     */
+    static int origin(CompressedAdjacency adjacency, int arc) {
+        int low = 0, high = adjacency.vertexCapacity() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (adjacency.offsets[middle] <= arc) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.ufcg.atg.graph;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import static com.ufcg.atg.util.Utils.LINE_SEPARATOR;
+
+/**
+ * Builds the textual results of the graph, line by line, either in memory or
+ * directly to a {@link Writer}. When writing to a {@link Writer}, the lines
+ * are kept in a buffer of bounded size, which is written each time it fills,
+ * so a result of any size is written without building it as a whole.
+ */
+final class TextWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Writer writer;
+
+    private final StringBuilder buffer;
+
+    private char[] chunk;
+
+    /**
+     * Constructs a {@link TextWriter} that keeps the whole text in memory, to
+     * be returned by {@link #toString()}.
+     */
+    TextWriter() {
+        this.writer = null;
+        this.buffer = new StringBuilder();
+    }
+
+    /**
+     * Constructs a {@link TextWriter} that writes the text to the specified
+     * writer.
+     *
+     * @param writer Writer to receive the text.
+     */
+    TextWriter(Writer writer) {
+        this.writer = writer;
+        this.buffer = new StringBuilder(BUFFER_SIZE);
+        this.chunk = new char[BUFFER_SIZE];
+    }
+
+    /**
+     * Appends the string representation of the specified object to the
+     * current line.
+     *
+     * @param o Object to be appended.
+     * @return This {@link TextWriter}.
+     */
+    TextWriter append(Object o) {
+        buffer.append(o);
+        return this;
+    }
+
+    /**
+     * Appends the specified string to the current line.
+     *
+     * @param s String to be appended.
+     * @return This {@link TextWriter}.
+     */
+    TextWriter append(String s) {
+        buffer.append(s);
+        return this;
+    }
+
+    /**
+     * Appends the decimal representation of the specified integer to the
+     * current line.
+     *
+     * @param i Integer to be appended.
+     * @return This {@link TextWriter}.
+     */
+    TextWriter append(int i) {
+        buffer.append(i);
+        return this;
+    }
+
+    /**
+     * Ends the current line, writing the buffered lines if they fill the
+     * buffer.
+     */
+    void endLine() {
+        buffer.append(LINE_SEPARATOR);
+        if (writer != null && buffer.length() >= BUFFER_SIZE) drain();
+    }
+
+    /**
+     * Writes the buffered text and flushes the writer, if there is one.
+     *
+     * @throws RuntimeException If there is an error writing the text.
+     */
+    void finish() {
+        if (writer == null) return;
+        drain();
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void drain() {
+        int length = buffer.length();
+        if (chunk.length < length) chunk = new char[length];
+        buffer.getChars(0, length, chunk, 0);
+        buffer.setLength(0);
+        try {
+            writer.write(chunk, 0, length);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns the text built in memory.
+     */
+    @Override
+    public String toString() {
+        return buffer.toString();
+    }
+
+}
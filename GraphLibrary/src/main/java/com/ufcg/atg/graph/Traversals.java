@@ -0,0 +1,296 @@
+package com.ufcg.atg.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+
+/**
+ * Contains the 'walk by graph' algorithms, Breadth-first Search (BFS) and
+ * Depth-first Search (DFS), over a {@link CompressedAdjacency}.
+ *
+ * The state of the walks is stored in two arrays indexed by vertex: the level
+ * of the vertex in the walk tree, -1 if it wasn't visited, and its
+ * predecessor, -1 if it is the root or wasn't visited.
+ */
+final class Traversals {
+
+    static final int NOT_VISITED = -1;
+
+    static final int NO_PREDECESSOR = -1;
+
+    private static final int TOP_DOWN_FACTOR = 14;
+
+    private static final int BOTTOM_UP_FACTOR = 24;
+
+    private static final int INITIAL_STACK_CAPACITY = 64;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private Traversals() {}
+
+    /**
+     * Returns a new array of levels in which no vertex was visited.
+     *
+     * @param vertexCapacity Number of vertex indexes.
+     * @return Array of levels filled with {@link #NOT_VISITED}.
+     */
+    static int[] newLevels(int vertexCapacity) {
+        int[] levels = new int[vertexCapacity];
+        Arrays.fill(levels, NOT_VISITED);
+        return levels;
+    }
+
+    /**
+     * Returns a new array of predecessors in which no vertex has predecessor.
+     *
+     * @param vertexCapacity Number of vertex indexes.
+     * @return Array of predecessors filled with {@link #NO_PREDECESSOR}.
+     */
+    static int[] newPredecessors(int vertexCapacity) {
+        int[] predecessors = new int[vertexCapacity];
+        Arrays.fill(predecessors, NO_PREDECESSOR);
+        return predecessors;
+    }
+
+    /**
+     * Walks by the graph in BFS starting from {@code root}.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @param root Index of the root vertex.
+     * @param levels Levels of the vertexes, filled by the walk.
+     * @param predecessors Predecessors of the vertexes, filled by the walk.
+     * @return Number of visited vertexes.
+     */
+    static int breadthFirst(CompressedAdjacency adjacency, int root, int[] levels, int[] predecessors) {
+        int[] queue = new int[adjacency.vertexCapacity()];
+        int head = 0, tail = 0;
+        levels[root] = 0;
+        queue[tail++] = root;
+        while (head < tail) {
+            int current = queue[head++];
+            for (int arc = adjacency.offsets[current]; arc < adjacency.offsets[current + 1]; arc++) {
+                int adjacent = adjacency.targets[arc];
+                if (levels[adjacent] == NOT_VISITED) {
+                    levels[adjacent] = levels[current] + 1;
+                    predecessors[adjacent] = current;
+                    queue[tail++] = adjacent;
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Walks by the graph in BFS starting from {@code root}, with the specified
+     * algorithm.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @param root Index of the root vertex.
+     * @param algorithm Algorithm to be used.
+     * @param levels Levels of the vertexes, filled by the walk.
+     * @param predecessors Predecessors of the vertexes, filled by the walk.
+     * @return Number of visited vertexes.
+     */
+    static int breadthFirst(CompressedAdjacency adjacency, int root, BFSAlgorithm algorithm,
+                            int[] levels, int[] predecessors) {
+        switch (algorithm) {
+            case DIRECTION_OPTIMIZING:
+                return directionOptimizingBreadthFirst(adjacency, root, levels, predecessors);
+            case PARALLEL:
+                return ParallelBreadthFirst.run(adjacency, root, ForkJoinPool.commonPool(), levels,
+                        predecessors);
+            default:
+                return breadthFirst(adjacency, root, levels, predecessors);
+        }
+    }
+
+    /**
+     * Walks by the graph in BFS starting from {@code root}, switching between
+     * top-down and bottom-up steps. A top-down step scans the arcs of the
+     * frontier for unvisited vertexes; a bottom-up step scans the arcs of the
+     * unvisited vertexes for one in the frontier, stopping at the first one.
+     * The bottom-up step is used while the arcs of the frontier are more than
+     * a {@link #TOP_DOWN_FACTOR}th of the arcs of the unvisited vertexes, and
+     * left when the frontier shrinks below a {@link #BOTTOM_UP_FACTOR}th of
+     * the vertexes. The frontiers and the visited vertexes of the bottom-up
+     * steps are bitsets.
+     *
+     * The levels are the same of {@link #breadthFirst(CompressedAdjacency,
+     * int, int[], int[])}, but a vertex with many neighbors in the previous
+     * level may have a different one of them as predecessor. The adjacency
+     * must be symmetric, as the arcs are followed backwards in the bottom-up
+     * steps.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @param root Index of the root vertex.
+     * @param levels Levels of the vertexes, filled by the walk.
+     * @param predecessors Predecessors of the vertexes, filled by the walk.
+     * @return Number of visited vertexes.
+     */
+    static int directionOptimizingBreadthFirst(CompressedAdjacency adjacency, int root, int[] levels,
+                                               int[] predecessors) {
+        int vertexCapacity = adjacency.vertexCapacity();
+        long[] visited = new long[(vertexCapacity + 63) >>> 6];
+        long[] frontierBits = new long[visited.length], nextBits = new long[visited.length];
+        int[] frontier = new int[vertexCapacity], next = new int[vertexCapacity];
+        levels[root] = 0;
+        visited[root >>> 6] |= 1L << root;
+        frontier[0] = root;
+        int frontierSize = 1, visitedNumber = 1, level = 0;
+        long frontierArcs = adjacency.degree(root);
+        long unvisitedArcs = adjacency.arcCount() - frontierArcs;
+        boolean bottomUp = false;
+        while (frontierSize > 0) {
+            if (!bottomUp && frontierArcs > unvisitedArcs / TOP_DOWN_FACTOR) {
+                bottomUp = true;
+                Arrays.fill(frontierBits, 0L);
+                for (int i = 0; i < frontierSize; i++) {
+                    frontierBits[frontier[i] >>> 6] |= 1L << frontier[i];
+                }
+            }
+            int nextSize = 0;
+            long nextArcs = 0;
+            if (bottomUp) {
+                Arrays.fill(nextBits, 0L);
+                for (int word = 0; word < visited.length; word++) {
+                    long unvisited = ~visited[word];
+                    while (unvisited != 0L) {
+                        int v = word << 6 | Long.numberOfTrailingZeros(unvisited);
+                        unvisited &= unvisited - 1;
+                        if (v >= vertexCapacity) break;
+                        for (int arc = adjacency.offsets[v]; arc < adjacency.offsets[v + 1]; arc++) {
+                            int adjacent = adjacency.targets[arc];
+                            if ((frontierBits[adjacent >>> 6] & 1L << adjacent) != 0L) {
+                                levels[v] = level + 1;
+                                predecessors[v] = adjacent;
+                                nextBits[word] |= 1L << v;
+                                nextSize++;
+                                nextArcs += adjacency.degree(v);
+                                break;
+                            }
+                        }
+                    }
+                }
+                for (int word = 0; word < visited.length; word++) {
+                    visited[word] |= nextBits[word];
+                }
+                long[] swap = frontierBits;
+                frontierBits = nextBits;
+                nextBits = swap;
+                if (nextSize < frontierSize && nextSize < vertexCapacity / BOTTOM_UP_FACTOR) {
+                    bottomUp = false;
+                    int size = 0;
+                    for (int word = 0; word < frontierBits.length; word++) {
+                        for (long bits = frontierBits[word]; bits != 0L; bits &= bits - 1) {
+                            frontier[size++] = word << 6 | Long.numberOfTrailingZeros(bits);
+                        }
+                    }
+                }
+            } else {
+                for (int i = 0; i < frontierSize; i++) {
+                    int current = frontier[i];
+                    for (int arc = adjacency.offsets[current]; arc < adjacency.offsets[current + 1]; arc++) {
+                        int adjacent = adjacency.targets[arc];
+                        if (levels[adjacent] == NOT_VISITED) {
+                            levels[adjacent] = level + 1;
+                            predecessors[adjacent] = current;
+                            visited[adjacent >>> 6] |= 1L << adjacent;
+                            next[nextSize++] = adjacent;
+                            nextArcs += adjacency.degree(adjacent);
+                        }
+                    }
+                }
+                int[] swap = frontier;
+                frontier = next;
+                next = swap;
+            }
+            frontierSize = nextSize;
+            frontierArcs = nextArcs;
+            unvisitedArcs -= nextArcs;
+            visitedNumber += nextSize;
+            level++;
+        }
+        return visitedNumber;
+    }
+
+    /**
+     * Walks by the graph in DFS starting from {@code root}. The adjacent
+     * vertexes are explored in the order of the adjacency rows, the same order
+     * of a recursive implementation, but the pending vertexes are kept in an
+     * explicit stack of (vertex, next arc) pairs, stored side by side in an
+     * array that grows with the depth of the walk, so deep graphs don't
+     * overflow the call stack.
+     *
+     * @param adjacency Adjacency of the graph.
+     * @param root Index of the root vertex.
+     * @param levels Levels of the vertexes, filled by the walk.
+     * @param predecessors Predecessors of the vertexes, filled by the walk.
+     * @return Number of visited vertexes.
+     */
+    static int depthFirst(CompressedAdjacency adjacency, int root, int[] levels, int[] predecessors) {
+        int[] offsets = adjacency.offsets, targets = adjacency.targets;
+        int[] stack = new int[INITIAL_STACK_CAPACITY];
+        int top = 0, visited = 1;
+        levels[root] = 0;
+        stack[0] = root;
+        stack[1] = offsets[root];
+        while (top >= 0) {
+            int current = stack[top];
+            int arc = stack[top + 1];
+            if (arc == offsets[current + 1]) {
+                top -= 2;
+                continue;
+            }
+            stack[top + 1] = arc + 1;
+            int adjacent = targets[arc];
+            if (levels[adjacent] == NOT_VISITED) {
+                levels[adjacent] = levels[current] + 1;
+                predecessors[adjacent] = current;
+                visited++;
+                top += 2;
+                if (top == stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                stack[top] = adjacent;
+                stack[top + 1] = offsets[adjacent];
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Sets up the result string of a 'walk by graph' algorithm. Each visited
+     * vertex, in index order, is represented by a line with the vertex, its
+     * level and its predecessor ('-' if it is the root).
+     *
+     * @param levels Levels of the vertexes.
+     * @param predecessors Predecessors of the vertexes.
+     * @param vertexAt Function that maps an index to its vertex.
+     * @return The result string of the walk.
+     */
+    static String walkString(int[] levels, int[] predecessors, IntFunction<?> vertexAt) {
+        TextWriter walkByGraphString = new TextWriter();
+        writeWalk(walkByGraphString, levels, predecessors, vertexAt);
+        return walkByGraphString.toString();
+    }
+
+    /**
+     * Writes the result string of a 'walk by graph' algorithm, in the format
+     * of {@link #walkString(int[], int[], IntFunction)}.
+     *
+     * @param out Text to receive the lines of the walk.
+     * @param levels Levels of the vertexes.
+     * @param predecessors Predecessors of the vertexes.
+     * @param vertexAt Function that maps an index to its vertex.
+     */
+    static void writeWalk(TextWriter out, int[] levels, int[] predecessors, IntFunction<?> vertexAt) {
+        for (int v = 0; v < levels.length; v++) {
+            if (levels[v] == NOT_VISITED) continue;
+            int predecessor = predecessors[v];
+            out.append(vertexAt.apply(v)).append(" - ")
+                    .append(levels[v]).append(" ")
+                    .append(predecessor != NO_PREDECESSOR ? vertexAt.apply(predecessor) : "-")
+                    .endLine();
+        }
+    }
+
+}
@@ -2,6 +2,8 @@ package com.ufcg.atg.graph;
 
 import com.ufcg.atg.util.Utils;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Represents a implementation of a undirected and weighted graph, based on
  * the interface defined by {@link IGraph}.
@@ -15,6 +17,8 @@ public class WeightedGraph<V extends Comparable<V>> extends BaseGraph<V, Weighte
 
     public static final float EDGE_DEFAULT_WEIGHT = 1f;
 
+    private boolean containsNegativeWeightedEdge;
+
     /**
      * Constructs a {@link WeightedGraph}.
      */
@@ -22,6 +26,18 @@ public class WeightedGraph<V extends Comparable<V>> extends BaseGraph<V, Weighte
         super();
     }
 
+    /**
+     * Constructs a {@link WeightedGraph} that keeps its vertexes and edges in
+     * the specified storage.
+     *
+     * @param storage Storage of the vertexes and edges of the graph.
+     * @throws RuntimeException If the storage is {@link GraphStorage#BIT_MATRIX},
+     * which can't store weighted graphs.
+     */
+    public WeightedGraph(GraphStorage storage) {
+        super(storage);
+    }
+
     @Override
     public WeightedEdge<V> addEdge(V v1, V v2) {
         return addEdge(v1, v2, EDGE_DEFAULT_WEIGHT);
@@ -29,15 +45,43 @@ public class WeightedGraph<V extends Comparable<V>> extends BaseGraph<V, Weighte
 
     @Override
     public WeightedEdge<V> addEdge(V v1, V v2, float weight) {
-        addIfAbsent(v1);
-        addIfAbsent(v2);
-        WeightedEdge<V> edgeToReturn = new WeightedEdge<>(v1, v2, weight),
-                reverseEdge = new WeightedEdge<>(v2, v1, weight);
-        vertexes.get(v1).add(edgeToReturn);
-        vertexes.get(v2).add(reverseEdge);
+        WeightedEdge<V> edgeToReturn = new WeightedEdge<>(v1, v2, weight);
+        putEdge(edgeToReturn);
+        if (weight < 0) containsNegativeWeightedEdge = true;
         return edgeToReturn;
     }
 
+    @Override
+    public String shortestPath(V v1, V v2, DistanceHeuristic<V> heuristic) {
+        return super.shortestPath(v1, v2, heuristic);
+    }
+
+    @Override
+    public DistanceMatrix<V> allPairsShortestPaths() {
+        return super.allPairsShortestPaths();
+    }
+
+    @Override
+    public DistanceMatrix<V> allPairsShortestPaths(AllPairsAlgorithm algorithm, ForkJoinPool pool) {
+        return super.allPairsShortestPaths(algorithm, pool);
+    }
+
+    @Override
+    protected boolean isWeighted() {
+        return true;
+    }
+
+    @Override
+    protected WeightedEdge<V> createEdge(V origin, V target, float weight) {
+        return new WeightedEdge<>(origin, target, weight);
+    }
+
+    @Override
+    protected boolean matchesArc(Edge<?> e, float weight) {
+        return e.getClass() == WeightedEdge.class &&
+                Float.compare(((WeightedEdge<?>) e).getWeight(), weight) == 0;
+    }
+
     @Override
     protected float getEdgeWeight(WeightedEdge<V> e) {
         return e.getWeight();
@@ -48,10 +92,13 @@ public class WeightedGraph<V extends Comparable<V>> extends BaseGraph<V, Weighte
         return e.getTargetVertex().toString() + "(" + Utils.floatToString(getEdgeWeight(e)) + ")";
     }
 
+    /**
+     * Returns if the graph contains negative weighted edges, which is kept as
+     * the edges are added, as they are never removed.
+     */
     @Override
     protected boolean containsNegativeWeightedEdge() {
-        return getAllEdges().stream()
-                .filter(e -> e.getWeight() < 0).count() > 0;
+        return containsNegativeWeightedEdge;
     }
 
 }
@@ -5,7 +5,14 @@ import com.ufcg.atg.graph.*;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Library to Graphs and Weighted Graphs.
@@ -18,29 +25,32 @@ public class GraphLibrary<V extends Comparable<V>> {
     private static final int INDEX_FIRST_VERTEX_ON_FILE = 0;
     private static final int INDEX_SECOND_VERTEX_ON_FILE = 1;
     private static final int INDEXES_WEIGHT_ON_FILE = 2;
+    private static final int CHANNEL_BUFFER_SIZE = 8192;
 
     /**
-     * Reads a graph from file.
+     * Reads a graph from file. As the file is loaded in bulk, the graph keeps
+     * its edges in the {@link GraphStorage#COMPRESSED} storage.
      *
      * @param path File path.
      * @throws RuntimeException If there is an error reading the file.
      * @return Read graph.
      */
     public IGraph<Integer, Edge<Integer>> readGraph(String path) {
-        IGraph<Integer, Edge<Integer>> graph = new Graph<>();
+        IGraph<Integer, Edge<Integer>> graph = new Graph<>(GraphStorage.COMPRESSED);
         readFile(graph, path);
         return graph;
     }
 
     /**
-     * Reads a weighted graph from a file.
+     * Reads a weighted graph from a file. As the file is loaded in bulk, the
+     * graph keeps its edges in the {@link GraphStorage#COMPRESSED} storage.
      *
      * @param path File path.
      * @throws RuntimeException If there is an error reading the file.
      * @return Read graph.
      */
     public IWeightedGraph<Integer, WeightedEdge<Integer>> readWeightedGraph(String path) {
-        IWeightedGraph<Integer, WeightedEdge<Integer>> graph = new WeightedGraph<>();
+        IWeightedGraph<Integer, WeightedEdge<Integer>> graph = new WeightedGraph<>(GraphStorage.COMPRESSED);
         readFile(graph, path);
         return graph;
     }
@@ -48,7 +58,7 @@ public class GraphLibrary<V extends Comparable<V>> {
     /**
      * Reads the path file and places the edges found in the graph.
      * Analyse, if the graph is weighted, so places the weighted edges
-     * on {@link WeightedGraph}, else places the edges on {@link Graph}.
+     * on {@link IWeightedGraph}, else places the edges on {@link IGraph}.
      *
      * @param graph Graph to have a new edges added.
      * @param path Path from where the edges will be obtained.
@@ -228,6 +238,19 @@ public class GraphLibrary<V extends Comparable<V>> {
         return graph.getAdjacentVertexes(v);
     }
 
+    /**
+     * Returns the vertexes adjacent to both specified vertexes, which belong
+     * to the specified graph.
+     *
+     * @param v1 One vertex.
+     * @param v2 The other vertex.
+     * @throws RuntimeException If any of the vertexes isn't in the graph.
+     * @return Vertexes adjacent to both {@code v1} and {@code v2}.
+     */
+    public Set<V> getCommonAdjacentVertexes(IGraph<V, ? extends Edge<V>> graph, V v1, V v2) {
+        return graph.getCommonAdjacentVertexes(v1, v2);
+    }
+
     /**
      * Returns if the specified graph contains the specified vertex.
      *
@@ -289,6 +312,35 @@ public class GraphLibrary<V extends Comparable<V>> {
         return graph.graphRepresentation(type);
     }
 
+    /**
+     * Writes the graph representation based on the {@link RepresentationType}
+     * specified to a writer, line by line, without building it as a whole in
+     * memory. The writer is flushed, but not closed.
+     *
+     * @param graph Graph to be represented.
+     * @param type Type of the representation to be written.
+     * @param writer Writer to receive the representation.
+     * @throws RuntimeException If there is an error writing the representation.
+     */
+    public void graphRepresentation(IGraph<V, ? extends Edge<V>> graph, RepresentationType type, Writer writer) {
+        graph.graphRepresentation(type, writer);
+    }
+
+    /**
+     * Writes the graph representation based on the {@link RepresentationType}
+     * specified to a channel, encoded in UTF-8, through a buffer of bounded
+     * size. The channel isn't closed.
+     *
+     * @param graph Graph to be represented.
+     * @param type Type of the representation to be written.
+     * @param channel Channel to receive the representation.
+     * @throws RuntimeException If there is an error writing the representation.
+     */
+    public void graphRepresentation(IGraph<V, ? extends Edge<V>> graph, RepresentationType type,
+                                    WritableByteChannel channel) {
+        graph.graphRepresentation(type, channelWriter(channel));
+    }
+
     /**
      * Returns a tree representation based on the Breadth-first Search (BFS)
      * algorithm starting from the vertex specified.
@@ -304,6 +356,88 @@ public class GraphLibrary<V extends Comparable<V>> {
         return graph.BFS(v);
     }
 
+    /**
+     * Writes the tree representation of {@link #BFS(IGraph, Comparable)} to a
+     * writer, line by line, without building it as a whole in memory. The
+     * writer is flushed, but not closed.
+     *
+     * @param graph Graph to be obtained BFS.
+     * @param v The vertex to be the root of the tree.
+     * @param writer Writer to receive the BFS.
+     * @throws RuntimeException If the graph doesn't contains the vertex, or if
+     * there is an error writing the BFS.
+     */
+    public void BFS(IGraph<V, ? extends Edge<V>> graph, V v, Writer writer) {
+        if (!graph.containsVertex(v)) {
+            throw new RuntimeException("The graph doesn't contains the specified vertex.");
+        }
+        graph.BFS(v, writer);
+    }
+
+    /**
+     * Writes the tree representation of {@link #BFS(IGraph, Comparable)} to a
+     * channel, encoded in UTF-8, through a buffer of bounded size. The
+     * channel isn't closed.
+     *
+     * @param graph Graph to be obtained BFS.
+     * @param v The vertex to be the root of the tree.
+     * @param channel Channel to receive the BFS.
+     * @throws RuntimeException If the graph doesn't contains the vertex, or if
+     * there is an error writing the BFS.
+     */
+    public void BFS(IGraph<V, ? extends Edge<V>> graph, V v, WritableByteChannel channel) {
+        BFS(graph, v, channelWriter(channel));
+    }
+
+    /**
+     * Returns a tree representation based on the Breadth-first Search (BFS)
+     * algorithm starting from the vertex specified, walked with the specified
+     * algorithm.
+     *
+     * @param graph Graph to be obtained BFS.
+     * @param v The vertex to be the root of the returned tree.
+     * @param algorithm Algorithm to be used to walk by the graph.
+     * @return BFS of the graph.
+     */
+    public String BFS(IGraph<V, ? extends Edge<V>> graph, V v, BFSAlgorithm algorithm) {
+        if (!graph.containsVertex(v)) {
+            throw new RuntimeException("The graph doesn't contains the specified vertex.");
+        }
+        return graph.BFS(v, algorithm);
+    }
+
+    /**
+     * Returns a tree representation based on the Breadth-first Search (BFS)
+     * algorithm starting from the vertex specified, expanding each level in
+     * parallel in the specified pool.
+     *
+     * @param graph Graph to be obtained BFS.
+     * @param v The vertex to be the root of the returned tree.
+     * @param pool Pool that expands the levels.
+     * @return BFS of the graph.
+     */
+    public String BFS(IGraph<V, ? extends Edge<V>> graph, V v, ForkJoinPool pool) {
+        if (!graph.containsVertex(v)) {
+            throw new RuntimeException("The graph doesn't contains the specified vertex.");
+        }
+        return graph.BFS(v, pool);
+    }
+
+    /**
+     * Returns the tree of the Breadth-first Search (BFS) starting from the
+     * vertex specified, with the level and the parent of each vertex.
+     *
+     * @param graph Graph to be obtained the BFS tree.
+     * @param root The vertex to be the root of the tree.
+     * @return The BFS tree of the vertex.
+     */
+    public BreadthFirstTree<V> breadthFirstTree(IGraph<V, ? extends Edge<V>> graph, V root) {
+        if (!graph.containsVertex(root)) {
+            throw new RuntimeException("The graph doesn't contains the specified vertex.");
+        }
+        return graph.breadthFirstTree(root);
+    }
+
     /**
      * Returns a tree representation based on the Depth-first Search (DFS)
      * algorithm starting from the vertex specified.
@@ -319,6 +453,39 @@ public class GraphLibrary<V extends Comparable<V>> {
         return graph.DFS(v);
     }
 
+    /**
+     * Writes the tree representation of {@link #DFS(IGraph, Comparable)} to a
+     * writer, line by line, without building it as a whole in memory. The
+     * writer is flushed, but not closed.
+     *
+     * @param graph Graph to be obtained DFS.
+     * @param v The vertex to be the root of the tree.
+     * @param writer Writer to receive the DFS.
+     * @throws RuntimeException If the graph doesn't contains the vertex, or if
+     * there is an error writing the DFS.
+     */
+    public void DFS(IGraph<V, ? extends Edge<V>> graph, V v, Writer writer) {
+        if (!graph.containsVertex(v)) {
+            throw new RuntimeException("The graph doesn't contains the specified vertex.");
+        }
+        graph.DFS(v, writer);
+    }
+
+    /**
+     * Writes the tree representation of {@link #DFS(IGraph, Comparable)} to a
+     * channel, encoded in UTF-8, through a buffer of bounded size. The
+     * channel isn't closed.
+     *
+     * @param graph Graph to be obtained DFS.
+     * @param v The vertex to be the root of the tree.
+     * @param channel Channel to receive the DFS.
+     * @throws RuntimeException If the graph doesn't contains the vertex, or if
+     * there is an error writing the DFS.
+     */
+    public void DFS(IGraph<V, ? extends Edge<V>> graph, V v, WritableByteChannel channel) {
+        DFS(graph, v, channelWriter(channel));
+    }
+
     /**
      * Returns a boolean indicating if the graph is connect or not.
      *
@@ -329,6 +496,57 @@ public class GraphLibrary<V extends Comparable<V>> {
         return graph.connected();
     }
 
+    /**
+     * Returns a boolean indicating if there is a path between the specified
+     * vertexes.
+     *
+     * @param graph Graph to be checked.
+     * @param v1 One vertex.
+     * @param v2 The other vertex.
+     * @return {@code true} if they are in the same component, {@code false}
+     * otherwise.
+     */
+    public boolean sameComponent(IGraph<V, ? extends Edge<V>> graph, V v1, V v2) {
+        return graph.sameComponent(v1, v2);
+    }
+
+    /**
+     * Enables or disables the tracking of the connected components of the
+     * graph, which answers {@link #connected(IGraph)} and
+     * {@link #sameComponent(IGraph, Comparable, Comparable)} in nearly
+     * constant time as edges are added.
+     *
+     * @param graph Graph to have the tracking set.
+     * @param enabled {@code true} to enable the tracking, {@code false} to
+     *                disable it.
+     */
+    public void setConnectivityTracking(IGraph<V, ? extends Edge<V>> graph, boolean enabled) {
+        graph.setConnectivityTracking(enabled);
+    }
+
+    /**
+     * Returns the connected components of the graph, with the component of
+     * each vertex, the size of each component and their number.
+     *
+     * @param graph Graph to be obtained the connected components.
+     * @return The connected components of the graph.
+     */
+    public ConnectedComponents<V> connectedComponents(IGraph<V, ? extends Edge<V>> graph) {
+        return graph.connectedComponents();
+    }
+
+    /**
+     * Returns the connected components of the graph, labeled in parallel in
+     * the specified pool.
+     *
+     * @param graph Graph to be obtained the connected components.
+     * @param pool Pool that unites the chunks of edges.
+     * @return The connected components of the graph.
+     */
+    public ConnectedComponents<V> connectedComponents(IGraph<V, ? extends Edge<V>> graph, ForkJoinPool pool) {
+        return graph.connectedComponents(pool);
+    }
+
     /**
      * Returns a representation of the shortest path between the specified
      * vertexes.
@@ -345,6 +563,163 @@ public class GraphLibrary<V extends Comparable<V>> {
         return graph.shortestPath(v1, v2);
     }
 
+    /**
+     * Returns a representation of the shortest path between the specified
+     * vertexes, found with the specified algorithm.
+     *
+     * @param graph Graph to be obtained shortest path between v1 and v2.
+     * @param v1 Origin vertex of the path.
+     * @param v2 Target vertex of the path.
+     * @param algorithm Algorithm to be used to find the path.
+     * @return Shortest path between {@code v1} e {@code v2}.
+     */
+    public String shortestPath(IGraph<V, ? extends Edge<V>> graph, V v1, V v2,
+                               ShortestPathAlgorithm algorithm) {
+        if (!graph.containsVertex(v1) || !graph.containsVertex(v2) ) {
+            throw new RuntimeException("The graph doesn't contains both specified vertexes.");
+        }
+        return graph.shortestPath(v1, v2, algorithm);
+    }
+
+    /**
+     * Returns a representation of the shortest path between the specified
+     * vertexes of a weighted graph, found with the A* algorithm guided by the
+     * specified heuristic.
+     *
+     * @param graph Graph to be obtained shortest path between v1 and v2.
+     * @param v1 Origin vertex of the path.
+     * @param v2 Target vertex of the path.
+     * @param heuristic Admissible estimate of the distance between vertexes.
+     * @return Shortest path between {@code v1} e {@code v2}.
+     */
+    public String shortestPath(IWeightedGraph<V, ? extends WeightedEdge<V>> graph, V v1, V v2,
+                               DistanceHeuristic<V> heuristic) {
+        if (!graph.containsVertex(v1) || !graph.containsVertex(v2) ) {
+            throw new RuntimeException("The graph doesn't contains both specified vertexes.");
+        }
+        return graph.shortestPath(v1, v2, heuristic);
+    }
+
+    /**
+     * Returns the lengths of the shortest paths between all pairs of
+     * vertexes of a weighted graph, computed in parallel by the algorithm
+     * expected to be the fastest for the density of the graph.
+     *
+     * @param graph Graph to be obtained the distance matrix.
+     * @return The distance matrix of the graph.
+     */
+    public DistanceMatrix<V> allPairsShortestPaths(IWeightedGraph<V, ? extends WeightedEdge<V>> graph) {
+        return graph.allPairsShortestPaths();
+    }
+
+    /**
+     * Returns the lengths of the shortest paths between all pairs of
+     * vertexes of a weighted graph, computed by the specified algorithm in
+     * the specified pool.
+     *
+     * @param graph Graph to be obtained the distance matrix.
+     * @param algorithm Algorithm to be used.
+     * @param pool Pool that runs the computation.
+     * @return The distance matrix of the graph.
+     */
+    public DistanceMatrix<V> allPairsShortestPaths(IWeightedGraph<V, ? extends WeightedEdge<V>> graph,
+                                                   AllPairsAlgorithm algorithm, ForkJoinPool pool) {
+        return graph.allPairsShortestPaths(algorithm, pool);
+    }
+
+    /**
+     * Returns the shortest paths from the specified vertex to all vertexes,
+     * found in parallel by the delta-stepping algorithm.
+     *
+     * @param graph Graph to be obtained the shortest paths.
+     * @param source Source vertex of the paths.
+     * @return The shortest path tree of the vertex.
+     */
+    public ShortestPathTree<V> shortestPathTree(IGraph<V, ? extends Edge<V>> graph, V source) {
+        if (!graph.containsVertex(source)) {
+            throw new RuntimeException("The graph doesn't contains the specified vertex.");
+        }
+        return graph.shortestPathTree(source);
+    }
+
+    /**
+     * Returns the shortest paths from the specified vertex to all vertexes,
+     * found in parallel by the delta-stepping algorithm with the specified
+     * bucket width.
+     *
+     * @param graph Graph to be obtained the shortest paths.
+     * @param source Source vertex of the paths.
+     * @param bucketWidth Width of the distance buckets.
+     * @param pool Pool that runs the relaxations.
+     * @return The shortest path tree of the vertex.
+     */
+    public ShortestPathTree<V> shortestPathTree(IGraph<V, ? extends Edge<V>> graph, V source,
+                                                float bucketWidth, ForkJoinPool pool) {
+        if (!graph.containsVertex(source)) {
+            throw new RuntimeException("The graph doesn't contains the specified vertex.");
+        }
+        return graph.shortestPathTree(source, bucketWidth, pool);
+    }
+
+    /**
+     * Returns the shortest paths between each pair of origin and target
+     * vertexes, searching the different origins in parallel in the common
+     * {@link ForkJoinPool}.
+     *
+     * @param graph Graph to be obtained the shortest paths.
+     * @param pairs Pairs of origin and target vertexes of the paths.
+     * @return The shortest paths, in the order of the pairs.
+     */
+    public List<ShortestPath<V>> shortestPaths(IGraph<V, ? extends Edge<V>> graph,
+                                               List<? extends Map.Entry<V, V>> pairs) {
+        return shortestPaths(graph, pairs, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the shortest paths between each pair of origin and target
+     * vertexes, searching the different origins in parallel in the specified
+     * pool.
+     *
+     * @param graph Graph to be obtained the shortest paths.
+     * @param pairs Pairs of origin and target vertexes of the paths.
+     * @param pool Pool that runs the searches.
+     * @return The shortest paths, in the order of the pairs.
+     */
+    public List<ShortestPath<V>> shortestPaths(IGraph<V, ? extends Edge<V>> graph,
+                                               List<? extends Map.Entry<V, V>> pairs, ForkJoinPool pool) {
+        for (Map.Entry<V, V> pair : pairs) {
+            if (!graph.containsVertex(pair.getKey()) || !graph.containsVertex(pair.getValue())) {
+                throw new RuntimeException("The graph doesn't contains both specified vertexes.");
+            }
+        }
+        return graph.shortestPaths(pairs, pool);
+    }
+
+    /**
+     * Sets the memory limit of the cache of shortest path trees used by
+     * {@link #shortestPath(IGraph, Comparable, Comparable)}, so repeated
+     * paths from the same vertex don't search the graph again.
+     *
+     * @param graph Graph to have its cache configured.
+     * @param maxBytes Memory limit of the cache, in bytes, or zero to disable
+     *                 it.
+     */
+    public void setShortestPathCacheLimit(IGraph<V, ? extends Edge<V>> graph, long maxBytes) {
+        graph.setShortestPathCacheLimit(maxBytes);
+    }
+
+    /**
+     * Builds an index over the current state of the graph that answers
+     * repeated shortest path queries faster than
+     * {@link #shortestPath(IGraph, Comparable, Comparable)}.
+     *
+     * @param graph Graph to be indexed.
+     * @return Shortest path index of the graph.
+     */
+    public ShortestPathIndex<V> shortestPathIndex(IGraph<V, ? extends Edge<V>> graph) {
+        return graph.shortestPathIndex();
+    }
+
     /**
      * Returns a representation of the Minimum Spanning Tree (MST) of the
      * graph.
@@ -352,8 +727,81 @@ public class GraphLibrary<V extends Comparable<V>> {
      * @param graph Graph to be obtained MST.
      * @return MST of the graph.
      */
-    String MST(IGraph<V, ? extends Edge<V>> graph) {
+    public String MST(IGraph<V, ? extends Edge<V>> graph) {
         return graph.MST();
     }
 
+    /**
+     * Returns a representation of the Minimum Spanning Tree (MST) of the
+     * graph, found by the specified algorithm.
+     *
+     * @param graph Graph to be obtained MST.
+     * @param algorithm Algorithm to be used to find the MST.
+     * @return MST of the graph.
+     */
+    public String MST(IGraph<V, ? extends Edge<V>> graph, MSTAlgorithm algorithm) {
+        return graph.MST(algorithm);
+    }
+
+    /**
+     * Returns a representation of the Minimum Spanning Tree (MST) of the
+     * graph, found by {@link MSTAlgorithm#BORUVKA} in the specified pool.
+     *
+     * @param graph Graph to be obtained MST.
+     * @param pool Pool that runs the rounds of the algorithm.
+     * @return MST of the graph.
+     */
+    public String MST(IGraph<V, ? extends Edge<V>> graph, ForkJoinPool pool) {
+        return graph.MST(pool);
+    }
+
+    /**
+     * Returns a representation of the Minimum Spanning Tree (MST) of the
+     * graph, found by the specified algorithm in the specified pool.
+     *
+     * @param graph Graph to be obtained MST.
+     * @param algorithm Algorithm to be used to find the MST.
+     * @param pool Pool that runs the parallel steps of the algorithm.
+     * @return MST of the graph.
+     */
+    public String MST(IGraph<V, ? extends Edge<V>> graph, MSTAlgorithm algorithm, ForkJoinPool pool) {
+        return graph.MST(algorithm, pool);
+    }
+
+    /**
+     * Writes the representation of {@link #MST(IGraph)} to a writer, line by
+     * line, without building it as a whole in memory. The writer is flushed,
+     * but not closed.
+     *
+     * @param graph Graph to be obtained MST.
+     * @param writer Writer to receive the MST.
+     * @throws RuntimeException If there is an error writing the MST.
+     */
+    public void MST(IGraph<V, ? extends Edge<V>> graph, Writer writer) {
+        graph.MST(writer);
+    }
+
+    /**
+     * Writes the representation of {@link #MST(IGraph)} to a channel, encoded
+     * in UTF-8, through a buffer of bounded size. The channel isn't closed.
+     *
+     * @param graph Graph to be obtained MST.
+     * @param channel Channel to receive the MST.
+     * @throws RuntimeException If there is an error writing the MST.
+     */
+    public void MST(IGraph<V, ? extends Edge<V>> graph, WritableByteChannel channel) {
+        graph.MST(channelWriter(channel));
+    }
+
+    /**
+     * Returns a writer that encodes the text in UTF-8 to the specified
+     * channel, with a buffer of bounded size.
+     *
+     * @param channel Channel to receive the text.
+     * @return The writer of the channel.
+     */
+    private Writer channelWriter(WritableByteChannel channel) {
+        return Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), CHANNEL_BUFFER_SIZE);
+    }
+
 }
\ No newline at end of file
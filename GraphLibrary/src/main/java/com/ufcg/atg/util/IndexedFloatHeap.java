@@ -0,0 +1,193 @@
+package com.ufcg.atg.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed d-ary min-heap of integer items in {@code [0, capacity)} with
+ * primitive float keys. Besides insertion and removal of the minimum, it
+ * supports decreasing the key of an item already in the heap, because it
+ * keeps the position of each item.
+ *
+ * Ex: Dijkstra's algorithm inserts a vertex when it is discovered and
+ * decreases its key when a shorter path to it is found, so each vertex is in
+ * the heap at most once and the heap order is never stale.
+ */
+public final class IndexedFloatHeap {
+
+    public static final int DEFAULT_ARITY = 4;
+
+    private static final int NOT_IN_HEAP = -1;
+
+    private final int arity;
+
+    private final int[] positions;
+
+    private int[] items;
+
+    private float[] keys;
+
+    private int size;
+
+    /**
+     * Constructs a {@link IndexedFloatHeap} with the {@link #DEFAULT_ARITY}.
+     *
+     * @param capacity Number of possible items.
+     */
+    public IndexedFloatHeap(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    /**
+     * Constructs a {@link IndexedFloatHeap}.
+     *
+     * @param capacity Number of possible items.
+     * @param arity Number of children of each node.
+     */
+    public IndexedFloatHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("The arity of the heap must be at least 2.");
+        }
+        this.arity = arity;
+        this.positions = new int[capacity];
+        Arrays.fill(positions, NOT_IN_HEAP);
+        int initialLength = Math.min(capacity, 16);
+        this.items = new int[initialLength];
+        this.keys = new float[initialLength];
+    }
+
+    /**
+     * Returns the number of items in the heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns if the heap is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns if the specified item is in the heap.
+     *
+     * @param item Item to be verified.
+     * @return {@code true} if it is, {@code false} otherwise.
+     */
+    public boolean contains(int item) {
+        return positions[item] != NOT_IN_HEAP;
+    }
+
+    /**
+     * Returns the key of the specified item, which must be in the heap.
+     *
+     * @param item Item to have its key returned.
+     * @return Key of the item.
+     */
+    public float keyOf(int item) {
+        return keys[positions[item]];
+    }
+
+    /**
+     * Inserts the specified item, if it isn't in the heap, or decreases its
+     * key, if the specified key is lesser than the current one.
+     *
+     * @param item Item to be inserted or updated.
+     * @param key Key of the item.
+     * @return {@code true} if the heap was modified, {@code false} otherwise.
+     */
+    public boolean insertOrDecrease(int item, float key) {
+        int position = positions[item];
+        if (position == NOT_IN_HEAP) {
+            if (size == items.length) {
+                int length = Math.min(positions.length, Math.max(16, size * 2));
+                items = Arrays.copyOf(items, length);
+                keys = Arrays.copyOf(keys, length);
+            }
+            siftUp(size++, item, key);
+            return true;
+        }
+        if (key < keys[position]) {
+            siftUp(position, item, key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the key of the item with the minimum key.
+     *
+     * @throws NoSuchElementException If the heap is empty.
+     * @return The minimum key.
+     */
+    public float peekKey() {
+        if (size == 0) throw new NoSuchElementException();
+        return keys[0];
+    }
+
+    /**
+     * Removes and returns the item with the minimum key.
+     *
+     * @throws NoSuchElementException If the heap is empty.
+     * @return The item with the minimum key.
+     */
+    public int poll() {
+        if (size == 0) throw new NoSuchElementException();
+        int top = items[0];
+        positions[top] = NOT_IN_HEAP;
+        size--;
+        if (size > 0) siftDown(0, items[size], keys[size]);
+        return top;
+    }
+
+    /**
+     * Removes all the items of the heap.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[items[i]] = NOT_IN_HEAP;
+        }
+        size = 0;
+    }
+
+    /**
+     * Moves the hole at {@code position} up until {@code key} fits on it.
+     */
+    private void siftUp(int position, int item, float key) {
+        while (position > 0) {
+            int parent = (position - 1) / arity;
+            if (keys[parent] <= key) break;
+            place(position, items[parent], keys[parent]);
+            position = parent;
+        }
+        place(position, item, key);
+    }
+
+    /**
+     * Moves the hole at {@code position} down until {@code key} fits on it.
+     */
+    private void siftDown(int position, int item, float key) {
+        while (true) {
+            int firstChild = position * arity + 1;
+            if (firstChild >= size) break;
+            int lastChild = Math.min(firstChild + arity, size);
+            int minChild = firstChild;
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (keys[child] < keys[minChild]) minChild = child;
+            }
+            if (keys[minChild] >= key) break;
+            place(position, items[minChild], keys[minChild]);
+            position = minChild;
+        }
+        place(position, item, key);
+    }
+
+    private void place(int position, int item, float key) {
+        items[position] = item;
+        keys[position] = key;
+        positions[item] = position;
+    }
+
+}
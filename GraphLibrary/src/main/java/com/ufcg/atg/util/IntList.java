@@ -0,0 +1,97 @@
+package com.ufcg.atg.util;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive integers, which avoids the boxing of a
+ * {@code List<Integer>} in the algorithms that collect vertex indexes.
+ */
+public final class IntList {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] elements;
+
+    private int size;
+
+    /**
+     * Constructs an empty {@link IntList}.
+     */
+    public IntList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty {@link IntList} with the specified initial
+     * capacity.
+     *
+     * @param capacity Initial capacity of the list.
+     */
+    public IntList(int capacity) {
+        this.elements = new int[Math.max(1, capacity)];
+    }
+
+    /**
+     * Returns the number of elements of the list.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns if the list is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the element at the specified position.
+     *
+     * @param index Position of the element.
+     * @throws IndexOutOfBoundsException If the position is out of the list.
+     * @return The element.
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(String.valueOf(index));
+        return elements[index];
+    }
+
+    /**
+     * Appends the specified element to the end of the list.
+     *
+     * @param element Element to be appended.
+     */
+    public void add(int element) {
+        if (size == elements.length) elements = Arrays.copyOf(elements, size * 2);
+        elements[size++] = element;
+    }
+
+    /**
+     * Appends all elements of the specified list to the end of this list.
+     *
+     * @param other List to have its elements appended.
+     */
+    public void addAll(IntList other) {
+        if (size + other.size > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(size + other.size, size * 2));
+        }
+        System.arraycopy(other.elements, 0, elements, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Removes all the elements of the list, keeping its capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns an array with the elements of the list, in order.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.ufcg.atg.util;
+
+import java.util.Arrays;
+
+/**
+ * Union-find (disjoint sets) of the integers in {@code [0, size)}, stored in
+ * primitive arrays. The smaller set is always linked under the larger one and
+ * the paths are halved while the roots are found, so a sequence of operations
+ * takes nearly constant amortized time per operation and the trees stay
+ * shallow even for chain-shaped inputs.
+ *
+ * Ex: Kruskal's algorithm keeps the vertexes of each tree of the forest in a
+ * set, and discards an edge whose vertexes are already in the same set.
+ */
+public final class IntUnionFind {
+
+    private int[] parents;
+
+    private int[] sizes;
+
+    private int size;
+
+    private int setNumber;
+
+    /**
+     * Constructs an {@link IntUnionFind} in which each integer in
+     * {@code [0, size)} is alone in its set.
+     *
+     * @param size Number of integers.
+     */
+    public IntUnionFind(int size) {
+        this.parents = new int[Math.max(1, size)];
+        this.sizes = new int[parents.length];
+        for (int i = 0; i < size; i++) {
+            parents[i] = i;
+            sizes[i] = 1;
+        }
+        this.size = size;
+        this.setNumber = size;
+    }
+
+    /**
+     * Returns the number of integers.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     */
+    public int setNumber() {
+        return setNumber;
+    }
+
+    /**
+     * Adds the next integer, equal to the current {@link #size()}, alone in
+     * its set.
+     *
+     * @return The added integer.
+     */
+    public int add() {
+        if (size == parents.length) {
+            parents = Arrays.copyOf(parents, size * 2);
+            sizes = Arrays.copyOf(sizes, size * 2);
+        }
+        parents[size] = size;
+        sizes[size] = 1;
+        setNumber++;
+        return size++;
+    }
+
+    /**
+     * Returns the representative of the set of the specified integer, halving
+     * the path walked along the way.
+     *
+     * @param i Integer to have its set found.
+     * @return The representative of the set.
+     */
+    public int find(int i) {
+        while (parents[i] != i) {
+            parents[i] = parents[parents[i]];
+            i = parents[i];
+        }
+        return i;
+    }
+
+    /**
+     * Returns the representative of the set of the specified integer without
+     * changing the path walked, so it can be called by concurrent threads
+     * while no sets are joined.
+     *
+     * @param i Integer to have its set found.
+     * @return The representative of the set.
+     */
+    public int root(int i) {
+        while (parents[i] != i) {
+            i = parents[i];
+        }
+        return i;
+    }
+
+    /**
+     * Joins the sets of the specified integers.
+     *
+     * @param i1 One integer.
+     * @param i2 The other integer.
+     * @return {@code true} if they were in different sets, {@code false}
+     * otherwise.
+     */
+    public boolean union(int i1, int i2) {
+        int root1 = find(i1), root2 = find(i2);
+        if (root1 == root2) return false;
+        if (sizes[root1] < sizes[root2]) {
+            int swap = root1;
+            root1 = root2;
+            root2 = swap;
+        }
+        parents[root2] = root1;
+        sizes[root1] += sizes[root2];
+        setNumber--;
+        return true;
+    }
+
+    /**
+     * Returns if the specified integers are in the same set.
+     *
+     * @param i1 One integer.
+     * @param i2 The other integer.
+     * @return {@code true} if they are, {@code false} otherwise.
+     */
+    public boolean connected(int i1, int i2) {
+        return find(i1) == find(i2);
+    }
+
+    /**
+     * Returns the number of integers in the set of the specified integer.
+     *
+     * @param i Integer to have the size of its set returned.
+     * @return The size of the set.
+     */
+    public int setSize(int i) {
+        return sizes[find(i)];
+    }
+
+}
@@ -34,4 +34,31 @@ public final class Utils {
         return floatToString;
     }
 
+    /**
+     * Returns an integer whose signed ordering is the same as the ordering of
+     * the specified float given by {@link Float#compare(float, float)}. It
+     * allows float keys to be packed in primitive arrays and sorted without
+     * boxing.
+     *
+     * Ex: floatToSortableInt(-1f) < floatToSortableInt(0f) < floatToSortableInt(1f)
+     *
+     * @param f Float number to have its sortable representation returned.
+     * @return Sortable integer representation of the specified float.
+     */
+    public static int floatToSortableInt(float f) {
+        int bits = Float.floatToIntBits(f);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    /**
+     * Returns the float represented by a value returned by
+     * {@link #floatToSortableInt(float)}.
+     *
+     * @param sortable Sortable integer representation of a float.
+     * @return The float represented by the specified integer.
+     */
+    public static float sortableIntToFloat(int sortable) {
+        return Float.intBitsToFloat(sortable ^ ((sortable >> 31) & 0x7fffffff));
+    }
+
 }
@@ -4,6 +4,10 @@ import com.ufcg.atg.util.Utils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
 import static com.ufcg.atg.util.Utils.LINE_SEPARATOR;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -265,6 +269,80 @@ public class BaseGraphTest {
         assertEquals(dfsFrom5, disconnectedGraph.DFS(5));
     }
 
+    /**
+     * Tests the walks of a {@link Graph} of strings, which must list the
+     * vertexes in their natural order, and that they see later modifications.
+     */
+    @Test
+    public void walkAfterModificationTest() {
+        String bfsFromE = new StringBuilder()
+                .append("A - 1 E").append(LINE_SEPARATOR)
+                .append("B - 1 E").append(LINE_SEPARATOR)
+                .append("C - 1 E").append(LINE_SEPARATOR)
+                .append("D - 1 E").append(LINE_SEPARATOR)
+                .append("E - 0 -").append(LINE_SEPARATOR)
+                .toString();
+        String bfsFromEAfterAddition = new StringBuilder(bfsFromE)
+                .append("F - 2 D").append(LINE_SEPARATOR)
+                .toString();
+
+        assertEquals(bfsFromE, stringGraph.BFS("E"));
+        stringGraph.addEdge("D", "F");
+        assertEquals(bfsFromEAfterAddition, stringGraph.BFS("E"));
+        assertEquals("A E D F", stringGraph.shortestPath("A", "F"));
+    }
+
+    /**
+     * Tests that the edge number and the view of all edges of a graph, in
+     * every {@link GraphStorage}, see later modifications, without counting
+     * repeated edges and counting loops once.
+     */
+    @Test
+    public void edgeNumberAfterModificationTest() {
+        for (GraphStorage storage : GraphStorage.values()) {
+            IGraph<String, Edge<String>> graph = new Graph<>(storage);
+            Set<Edge<String>> allEdges = graph.getAllEdges();
+            graph.addEdge("A", "B");
+            graph.addEdge("B", "A");
+            graph.addEdge("B", "B");
+            graph.addVertex("C");
+
+            assertEquals(3, graph.getEdgeNumber());
+            assertEquals(3, allEdges.size());
+            assertTrue(allEdges.contains(new Edge<>("B", "A")));
+            assertTrue(allEdges.contains(new Edge<>("B", "B")));
+            assertFalse(allEdges.contains(new Edge<>("A", "C")));
+            assertEquals(new HashSet<>(Arrays.asList(new Edge<>("A", "B"), new Edge<>("B", "A"),
+                    new Edge<>("B", "B"))), allEdges);
+            graph.addEdge("A", "C");
+            assertEquals(5, graph.getEdgeNumber());
+            assertTrue(allEdges.contains(new Edge<>("C", "A")));
+            try {
+                allEdges.clear();
+                fail("Should have thrown exception when trying to modify the edges of the graph.");
+            } catch (UnsupportedOperationException e) {
+                assertEquals(5, graph.getEdgeNumber());
+            }
+        }
+
+        for (GraphStorage storage : new GraphStorage[] {GraphStorage.HASH_SETS, GraphStorage.HALF_EDGES}) {
+            IWeightedGraph<String, WeightedEdge<String>> weightedGraph = new WeightedGraph<>(storage);
+            weightedGraph.addEdge("A", "B", 2f);
+            weightedGraph.addEdge("A", "B", 3f);
+            assertEquals(4, weightedGraph.getEdgeNumber());
+            assertEquals("A B", weightedGraph.shortestPath("A", "B"));
+            weightedGraph.addEdge("B", "C", -1f);
+            try {
+                weightedGraph.shortestPath("A", "C");
+                fail("Should have thrown exception when trying to find a shortest path" +
+                        " in a graph with negative weighted edges.");
+            } catch (Exception e) {
+                assertEquals("The shortest path cannot be found in a graph with negative circle.",
+                        e.getMessage(), "A mensagem de erro está errada.");
+            }
+        }
+    }
+
     /**
      * Tests connected {@link Graph}.
      */
@@ -0,0 +1,157 @@
+package com.ufcg.atg.graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Benchmarks of the engines of the library, in a weighted grid graph. They
+ * take minutes and their timings only mean something on the machine being
+ * measured, so they are tagged {@code benchmark} and skipped unless the
+ * {@code benchmark} system property is set, as in
+ * {@code mvn test -Dtest=BenchmarkTest -Dbenchmark=true}. The side of the
+ * grid can be changed by the {@code benchmark.side} system property.
+ *
+ * The median time of the rounds run after the warm-up is printed to the
+ * standard output.
+ */
+@Tag("benchmark")
+public class BenchmarkTest {
+
+    private static final int WARM_UP_ROUNDS = 3;
+
+    private static final int ROUNDS = 5;
+
+    private static final int QUERIES = 200;
+
+    private CompressedAdjacency grid;
+
+    /**
+     * Tests' set up. Skips the benchmarks if they weren't requested, else
+     * builds a grid in which each vertex is connected to its right and bottom
+     * neighbors by edges of random weight.
+     */
+    @BeforeEach
+    public void setUp() {
+        assumeTrue(Boolean.getBoolean("benchmark"), "The benchmarks run only with -Dbenchmark=true.");
+        int side = Integer.getInteger("benchmark.side", 700);
+        Random random = new Random(7);
+        WeightedGraph<Integer> graph = new WeightedGraph<>(GraphStorage.COMPRESSED);
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int v = row * side + column;
+                if (column + 1 < side) graph.addEdge(v, v + 1, 1 + random.nextInt(9));
+                if (row + 1 < side) graph.addEdge(v, v + side, 1 + random.nextInt(9));
+            }
+        }
+        grid = graph.indexedGraph().adjacency();
+    }
+
+    /**
+     * Measures the point-to-point queries of the unidirectional and of the
+     * bidirectional Dijkstra algorithm between the same random vertexes.
+     */
+    @Test
+    public void bidirectionalDijkstraBenchmark() {
+        Random random = new Random(11);
+        int[] sources = new int[QUERIES], targets = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(grid.vertexCapacity());
+            targets[i] = random.nextInt(grid.vertexCapacity());
+        }
+        for (ShortestPathAlgorithm algorithm : ShortestPathAlgorithm.values()) {
+            ShortestPaths.Search search = new ShortestPaths.Search(grid);
+            long[] settled = new long[1];
+            double millis = medianMillis(() -> {
+                settled[0] = 0;
+                for (int i = 0; i < QUERIES; i++) {
+                    settled[0] += search.pointToPoint(sources[i], targets[i], algorithm).settledVertexes;
+                }
+            });
+            report(algorithm.toString(), millis, settled[0] / QUERIES + " settled vertexes per query");
+        }
+    }
+
+    /**
+     * Measures the delta-stepping search of the shortest paths from a vertex
+     * to all others in pools of an increasing number of threads, up to the
+     * number of processors, against the sequential Dijkstra algorithm.
+     */
+    @Test
+    public void deltaSteppingBenchmark() {
+        int vertexCapacity = grid.vertexCapacity();
+        float[] distances = ShortestPaths.newDistances(vertexCapacity);
+        int[] predecessors = Traversals.newPredecessors(vertexCapacity);
+        report("Dijkstra", medianMillis(() -> {
+            Arrays.fill(distances, Float.POSITIVE_INFINITY);
+            Arrays.fill(predecessors, Traversals.NO_PREDECESSOR);
+            ShortestPaths.dijkstra(grid, 0, -1, distances, predecessors);
+        }), "threads: 1");
+        float bucketWidth = DeltaStepping.defaultBucketWidth(grid);
+        for (int threads : threadCounts()) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            double millis = medianMillis(() ->
+                    DeltaStepping.run(grid, 0, bucketWidth, pool, distances, predecessors));
+            report("Delta-stepping", millis, "threads: " + threads);
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Measures the level-synchronous parallel BFS from a vertex in pools of
+     * an increasing number of threads, up to the number of processors,
+     * against the sequential top-down BFS.
+     */
+    @Test
+    public void parallelBreadthFirstBenchmark() {
+        int vertexCapacity = grid.vertexCapacity();
+        report("Top-down BFS", medianMillis(() -> Traversals.breadthFirst(grid, 0,
+                Traversals.newLevels(vertexCapacity), Traversals.newPredecessors(vertexCapacity))), "threads: 1");
+        for (int threads : threadCounts()) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            double millis = medianMillis(() -> ParallelBreadthFirst.run(grid, 0, pool,
+                    Traversals.newLevels(vertexCapacity), Traversals.newPredecessors(vertexCapacity)));
+            report("Parallel BFS", millis, "threads: " + threads);
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Returns the numbers of threads to be measured, the powers of two below
+     * the number of processors and the number of processors.
+     */
+    private static int[] threadCounts() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int[] counts = new int[33 - Integer.numberOfLeadingZeros(processors - 1)];
+        for (int i = 0; i < counts.length - 1; i++) counts[i] = 1 << i;
+        counts[counts.length - 1] = processors;
+        return counts;
+    }
+
+    /**
+     * Returns the median time, in milliseconds, of the runs of the
+     * benchmark after the warm-up.
+     */
+    private static double medianMillis(Runnable benchmark) {
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) benchmark.run();
+        long[] times = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            benchmark.run();
+            times[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(times);
+        return times[ROUNDS / 2] / 1e6;
+    }
+
+    private static void report(String name, double millis, String detail) {
+        System.out.printf("%-40s %10.1f ms   %s%n", name, millis, detail);
+    }
+
+}
@@ -0,0 +1,219 @@
+package com.ufcg.atg.graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.ufcg.atg.util.Utils.LINE_SEPARATOR;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the {@link GraphStorage#COMPRESSED} storage, in which the file-loaded
+ * graphs are kept, verifying that its graphs behave as the ones kept in the
+ * default storage.
+ */
+public class CompressedStorageTest {
+
+    private IGraph<Integer, Edge<Integer>> compressedGraph;
+    private IGraph<Integer, Edge<Integer>> graph;
+    private IWeightedGraph<Integer, WeightedEdge<Integer>> compressedWeightedGraph;
+    private IWeightedGraph<Integer, WeightedEdge<Integer>> weightedGraph;
+
+    /**
+     * Tests' set up.
+     */
+    @BeforeEach
+    public void setUp() {
+        compressedGraph = new Graph<>(GraphStorage.COMPRESSED);
+        graph = new Graph<>();
+        int[][] edges = {{1, 2}, {1, 4}, {1, 5}, {2, 3}, {2, 6}, {2, 5}, {3, 4}, {3, 6}, {4, 5}, {5, 6}};
+        for (int[] edge : edges) {
+            compressedGraph.addEdge(edge[0], edge[1]);
+            graph.addEdge(edge[0], edge[1]);
+        }
+
+        compressedWeightedGraph = new WeightedGraph<>(GraphStorage.COMPRESSED);
+        weightedGraph = new WeightedGraph<>();
+        float[][] weightedEdges = {{1, 2, 0.1f}, {2, 5, 0.2f}, {5, 3, 5f}, {4, 5, 2.3f}, {1, 5, 1f}};
+        for (float[] edge : weightedEdges) {
+            compressedWeightedGraph.addEdge((int) edge[0], (int) edge[1], edge[2]);
+            weightedGraph.addEdge((int) edge[0], (int) edge[1], edge[2]);
+        }
+    }
+
+    /**
+     * Tests the counts, vertexes and edges of a compressed graph.
+     */
+    @Test
+    public void verticesAndEdgesTest() {
+        assertEquals(graph, compressedGraph);
+        compressedGraph.addEdge(1, 2);
+        compressedGraph.addEdge(2, 1);
+        compressedGraph.addVertex(9);
+
+        assertEquals(7, compressedGraph.getVertexNumber());
+        assertEquals(20, compressedGraph.getEdgeNumber());
+        assertEquals(graph.getAllEdges(), compressedGraph.getAllEdges());
+        assertTrue(compressedGraph.containsVertex(9));
+        assertFalse(compressedGraph.containsVertex(7));
+        assertFalse(compressedGraph.containsVertex(-1));
+        assertTrue(compressedGraph.containsEdge(new Edge<>(2, 1)));
+        assertFalse(compressedGraph.containsEdge(new Edge<>(1, 3)));
+        assertFalse(compressedGraph.containsEdge(new WeightedEdge<>(1, 2, 1f)));
+        assertTrue(compressedWeightedGraph.containsEdge(new WeightedEdge<>(5, 3, 5f)));
+        assertFalse(compressedWeightedGraph.containsEdge(new WeightedEdge<>(5, 3, 4f)));
+        assertEquals(weightedGraph.getAllEdges(), compressedWeightedGraph.getAllEdges());
+        assertEquals(graph.getCommonAdjacentVertexes(2, 4), compressedGraph.getCommonAdjacentVertexes(2, 4));
+        compressedWeightedGraph.addEdge(4, 4, 2f);
+        weightedGraph.addEdge(4, 4, 2f);
+        assertEquals(weightedGraph.getAllEdges(), compressedWeightedGraph.getAllEdges());
+        assertEquals(weightedGraph, compressedWeightedGraph);
+        weightedGraph.addEdge(1, 4, 2f);
+        compressedWeightedGraph.addEdge(1, 4, 3f);
+        assertNotEquals(weightedGraph, compressedWeightedGraph);
+    }
+
+    /**
+     * Tests that negative vertexes and vertexes of large value are kept, as
+     * the vertexes are interned to dense indexes instead of indexing the
+     * arrays by their value.
+     */
+    @Test
+    public void sparseVertexesTest() {
+        compressedGraph.addEdge(-3, 1);
+        compressedGraph.addEdge(2_000_000_000, -3);
+        graph.addEdge(-3, 1);
+        graph.addEdge(2_000_000_000, -3);
+
+        assertEquals(8, compressedGraph.getVertexNumber());
+        assertTrue(compressedGraph.containsVertex(-3));
+        assertTrue(compressedGraph.containsEdge(new Edge<>(-3, 2_000_000_000)));
+        assertEquals(graph, compressedGraph);
+        assertEquals(graph.BFS(-3), compressedGraph.BFS(-3));
+        assertEquals("2000000000 -3 1", compressedGraph.shortestPath(2_000_000_000, 1));
+    }
+
+    /**
+     * Tests that the representations are the same of the equivalent graphs.
+     */
+    @Test
+    public void graphRepresentationTest() {
+        compressedGraph.addVertex(8);
+        graph.addVertex(8);
+        for (RepresentationType type : RepresentationType.values()) {
+            assertEquals(graph.graphRepresentation(type), compressedGraph.graphRepresentation(type));
+            assertEquals(weightedGraph.graphRepresentation(type),
+                    compressedWeightedGraph.graphRepresentation(type));
+        }
+    }
+
+    /**
+     * Tests that the adjacency matrix of a compressed weighted graph is the
+     * same of the equivalent {@link WeightedGraph} in a random graph whose
+     * vertexes are sparse values, with loops and isolated vertexes.
+     */
+    @Test
+    public void sparseMatrixRepresentationTest() {
+        Random random = new Random(37);
+        IWeightedGraph<Integer, WeightedEdge<Integer>> randomGraph = new WeightedGraph<>();
+        IWeightedGraph<Integer, WeightedEdge<Integer>> randomCompressedGraph =
+                new WeightedGraph<>(GraphStorage.COMPRESSED);
+        Set<Long> added = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            int v1 = random.nextInt(400) * 250, v2 = random.nextInt(400) * 250;
+            if (!added.add((long) Math.min(v1, v2) << 32 | Math.max(v1, v2))) continue;
+            float weight = random.nextInt(40) / 4f - 5f;
+            randomGraph.addEdge(v1, v2, weight);
+            randomCompressedGraph.addEdge(v1, v2, weight);
+        }
+        randomGraph.addVertex(123457);
+        randomCompressedGraph.addVertex(123457);
+        assertEquals(randomGraph.graphRepresentation(RepresentationType.ADJACENCY_MATRIX),
+                randomCompressedGraph.graphRepresentation(RepresentationType.ADJACENCY_MATRIX));
+    }
+
+    /**
+     * Tests BFS, DFS and connectivity of a compressed graph.
+     */
+    @Test
+    public void walkByGraphTest() {
+        for (int v = 1; v <= 6; v++) {
+            assertEquals(graph.BFS(v), compressedGraph.BFS(v));
+            assertEquals(graph.BFS(v), compressedGraph.BFS(v, BFSAlgorithm.PARALLEL));
+            assertEquals(graph.BFS(v), graph.BFS(v, ForkJoinPool.commonPool()));
+            assertEquals(graph.DFS(v), compressedGraph.DFS(v));
+        }
+        assertTrue(compressedGraph.connected());
+        compressedGraph.addVertex(7);
+        assertFalse(compressedGraph.connected());
+        assertEquals(2, compressedGraph.connectedComponents().getCount());
+        assertEquals(ConnectedComponents.NONE, compressedGraph.connectedComponents().getComponent(0));
+        assertEquals(1, compressedGraph.connectedComponents().getComponent(7));
+        assertEquals(new StringBuilder()
+                .append("7 - 0 -").append(LINE_SEPARATOR)
+                .toString(), compressedGraph.BFS(7));
+        compressedGraph.setConnectivityTracking(true);
+        assertFalse(compressedGraph.connected());
+        assertFalse(compressedGraph.sameComponent(1, 7));
+        compressedGraph.addEdge(7, 1);
+        assertTrue(compressedGraph.connected());
+        assertTrue(compressedGraph.sameComponent(1, 7));
+    }
+
+    /**
+     * Tests the shortest path between vertexes of a compressed weighted
+     * graph.
+     */
+    @Test
+    public void shortestPathTest() {
+        assertEquals("1 2 5 3", compressedWeightedGraph.shortestPath(1, 3));
+        assertEquals("1 2 5 4", compressedWeightedGraph.shortestPath(1, 4));
+        assertEquals("3 5 2", compressedWeightedGraph.shortestPath(3, 2));
+        assertEquals("5", compressedWeightedGraph.shortestPath(5, 5));
+        compressedGraph.addEdge(6, 7);
+        compressedGraph.addEdge(7, 8);
+        assertEquals("6 7 8", compressedGraph.shortestPath(6, 8));
+
+        compressedWeightedGraph.addVertex(7);
+        try {
+            compressedWeightedGraph.shortestPath(1, 7);
+            fail("Should have thrown exception when trying to find the" +
+                    " shortest path between disconnected vertexes.");
+        } catch (Exception e) {
+            assertEquals("There isn't a path between 1 and 7",
+                    e.getMessage(), "A mensagem de erro está errada.");
+        }
+
+        compressedWeightedGraph.addEdge(3, 4, -9.5f);
+        try {
+            compressedWeightedGraph.shortestPath(1, 3);
+            fail("Should have thrown exception when trying to find the" +
+                    " shortest path in a graph with negative circle.");
+        } catch (Exception e) {
+            assertEquals("The shortest path cannot be found in a" +
+                    " graph with negative circle.",
+                    e.getMessage(), "A mensagem de erro está errada.");
+        }
+    }
+
+    /**
+     * Tests the MST of both compressed graphs.
+     */
+    @Test
+    public void mstTest() {
+        compressedWeightedGraph.addEdge(3, 4, -9.5f);
+        weightedGraph.addEdge(3, 4, -9.5f);
+        assertEquals(graph.MST(), compressedGraph.MST());
+        assertEquals(weightedGraph.MST(), compressedWeightedGraph.MST());
+        for (MSTAlgorithm algorithm : MSTAlgorithm.values()) {
+            assertEquals(graph.MST(), compressedGraph.MST(algorithm));
+            assertEquals(weightedGraph.MST(), compressedWeightedGraph.MST(algorithm));
+        }
+        assertEquals(weightedGraph.MST(), compressedWeightedGraph.MST(ForkJoinPool.commonPool()));
+    }
+
+}
@@ -3,6 +3,10 @@ package com.ufcg.atg.graph;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
 import static com.ufcg.atg.util.Utils.LINE_SEPARATOR;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -84,6 +88,200 @@ public class GraphTest {
     	disconnectedGraph.addVertex(i5);
     }
 
+    /**
+     * Tests the common adjacent vertexes of two vertexes of a {@link Graph}.
+     */
+    @Test
+    public void commonAdjacentVertexesTest() {
+        assertEquals(new HashSet<>(Arrays.asList(1, 3, 5)), integerGraphDuplicate.getCommonAdjacentVertexes(2, 4));
+        assertEquals(new HashSet<>(Arrays.asList(2, 5)), integerGraphDuplicate.getCommonAdjacentVertexes(1, 6));
+        assertTrue(integerGraph.getCommonAdjacentVertexes(3, 4).contains(5));
+        try {
+            integerGraph.getCommonAdjacentVertexes(1, 9);
+            fail("Should have thrown exception when trying to get the common" +
+                    " adjacent vertexes of a non existent vertex.");
+        } catch (Exception e) {
+            assertEquals("The graph doesn't contains the specified vertex.",
+                    e.getMessage(), "A mensagem de erro está errada.");
+        }
+    }
+
+    /**
+     * Tests that a dense {@link Graph} has the same results in every
+     * {@link GraphStorage}.
+     */
+    @Test
+    public void graphStoragesTest() {
+        for (GraphStorage storage : GraphStorage.values()) {
+            Random random = new Random(23);
+            IGraph<Integer, Edge<Integer>> hashSetsGraph = new Graph<>(GraphStorage.HASH_SETS);
+            IGraph<Integer, Edge<Integer>> storedGraph = new Graph<>(storage);
+            for (int v = 150; v > 0; v--) {
+                hashSetsGraph.addVertex(v);
+                storedGraph.addVertex(v);
+            }
+            for (int v1 = 1; v1 <= 150; v1++) {
+                for (int v2 = v1; v2 <= 150; v2++) {
+                    if (random.nextInt(10) < 4) {
+                        hashSetsGraph.addEdge(v1, v2);
+                        storedGraph.addEdge(v2, v1);
+                    }
+                }
+            }
+            storedGraph.addEdge(1, 151);
+            hashSetsGraph.addEdge(151, 1);
+            storedGraph.addEdge(1, 151);
+
+            assertEquals(hashSetsGraph, storedGraph);
+            assertEquals(hashSetsGraph.hashCode(), storedGraph.hashCode());
+            assertEquals(hashSetsGraph.getVertexNumber(), storedGraph.getVertexNumber());
+            assertEquals(hashSetsGraph.getEdgeNumber(), storedGraph.getEdgeNumber());
+            assertEquals(hashSetsGraph.getAllEdges(), storedGraph.getAllEdges());
+            assertEquals(hashSetsGraph.getEdgesOfVertex(151), storedGraph.getEdgesOfVertex(151));
+            assertEquals(hashSetsGraph.getAdjacentVertexes(3), storedGraph.getAdjacentVertexes(3));
+            assertEquals(hashSetsGraph.graphRepresentation(RepresentationType.ADJACENCY_MATRIX),
+                    storedGraph.graphRepresentation(RepresentationType.ADJACENCY_MATRIX));
+            assertEquals(hashSetsGraph.graphRepresentation(RepresentationType.ADJACENCY_LIST),
+                    storedGraph.graphRepresentation(RepresentationType.ADJACENCY_LIST));
+            assertEquals(hashSetsGraph.BFS(151), storedGraph.BFS(151));
+            assertEquals(hashSetsGraph.DFS(151), storedGraph.DFS(151));
+            assertEquals(hashSetsGraph.MST(), storedGraph.MST());
+            assertEquals(hashSetsGraph.shortestPath(151, 150), storedGraph.shortestPath(151, 150));
+            for (int v1 = 1; v1 <= 151; v1 += 7) {
+                for (int v2 = 1; v2 <= 151; v2 += 5) {
+                    assertEquals(hashSetsGraph.containsEdge(new Edge<>(v1, v2)),
+                            storedGraph.containsEdge(new Edge<>(v1, v2)));
+                    assertEquals(hashSetsGraph.getCommonAdjacentVertexes(v1, v2),
+                            storedGraph.getCommonAdjacentVertexes(v1, v2));
+                }
+            }
+            assertTrue(storedGraph.getEdgesOfVertex(1).contains(new Edge<>(1, 151)));
+            assertFalse(storedGraph.containsEdge(new WeightedEdge<>(1, 151, 1f)));
+            assertFalse(storedGraph.containsEdge(new Edge<>(1, 152)));
+        }
+    }
+
+    /**
+     * Tests the connected components of a {@link Graph} with vertices of
+     * string value, before and after it is split.
+     */
+    @Test
+    public void graphOfStringsConnectedComponentsTest() {
+        ConnectedComponents<String> components = stringGraph.connectedComponents();
+        assertEquals(1, components.getCount());
+        assertEquals(5, components.getSize(components.getComponent("C")));
+        assertTrue(stringGraph.connected());
+
+        stringGraph.addEdge("F", "G");
+        stringGraph.addVertex("H");
+        components = stringGraph.connectedComponents();
+        assertFalse(stringGraph.connected());
+        assertEquals(3, components.getCount());
+        assertArrayEquals(new int[]{5, 2, 1}, components.getSizes());
+        assertEquals(components.getComponent("F"), components.getComponent("G"));
+        assertNotEquals(components.getComponent("A"), components.getComponent("G"));
+        assertEquals(2, components.getComponent("H"));
+        assertEquals(ConnectedComponents.NONE, components.getComponent("I"));
+        assertEquals(1, components.getComponentIds()[components.indexOf("G")]);
+        assertEquals(5, disconnectedGraph.connectedComponents().getCount());
+    }
+
+    /**
+     * Tests the connectivity of a {@link Graph} with the tracking of the
+     * components enabled after part of the graph was built, against the
+     * connectivity found without the tracking.
+     */
+    @Test
+    public void connectivityTrackingTest() {
+        IGraph<Integer, Edge<Integer>> tracked = new Graph<>();
+        IGraph<Integer, Edge<Integer>> untracked = new Graph<>();
+        Random random = new Random(17);
+        for (int i = 0; i < 600; i++) {
+            if (i == 100) tracked.setConnectivityTracking(true);
+            int v1 = random.nextInt(300), v2 = random.nextInt(300);
+            tracked.addEdge(v1, v2);
+            untracked.addEdge(v1, v2);
+            assertEquals(untracked.connected(), tracked.connected());
+            int v3 = random.nextInt(300);
+            if (tracked.containsVertex(v3)) {
+                assertEquals(untracked.sameComponent(v1, v3), tracked.sameComponent(v1, v3));
+            }
+        }
+        tracked.setConnectivityTracking(false);
+        assertEquals(untracked.connected(), tracked.connected());
+        try {
+            tracked.sameComponent(0, 300);
+            fail("Should have thrown exception when trying to check the component" +
+                    " of a non existent vertex.");
+        } catch (Exception e) {
+            assertEquals("The graph doesn't contains the specified vertex.",
+                    e.getMessage(), "A mensagem de erro está errada.");
+        }
+    }
+
+    /**
+     * Tests the connectivity of a {@link Graph} with vertices of string value
+     * tracked from its creation.
+     */
+    @Test
+    public void graphOfStringsConnectivityTrackingTest() {
+        IGraph<String, Edge<String>> tracked = new Graph<>();
+        tracked.setConnectivityTracking(true);
+        assertTrue(tracked.connected());
+        tracked.addEdge("A", "B");
+        tracked.addVertex("C");
+        assertFalse(tracked.connected());
+        assertFalse(tracked.sameComponent("A", "C"));
+        tracked.addEdge("C", "B");
+        assertTrue(tracked.connected());
+        assertTrue(tracked.sameComponent("A", "C"));
+    }
+
+    /**
+     * Tests the DFS and the connectivity of a {@link Graph} shaped as a long
+     * path, deeper than a recursive DFS could walk.
+     */
+    @Test
+    public void deepGraphDFSTest() {
+        IGraph<Integer, Edge<Integer>> path = new Graph<>();
+        for (int v = 1; v < 100000; v++) {
+            path.addEdge(v - 1, v);
+        }
+
+        assertTrue(path.connected());
+        assertTrue(path.DFS(0).endsWith("99999 - 99999 99998" + LINE_SEPARATOR));
+        assertTrue(path.DFS(99999).startsWith("0 - 99999 1" + LINE_SEPARATOR));
+    }
+
+    /**
+     * Tests the BFS tree of a {@link Graph} with vertices of string value.
+     */
+    @Test
+    public void graphOfStringsBreadthFirstTreeTest() {
+        for (BFSAlgorithm algorithm : BFSAlgorithm.values()) {
+            BreadthFirstTree<String> tree = stringGraph.breadthFirstTree("A", algorithm);
+
+            assertEquals("A", tree.getRoot());
+            assertEquals(5, tree.getReachedNumber());
+            assertEquals(0, tree.getLevel("A"));
+            assertEquals(2, tree.getLevel("D"));
+            assertEquals(BreadthFirstTree.NONE, tree.getLevel("F"));
+            assertNull(tree.getParent("A"));
+            assertEquals("E", tree.getParent("C"));
+            assertEquals(tree.indexOf("E"), tree.getParents()[tree.indexOf("D")]);
+            assertEquals("D", tree.vertexAt(tree.indexOf("D")));
+            assertEquals(stringGraph.BFS("A"), stringGraph.BFS("A", algorithm));
+        }
+        try {
+            stringGraph.breadthFirstTree("F");
+            fail("Should have thrown exception when trying to walk from a non" +
+                    " existent vertex.");
+        } catch (Exception e) {
+            assertEquals("The graph doesn't contains the specified vertex.",
+                    e.getMessage(), "A mensagem de erro está errada.");
+        }
+    }
+
     /**
      * Tests the adjacency matrix representation of a {@link Graph} with
      * duplicated integers.
@@ -0,0 +1,135 @@
+package com.ufcg.atg.graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the {@link GraphStorage#HALF_EDGES} storage, verifying that its
+ * graphs behave as the ones kept in the default storage.
+ */
+public class HalfEdgeStorageTest {
+
+    private IGraph<Integer, Edge<Integer>> halfEdgeGraph;
+    private IGraph<Integer, Edge<Integer>> graph;
+    private IWeightedGraph<Integer, WeightedEdge<Integer>> halfEdgeWeightedGraph;
+    private IWeightedGraph<Integer, WeightedEdge<Integer>> weightedGraph;
+
+    /**
+     * Tests' set up.
+     */
+    @BeforeEach
+    public void setUp() {
+        halfEdgeGraph = new Graph<>(GraphStorage.HALF_EDGES);
+        graph = new Graph<>();
+        halfEdgeWeightedGraph = new WeightedGraph<>(GraphStorage.HALF_EDGES);
+        weightedGraph = new WeightedGraph<>();
+    }
+
+    /**
+     * Tests that an edge already kept isn't added again, in either direction,
+     * while an edge between the same vertexes with another weight is.
+     */
+    @Test
+    public void repeatedEdgesTest() {
+        halfEdgeGraph.addEdge(1, 2);
+        halfEdgeGraph.addEdge(2, 1);
+        halfEdgeGraph.addEdge(1, 2);
+        graph.addEdge(1, 2);
+        assertEquals(2, halfEdgeGraph.getEdgeNumber());
+        assertEquals(graph, halfEdgeGraph);
+
+        halfEdgeWeightedGraph.addEdge(1, 2, 1f);
+        halfEdgeWeightedGraph.addEdge(2, 1, 1f);
+        halfEdgeWeightedGraph.addEdge(1, 2, 2f);
+        weightedGraph.addEdge(1, 2, 1f);
+        weightedGraph.addEdge(1, 2, 2f);
+        assertEquals(4, halfEdgeWeightedGraph.getEdgeNumber());
+        assertTrue(halfEdgeWeightedGraph.containsEdge(new WeightedEdge<>(2, 1, 2f)));
+        assertFalse(halfEdgeWeightedGraph.containsEdge(new WeightedEdge<>(2, 1, 3f)));
+        assertEquals(weightedGraph, halfEdgeWeightedGraph);
+        assertEquals("1 2", halfEdgeWeightedGraph.shortestPath(1, 2));
+    }
+
+    /**
+     * Tests that a loop is kept as a single arc, which isn't added again.
+     */
+    @Test
+    public void loopsTest() {
+        for (int i = 0; i < 2; i++) {
+            halfEdgeGraph.addEdge(3, 3);
+            halfEdgeGraph.addEdge(3, 4);
+            graph.addEdge(3, 3);
+            graph.addEdge(3, 4);
+        }
+        assertEquals(3, halfEdgeGraph.getEdgeNumber());
+        assertTrue(halfEdgeGraph.containsEdge(new Edge<>(3, 3)));
+        assertEquals(graph.getAllEdges(), halfEdgeGraph.getAllEdges());
+        assertEquals(graph, halfEdgeGraph);
+        assertEquals(graph.BFS(3), halfEdgeGraph.BFS(3));
+        for (RepresentationType type : RepresentationType.values()) {
+            assertEquals(graph.graphRepresentation(type), halfEdgeGraph.graphRepresentation(type));
+        }
+
+        halfEdgeWeightedGraph.addEdge(3, 3, 2f);
+        halfEdgeWeightedGraph.addEdge(3, 3, 5f);
+        halfEdgeWeightedGraph.addEdge(3, 3, 2f);
+        assertEquals(2, halfEdgeWeightedGraph.getEdgeNumber());
+        assertEquals("3", halfEdgeWeightedGraph.shortestPath(3, 3));
+    }
+
+    /**
+     * Tests a random graph of many more edges than the initial capacity of
+     * the storage, so its arrays and hash table grow several times, with
+     * repeated edges and loops. Its vertexes are added in order in the
+     * weighted graph and at random in the unweighted one, so the rows of the
+     * adjacency are sorted both with and without renumbering.
+     */
+    @Test
+    public void growthTest() {
+        Random random = new Random(23);
+        int vertexNumber = 80;
+        for (int v = 0; v < vertexNumber; v++) {
+            halfEdgeWeightedGraph.addVertex(v);
+            weightedGraph.addVertex(v);
+        }
+        for (int i = 0; i < 1500; i++) {
+            int v1 = random.nextInt(vertexNumber), v2 = random.nextInt(vertexNumber);
+            halfEdgeGraph.addEdge(v1, v2);
+            graph.addEdge(v1, v2);
+            float weight = random.nextInt(4) - 1f;
+            halfEdgeWeightedGraph.addEdge(v1, v2, weight);
+            weightedGraph.addEdge(v1, v2, weight);
+        }
+
+        assertEquals(graph.getEdgeNumber(), halfEdgeGraph.getEdgeNumber());
+        assertEquals(weightedGraph.getEdgeNumber(), halfEdgeWeightedGraph.getEdgeNumber());
+        assertEquals(graph, halfEdgeGraph);
+        assertEquals(weightedGraph, halfEdgeWeightedGraph);
+        for (Edge<Integer> e : graph.getAllEdges()) {
+            assertTrue(halfEdgeGraph.containsEdge(e));
+        }
+        assertEquals(graph.getCommonAdjacentVertexes(1, 2), halfEdgeGraph.getCommonAdjacentVertexes(1, 2));
+        assertSameAdjacency(((Graph<Integer>) graph).indexedGraph().adjacency(),
+                ((Graph<Integer>) halfEdgeGraph).indexedGraph().adjacency());
+        assertSameAdjacency(((WeightedGraph<Integer>) weightedGraph).indexedGraph().adjacency(),
+                ((WeightedGraph<Integer>) halfEdgeWeightedGraph).indexedGraph().adjacency());
+        assertEquals(graph.BFS(0), halfEdgeGraph.BFS(0));
+    }
+
+    /**
+     * Asserts that both adjacencies have the same rows, with the same arcs in
+     * the same order.
+     */
+    private void assertSameAdjacency(CompressedAdjacency expected, CompressedAdjacency actual) {
+        assertArrayEquals(expected.offsets, actual.offsets);
+        assertArrayEquals(expected.targets, actual.targets);
+        for (int arc = 0; arc < expected.targets.length; arc++) {
+            assertEquals(expected.weight(arc), actual.weight(arc));
+        }
+    }
+
+}
@@ -0,0 +1,332 @@
+package com.ufcg.atg.graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the shortest path engines of {@link ShortestPaths} against each other,
+ * in a weighted grid graph.
+ */
+public class ShortestPathsTest {
+
+    private static final int GRID_SIDE = 60;
+
+    private WeightedGraph<Integer> graph;
+
+    private CompressedAdjacency grid;
+
+    private ShortestPaths.Search search;
+
+    /**
+     * Tests' set up. Builds a grid in which each vertex is connected to its
+     * right and bottom neighbors by edges of random weight.
+     */
+    @BeforeEach
+    public void setUp() {
+        Random random = new Random(7);
+        graph = new WeightedGraph<>(GraphStorage.COMPRESSED);
+        for (int row = 0; row < GRID_SIDE; row++) {
+            for (int column = 0; column < GRID_SIDE; column++) {
+                int v = row * GRID_SIDE + column;
+                if (column + 1 < GRID_SIDE) graph.addEdge(v, v + 1, 1 + random.nextInt(9));
+                if (row + 1 < GRID_SIDE) graph.addEdge(v, v + GRID_SIDE, 1 + random.nextInt(9));
+            }
+        }
+        grid = graph.indexedGraph().adjacency();
+        search = new ShortestPaths.Search(grid);
+    }
+
+    /**
+     * Tests that the bidirectional search finds paths as short as the
+     * unidirectional one, settling fewer vertexes.
+     */
+    @Test
+    public void bidirectionalDijkstraTest() {
+        Random random = new Random(11);
+        int unidirectionalSettled = 0, bidirectionalSettled = 0;
+        for (int i = 0; i < 50; i++) {
+            int source = random.nextInt(GRID_SIDE * GRID_SIDE);
+            int target = random.nextInt(GRID_SIDE * GRID_SIDE);
+            ShortestPaths.PathResult unidirectional = search.pointToPoint(source, target,
+                    ShortestPathAlgorithm.DIJKSTRA);
+            ShortestPaths.PathResult bidirectional = search.pointToPoint(source, target,
+                    ShortestPathAlgorithm.BIDIRECTIONAL_DIJKSTRA);
+
+            assertEquals(unidirectional.distance, bidirectional.distance);
+            assertEquals(source, bidirectional.path[0]);
+            assertEquals(target, bidirectional.path[bidirectional.path.length - 1]);
+            assertEquals(unidirectional.distance, pathLength(bidirectional.path));
+            unidirectionalSettled += unidirectional.settledVertexes;
+            bidirectionalSettled += bidirectional.settledVertexes;
+        }
+        assertTrue(bidirectionalSettled < unidirectionalSettled);
+    }
+
+    /**
+     * Tests that A* guided by the Manhattan distance, which is admissible as
+     * every edge of the grid weighs at least one, finds paths as short as
+     * Dijkstra's, settling fewer vertexes.
+     */
+    @Test
+    public void aStarTest() {
+        Random random = new Random(13);
+        int dijkstraSettled = 0, aStarSettled = 0;
+        for (int i = 0; i < 50; i++) {
+            int source = random.nextInt(GRID_SIDE * GRID_SIDE);
+            int target = random.nextInt(GRID_SIDE * GRID_SIDE);
+            ShortestPaths.PathResult dijkstra = search.pointToPoint(source, target,
+                    ShortestPathAlgorithm.DIJKSTRA);
+            ShortestPaths.PathResult aStar = search.aStar(source, target,
+                    v -> Math.abs(v / GRID_SIDE - target / GRID_SIDE)
+                            + Math.abs(v % GRID_SIDE - target % GRID_SIDE));
+
+            assertEquals(dijkstra.distance, aStar.distance);
+            assertEquals(dijkstra.distance, pathLength(aStar.path));
+            dijkstraSettled += dijkstra.settledVertexes;
+            aStarSettled += aStar.settledVertexes;
+        }
+        assertTrue(aStarSettled < dijkstraSettled);
+    }
+
+    /**
+     * Tests that a {@link ShortestPaths.Search} reused by consecutive queries,
+     * mixing the algorithms and unreachable targets, finds the same paths as
+     * new searches, as its buffers are reset after each query, and that the
+     * search of the graph follows its modifications.
+     */
+    @Test
+    public void reusedSearchTest() {
+        graph.addVertex(-1);
+        CompressedAdjacency adjacency = graph.indexedGraph().adjacency();
+        int isolated = graph.indexedGraph().indexOf(-1);
+        ShortestPaths.Search reusedSearch = new ShortestPaths.Search(adjacency);
+        Random random = new Random(17);
+        for (int i = 0; i < 60; i++) {
+            int source = random.nextInt(GRID_SIDE * GRID_SIDE);
+            int target = i % 10 == 9 ? isolated : random.nextInt(GRID_SIDE * GRID_SIDE);
+            for (ShortestPathAlgorithm algorithm : ShortestPathAlgorithm.values()) {
+                ShortestPaths.PathResult expected =
+                        new ShortestPaths.Search(adjacency).pointToPoint(source, target, algorithm);
+                ShortestPaths.PathResult reused = reusedSearch.pointToPoint(source, target, algorithm);
+                assertEquals(expected.distance, reused.distance);
+                assertArrayEquals(expected.path, reused.path);
+                assertEquals(expected.settledVertexes, reused.settledVertexes);
+            }
+            ShortestPaths.PathResult expected = new ShortestPaths.Search(adjacency).aStar(source, target, v -> 0);
+            ShortestPaths.PathResult reused = reusedSearch.aStar(source, target, v -> 0);
+            assertEquals(expected.distance, reused.distance);
+            assertArrayEquals(expected.path, reused.path);
+        }
+        assertNull(reusedSearch.pointToPoint(GRID_SIDE, isolated, ShortestPathAlgorithm.DIJKSTRA).path);
+        assertEquals(Float.POSITIVE_INFINITY,
+                reusedSearch.pointToPoint(GRID_SIDE, isolated, ShortestPathAlgorithm.BIDIRECTIONAL_DIJKSTRA).distance);
+
+        int corner = GRID_SIDE * GRID_SIDE - 1;
+        assertNotEquals("0 " + corner, graph.shortestPath(0, corner));
+        graph.addEdge(0, corner, 0.5f);
+        assertEquals("0 " + corner, graph.shortestPath(0, corner));
+        assertEquals("0 " + corner, graph.shortestPath(0, corner, ShortestPathAlgorithm.BIDIRECTIONAL_DIJKSTRA));
+    }
+
+    /**
+     * Tests that the contraction hierarchy finds paths as short as Dijkstra's,
+     * in the same format of {@link BaseGraph#shortestPath(Comparable, Comparable)},
+     * settling fewer vertexes.
+     */
+    @Test
+    public void shortestPathIndexTest() {
+        ShortestPathIndex<Integer> index = graph.shortestPathIndex();
+        Random random = new Random(17);
+        int dijkstraSettled = 0, indexSettled = 0;
+        for (int i = 0; i < 200; i++) {
+            int source = random.nextInt(GRID_SIDE * GRID_SIDE);
+            int target = random.nextInt(GRID_SIDE * GRID_SIDE);
+            ShortestPaths.PathResult dijkstra = search.pointToPoint(source, target,
+                    ShortestPathAlgorithm.DIJKSTRA);
+            String path = index.shortestPath(source, target);
+            String[] vertexes = path.split(" ");
+            int[] indexPath = new int[vertexes.length];
+            for (int j = 0; j < vertexes.length; j++) indexPath[j] = Integer.parseInt(vertexes[j]);
+
+            assertEquals(dijkstra.distance, index.distance(source, target));
+            assertEquals(source, indexPath[0]);
+            assertEquals(target, indexPath[indexPath.length - 1]);
+            assertEquals(dijkstra.distance, pathLength(indexPath));
+            dijkstraSettled += dijkstra.settledVertexes;
+            indexSettled += index.settledVertexes(source, target);
+        }
+        assertTrue(indexSettled < dijkstraSettled);
+    }
+
+    /**
+     * Tests that the cached trees give the same paths of Dijkstra's, and that
+     * the least recently used tree is evicted when the memory limit is hit
+     * and all trees when the cache is cleared.
+     */
+    @Test
+    public void shortestPathTreeCacheTest() {
+        long treeBytes = 8L * GRID_SIDE * GRID_SIDE;
+        ShortestPathTreeCache cache = new ShortestPathTreeCache(2 * treeBytes);
+        ShortestPathTreeCache.Tree first = cache.tree(grid, 0);
+        ShortestPathTreeCache.Tree second = cache.tree(grid, 1);
+        assertSame(first, cache.tree(grid, 0));
+        cache.tree(grid, 2);
+
+        assertEquals(2, cache.size());
+        assertSame(first, cache.tree(grid, 0));
+        assertNotSame(second, cache.tree(grid, 1));
+        Random random = new Random(19);
+        for (int i = 0; i < 50; i++) {
+            int target = random.nextInt(GRID_SIDE * GRID_SIDE);
+            ShortestPaths.PathResult dijkstra = search.pointToPoint(0, target,
+                    ShortestPathAlgorithm.DIJKSTRA);
+            ShortestPaths.PathResult cached = cache.tree(grid, 0).pathTo(target);
+            assertEquals(dijkstra.distance, cached.distance);
+            assertEquals(dijkstra.distance, pathLength(cached.path));
+        }
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNotSame(first, cache.tree(grid, 0));
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Tests that concurrent queries of the cache of trees, with a limit that
+     * makes them evict each other's trees, get the trees of their sources.
+     */
+    @Test
+    public void concurrentShortestPathTreeCacheTest() {
+        ShortestPathTreeCache cache = new ShortestPathTreeCache(3 * 8L * GRID_SIDE * GRID_SIDE);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        float[] expected = new float[8];
+        for (int source = 0; source < expected.length; source++) {
+            expected[source] = search.pointToPoint(source, GRID_SIDE * GRID_SIDE - 1,
+                    ShortestPathAlgorithm.DIJKSTRA).distance;
+        }
+        pool.submit(() -> IntStream.range(0, 400).parallel().forEach(i -> {
+            int source = i % expected.length;
+            ShortestPathTreeCache.Tree tree = cache.tree(grid, source);
+            assertEquals(source, tree.source);
+            assertEquals(expected[source], tree.pathTo(GRID_SIDE * GRID_SIDE - 1).distance);
+        })).join();
+        pool.shutdown();
+        assertTrue(cache.size() <= 3);
+    }
+
+    /**
+     * Tests that the batch of shortest paths, with repeated origins and
+     * targets, finds paths as short as Dijkstra's, in the order of the pairs.
+     */
+    @Test
+    public void shortestPathBatchTest() {
+        Random random = new Random(23);
+        List<Map.Entry<Integer, Integer>> pairs = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            int source = random.nextInt(10), target = random.nextInt(GRID_SIDE * GRID_SIDE);
+            pairs.add(new AbstractMap.SimpleEntry<>(source, target));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        List<ShortestPath<Integer>> paths = graph.shortestPaths(pairs, pool);
+        pool.shutdown();
+
+        for (int i = 0; i < pairs.size(); i++) {
+            int source = pairs.get(i).getKey(), target = pairs.get(i).getValue();
+            ShortestPaths.PathResult dijkstra = search.pointToPoint(source, target,
+                    ShortestPathAlgorithm.DIJKSTRA);
+            int[] path = paths.get(i).getVertexes().stream().mapToInt(Integer::intValue).toArray();
+            assertEquals(dijkstra.distance, paths.get(i).getDistance());
+            assertEquals(source, path[0]);
+            assertEquals(target, path[path.length - 1]);
+            assertEquals(dijkstra.distance, pathLength(path));
+        }
+    }
+
+    /**
+     * Tests that delta-stepping, with narrow and wide buckets and with one or
+     * more threads, finds the same distances of Dijkstra's to all vertexes,
+     * and predecessors that lead back to the source through paths of those
+     * lengths.
+     */
+    @Test
+    public void deltaSteppingTest() {
+        int vertexCapacity = grid.vertexCapacity(), source = vertexCapacity / 2 + 7;
+        float[] dijkstraDistances = ShortestPaths.newDistances(vertexCapacity);
+        ShortestPaths.dijkstra(grid, source, -1, dijkstraDistances,
+                Traversals.newPredecessors(vertexCapacity));
+        for (int threads : new int[]{1, 4}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            for (float bucketWidth : new float[]{0.5f, DeltaStepping.defaultBucketWidth(grid), 3f, 100f}) {
+                float[] distances = new float[vertexCapacity];
+                int[] predecessors = new int[vertexCapacity];
+                DeltaStepping.run(grid, source, bucketWidth, pool, distances, predecessors);
+
+                assertArrayEquals(dijkstraDistances, distances);
+                for (int target = 0; target < vertexCapacity; target += 37) {
+                    assertEquals(distances[target],
+                            pathLength(ShortestPaths.path(source, target, predecessors)));
+                }
+            }
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests that the blocked Floyd–Warshall and Johnson's algorithm compute
+     * the same distances as Dijkstra's algorithm, in a random graph whose size
+     * isn't a multiple of the block side and whose vertexes aren't contiguous.
+     */
+    @Test
+    public void allPairsShortestPathsTest() {
+        Random random = new Random(11);
+        WeightedGraph<Integer> sparseGraph = new WeightedGraph<>(GraphStorage.COMPRESSED);
+        int vertexNumber = 150;
+        for (int i = 0; i < vertexNumber * 3; i++) {
+            sparseGraph.addEdge(3 * random.nextInt(vertexNumber), 3 * random.nextInt(vertexNumber),
+                    1 + random.nextInt(20));
+        }
+        CompressedAdjacency adjacency = sparseGraph.indexedGraph().adjacency();
+        for (int threads : new int[]{1, 4}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            DistanceMatrix<Integer> floydWarshall =
+                    sparseGraph.allPairsShortestPaths(AllPairsAlgorithm.FLOYD_WARSHALL, pool);
+            DistanceMatrix<Integer> johnson = sparseGraph.allPairsShortestPaths(AllPairsAlgorithm.JOHNSON, pool);
+            List<Integer> vertexes = floydWarshall.getVertexes();
+            assertEquals(vertexes, johnson.getVertexes());
+            for (int row = 0; row < vertexes.size(); row++) {
+                float[] distances = ShortestPaths.newDistances(adjacency.vertexCapacity());
+                ShortestPaths.dijkstra(adjacency, row, -1, distances,
+                        Traversals.newPredecessors(adjacency.vertexCapacity()));
+                for (int column = 0; column < vertexes.size(); column++) {
+                    float expected = distances[column];
+                    assertEquals(expected, floydWarshall.getDistance(row, column));
+                    assertEquals(expected, johnson.getDistance(vertexes.get(row), vertexes.get(column)));
+                }
+            }
+            pool.shutdown();
+        }
+        assertEquals(Float.POSITIVE_INFINITY, sparseGraph.allPairsShortestPaths()
+                .getDistance(Integer.valueOf(1), Integer.valueOf(0)));
+        assertEquals(AllPairsAlgorithm.JOHNSON, AllPairsShortestPaths.chooseAlgorithm(grid));
+    }
+
+    /**
+     * Returns the sum of the weights of the arcs of the specified path.
+     */
+    private float pathLength(int[] path) {
+        float length = 0f;
+        for (int i = 1; i < path.length; i++) {
+            int arc = grid.firstArc(path[i - 1], path[i]);
+            assertTrue(arc >= 0);
+            length += grid.weight(arc);
+        }
+        return length;
+    }
+
+}
@@ -0,0 +1,195 @@
+package com.ufcg.atg.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the 'walk by graph' engines of {@link Traversals} against each other,
+ * and the component labeling against them.
+ */
+public class TraversalsTest {
+
+    /**
+     * Tests that the DFS visits the vertexes with the same levels and
+     * predecessors of a recursive DFS that explores the adjacent vertexes in
+     * the order of the adjacency rows.
+     */
+    @Test
+    public void depthFirstTest() {
+        Random random = new Random(9);
+        Graph<Integer> randomGraph = new Graph<>(GraphStorage.COMPRESSED);
+        for (int i = 0; i < 3000; i++) {
+            randomGraph.addEdge(random.nextInt(1000), random.nextInt(1000));
+        }
+        CompressedAdjacency adjacency = randomGraph.indexedGraph().adjacency();
+        int[] levels = Traversals.newLevels(adjacency.vertexCapacity());
+        int[] predecessors = Traversals.newPredecessors(adjacency.vertexCapacity());
+        int[] recursiveLevels = Traversals.newLevels(adjacency.vertexCapacity());
+        int[] recursivePredecessors = Traversals.newPredecessors(adjacency.vertexCapacity());
+        recursiveLevels[0] = 0;
+        recursiveDepthFirst(adjacency, 0, recursiveLevels, recursivePredecessors);
+
+        int visited = Traversals.depthFirst(adjacency, 0, levels, predecessors);
+        assertArrayEquals(recursiveLevels, levels);
+        assertArrayEquals(recursivePredecessors, predecessors);
+        assertEquals(Arrays.stream(levels).filter(level -> level != Traversals.NOT_VISITED).count(), visited);
+    }
+
+    /**
+     * Tests the DFS and the connectivity of a path of millions of vertexes,
+     * deeper than a recursive DFS could walk.
+     */
+    @Test
+    public void deepDepthFirstTest() {
+        int vertexNumber = 2_000_000;
+        Graph<Integer> path = new Graph<>(GraphStorage.COMPRESSED);
+        for (int v = 1; v < vertexNumber; v++) {
+            path.addEdge(v - 1, v);
+        }
+        CompressedAdjacency adjacency = path.indexedGraph().adjacency();
+        int[] levels = Traversals.newLevels(vertexNumber);
+        int[] predecessors = Traversals.newPredecessors(vertexNumber);
+
+        assertEquals(vertexNumber, Traversals.depthFirst(adjacency, 0, levels, predecessors));
+        for (int v = 1; v < vertexNumber; v++) {
+            assertEquals(v, levels[v]);
+            assertEquals(v - 1, predecessors[v]);
+        }
+        assertTrue(path.connected());
+        path.addVertex(vertexNumber);
+        assertFalse(path.connected());
+    }
+
+    /**
+     * Tests that the parallel union-find labels each vertex with the root of
+     * its component, the vertex of lowest index reached by a BFS, in a random
+     * graph with many components, with one and with many threads.
+     */
+    @Test
+    public void componentLabelingTest() {
+        Random random = new Random(13);
+        Graph<Integer> randomGraph = new Graph<>(GraphStorage.COMPRESSED);
+        for (int i = 0; i < 20000; i++) {
+            randomGraph.addEdge(random.nextInt(40000), random.nextInt(40000));
+        }
+        CompressedAdjacency adjacency = randomGraph.indexedGraph().adjacency();
+        int vertexCapacity = adjacency.vertexCapacity();
+        int[] levels = Traversals.newLevels(vertexCapacity);
+        int[] predecessors = Traversals.newPredecessors(vertexCapacity);
+        for (int root = 0; root < vertexCapacity; root++) {
+            if (levels[root] == Traversals.NOT_VISITED) {
+                Traversals.breadthFirst(adjacency, root, levels, predecessors);
+            }
+        }
+        int[] expectedRoots = new int[vertexCapacity];
+        for (int v = 0; v < vertexCapacity; v++) {
+            int root = v;
+            while (predecessors[root] != Traversals.NO_PREDECESSOR) root = predecessors[root];
+            expectedRoots[v] = root;
+        }
+        for (int threads : new int[]{1, 4}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            assertArrayEquals(expectedRoots, ComponentLabeling.roots(adjacency, pool));
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Walks by the graph in DFS recursively, as reference for the iterative
+     * walk.
+     */
+    private void recursiveDepthFirst(CompressedAdjacency adjacency, int current, int[] levels,
+                                     int[] predecessors) {
+        for (int arc = adjacency.offsets[current]; arc < adjacency.offsets[current + 1]; arc++) {
+            int adjacent = adjacency.targets[arc];
+            if (levels[adjacent] == Traversals.NOT_VISITED) {
+                levels[adjacent] = levels[current] + 1;
+                predecessors[adjacent] = current;
+                recursiveDepthFirst(adjacency, adjacent, levels, predecessors);
+            }
+        }
+    }
+
+    /**
+     * Tests that the parallel BFS finds the same levels and predecessors of
+     * the top-down BFS, in a random graph with repeated edges and in a path,
+     * with one and with many threads.
+     */
+    @Test
+    public void parallelBreadthFirstTest() {
+        Random random = new Random(5);
+        Graph<Integer> randomGraph = new Graph<>(GraphStorage.COMPRESSED);
+        for (int i = 0; i < 30000; i++) {
+            randomGraph.addEdge(random.nextInt(4000), random.nextInt(4000));
+        }
+        randomGraph.addEdge(1, 2);
+        randomGraph.addEdge(1, 2);
+        Graph<Integer> path = new Graph<>(GraphStorage.COMPRESSED);
+        for (int v = 0; v < 3000; v++) {
+            path.addEdge(v, v + 1);
+        }
+        for (int threads : new int[]{1, 4}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            for (CompressedAdjacency adjacency : Arrays.asList(randomGraph.indexedGraph().adjacency(), path.indexedGraph().adjacency())) {
+                int vertexCapacity = adjacency.vertexCapacity();
+                int[] levels = Traversals.newLevels(vertexCapacity);
+                int[] predecessors = Traversals.newPredecessors(vertexCapacity);
+                int visited = Traversals.breadthFirst(adjacency, 1, levels, predecessors);
+                int[] parallelLevels = Traversals.newLevels(vertexCapacity);
+                int[] parallelPredecessors = Traversals.newPredecessors(vertexCapacity);
+
+                assertEquals(visited, ParallelBreadthFirst.run(adjacency, 1, pool, parallelLevels,
+                        parallelPredecessors));
+                assertArrayEquals(levels, parallelLevels);
+                assertArrayEquals(predecessors, parallelPredecessors);
+            }
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests that the direction-optimizing BFS finds the same levels of the
+     * top-down BFS, with a predecessor in the previous level for each vertex,
+     * in a random graph of low diameter and in a path, of high diameter.
+     */
+    @Test
+    public void directionOptimizingBreadthFirstTest() {
+        Random random = new Random(3);
+        Graph<Integer> randomGraph = new Graph<>(GraphStorage.COMPRESSED);
+        for (int i = 0; i < 40000; i++) {
+            randomGraph.addEdge(random.nextInt(5000), random.nextInt(5000));
+        }
+        randomGraph.addVertex(6000);
+        Graph<Integer> path = new Graph<>(GraphStorage.COMPRESSED);
+        for (int v = 0; v < 3000; v++) {
+            path.addEdge(v, v + 1);
+        }
+        for (CompressedAdjacency adjacency : new CompressedAdjacency[]{randomGraph.indexedGraph().adjacency(), path.indexedGraph().adjacency()}) {
+            for (int root : new int[]{0, 1500}) {
+                int[] levels = Traversals.newLevels(adjacency.vertexCapacity());
+                int visited = Traversals.breadthFirst(adjacency, root, levels,
+                        Traversals.newPredecessors(adjacency.vertexCapacity()));
+                int[] optimizedLevels = Traversals.newLevels(adjacency.vertexCapacity());
+                int[] predecessors = Traversals.newPredecessors(adjacency.vertexCapacity());
+
+                assertEquals(visited, Traversals.directionOptimizingBreadthFirst(adjacency, root,
+                        optimizedLevels, predecessors));
+                assertArrayEquals(levels, optimizedLevels);
+                for (int v = 0; v < adjacency.vertexCapacity(); v++) {
+                    if (v == root || levels[v] == Traversals.NOT_VISITED) {
+                        assertEquals(Traversals.NO_PREDECESSOR, predecessors[v]);
+                    } else {
+                        assertEquals(levels[v] - 1, levels[predecessors[v]]);
+                        assertTrue(adjacency.firstArc(predecessors[v], v) >= 0);
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -3,8 +3,16 @@ package com.ufcg.atg.graph;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 import static com.ufcg.atg.util.Utils.LINE_SEPARATOR;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 /**
@@ -52,6 +60,63 @@ public class WeightedGraphTest {
         stringGraph.addEdge(s1, s5,1f);
     }
 
+    /**
+     * Tests that a weighted graph has the same results in every
+     * {@link GraphStorage} that can store it.
+     */
+    @Test
+    public void graphStoragesTest() {
+        for (GraphStorage storage : GraphStorage.values()) {
+            if (storage == GraphStorage.BIT_MATRIX) continue;
+            Random random = new Random(29);
+            IWeightedGraph<Integer, WeightedEdge<Integer>> hashSetsGraph = new WeightedGraph<>();
+            IWeightedGraph<Integer, WeightedEdge<Integer>> storedGraph = new WeightedGraph<>(storage);
+            for (int i = 0; i < 600; i++) {
+                int v1 = random.nextInt(120), v2 = random.nextInt(120);
+                float weight = random.nextInt(100) / 4f;
+                if (hashSetsGraph.containsVertex(v1) && hashSetsGraph.getAdjacentVertexes(v1).contains(v2)) continue;
+                hashSetsGraph.addEdge(v1, v2, weight);
+                storedGraph.addEdge(v2, v1, weight);
+            }
+
+            assertEquals(hashSetsGraph, storedGraph);
+            assertEquals(hashSetsGraph.hashCode(), storedGraph.hashCode());
+            assertEquals(hashSetsGraph.graphRepresentation(RepresentationType.ADJACENCY_MATRIX),
+                    storedGraph.graphRepresentation(RepresentationType.ADJACENCY_MATRIX));
+            assertEquals(hashSetsGraph.graphRepresentation(RepresentationType.ADJACENCY_LIST),
+                    storedGraph.graphRepresentation(RepresentationType.ADJACENCY_LIST));
+            assertEquals(hashSetsGraph.shortestPath(3, 7), storedGraph.shortestPath(3, 7));
+            assertEquals(hashSetsGraph.MST(), storedGraph.MST());
+
+            hashSetsGraph.addEdge(3, 7, -2f);
+            storedGraph.addEdge(3, 7, -2f);
+            hashSetsGraph.addEdge(3, 7, 40f);
+            storedGraph.addEdge(7, 3, 40f);
+            assertEquals(hashSetsGraph.getAllEdges(), storedGraph.getAllEdges());
+            assertEquals(hashSetsGraph.getEdgesOfVertex(3), storedGraph.getEdgesOfVertex(3));
+            assertEquals(hashSetsGraph.MST(), storedGraph.MST());
+            assertTrue(storedGraph.containsEdge(new WeightedEdge<>(7, 3, -2f)));
+            assertFalse(storedGraph.containsEdge(new WeightedEdge<>(7, 3, -3f)));
+            assertFalse(storedGraph.containsEdge(new Edge<>(7, 3)));
+        }
+    }
+
+    /**
+     * Tests if throws exception when try to store a weighted graph in a bit
+     * matrix.
+     */
+    @Test
+    public void bitMatrixStorageTest() {
+        try {
+            new WeightedGraph<Integer>(GraphStorage.BIT_MATRIX);
+            fail("Should have thrown exception when trying to store a weighted" +
+                    " graph in a bit matrix.");
+        } catch (Exception e) {
+            assertEquals("The bit matrix storage can't store weighted graphs.",
+                    e.getMessage(), "A mensagem de erro está errada.");
+        }
+    }
+
     /**
      * Tests the adjacency matrix representation of a integer's {@link WeightedGraph}.
      */
@@ -148,6 +213,312 @@ public class WeightedGraphTest {
         assertEquals(expectedPathBetween5And5, integerGraph.shortestPath(5, 5));
     }
 
+    /**
+     * Tests the shortest path between two vertexes at {@link WeightedGraph}
+     * found by the bidirectional search.
+     */
+    @Test
+    void graphOfIntegersBidirectionalShortestPathTest() {
+        IWeightedGraph<Integer, WeightedEdge<Integer>> integerGraph
+                = new WeightedGraph<>();
+        integerGraph.addEdge(1, 2, 0.1f);
+        integerGraph.addEdge(2, 5, 0.2f);
+        integerGraph.addEdge(5, 3, 5f);
+        integerGraph.addEdge(4, 5, 2.3f);
+        integerGraph.addEdge(1, 5,1f);
+        integerGraph.addVertex(6);
+        ShortestPathAlgorithm bidirectional = ShortestPathAlgorithm.BIDIRECTIONAL_DIJKSTRA;
+
+        assertEquals("1 2 5 3", integerGraph.shortestPath(1, 3, bidirectional));
+        assertEquals("1 2 5 4", integerGraph.shortestPath(1, 4, bidirectional));
+        assertEquals("3 5 2", integerGraph.shortestPath(3, 2, bidirectional));
+        assertEquals("5 2", integerGraph.shortestPath(5, 2, bidirectional));
+        assertEquals("5", integerGraph.shortestPath(5, 5, bidirectional));
+        try {
+            integerGraph.shortestPath(1, 6, bidirectional);
+            fail("Should have thrown exception when trying to find the" +
+                    " shortest path between disconnected vertexes.");
+        } catch (Exception e) {
+            assertEquals("There isn't a path between 1 and 6",
+                    e.getMessage(), "A mensagem de erro está errada.");
+        }
+    }
+
+    /**
+     * Tests the shortest path between two vertexes at {@link WeightedGraph}
+     * found by A*, with vertexes placed on a line.
+     */
+    @Test
+    void graphOfStringsAStarShortestPathTest() {
+        IWeightedGraph<String, WeightedEdge<String>> stringGraph = new WeightedGraph<>();
+        stringGraph.addEdge("A", "B", 1f);
+        stringGraph.addEdge("B", "C", 1f);
+        stringGraph.addEdge("C", "D", 1f);
+        stringGraph.addEdge("A", "D", 4f);
+        stringGraph.addEdge("A", "E", 0.5f);
+        DistanceHeuristic<String> heuristic = (v, target) ->
+                Math.abs(Math.min(v.charAt(0), 'D') - target.charAt(0));
+
+        assertEquals("A B C D", stringGraph.shortestPath("A", "D", heuristic));
+        assertEquals("D C B A E", stringGraph.shortestPath("D", "E", (v, target) -> 0f));
+        assertEquals("C", stringGraph.shortestPath("C", "C", heuristic));
+    }
+
+    /**
+     * Tests the shortest paths answered by the {@link ShortestPathIndex} of a
+     * string's {@link WeightedGraph}, which must be the same of
+     * {@link WeightedGraph#shortestPath(Comparable, Comparable)}.
+     */
+    @Test
+    void graphOfStringsShortestPathIndexTest() {
+        IWeightedGraph<String, WeightedEdge<String>> stringGraph = new WeightedGraph<>();
+        stringGraph.addEdge("A", "B", 1f);
+        stringGraph.addEdge("B", "C", 1f);
+        stringGraph.addEdge("C", "D", 1f);
+        stringGraph.addEdge("A", "D", 4f);
+        stringGraph.addEdge("A", "E", 0.5f);
+        stringGraph.addVertex("F");
+        ShortestPathIndex<String> index = stringGraph.shortestPathIndex();
+        stringGraph.addEdge("E", "D", 0.5f);
+
+        assertEquals("A B C D", index.shortestPath("A", "D"));
+        assertEquals("D C B A E", index.shortestPath("D", "E"));
+        assertEquals("C", index.shortestPath("C", "C"));
+        assertEquals(3.5f, index.distance("D", "E"));
+        assertEquals(Float.POSITIVE_INFINITY, index.distance("A", "F"));
+        try {
+            index.shortestPath("A", "F");
+            fail("Should have thrown exception when trying to find the" +
+                    " shortest path between disconnected vertexes.");
+        } catch (Exception e) {
+            assertEquals("There isn't a path between A and F",
+                    e.getMessage(), "A mensagem de erro está errada.");
+        }
+        try {
+            this.stringGraph.shortestPathIndex();
+            fail("Should have thrown exception when trying to index a" +
+                    " graph with negative circle.");
+        } catch (Exception e) {
+            assertEquals("The shortest path cannot be found in a" +
+                            " graph with negative circle.",
+                    e.getMessage(), "A mensagem de erro está errada.");
+        }
+    }
+
+    /**
+     * Tests the shortest path tree of a string's {@link WeightedGraph}, whose
+     * paths must be the same of
+     * {@link WeightedGraph#shortestPath(Comparable, Comparable)}.
+     */
+    @Test
+    void graphOfStringsShortestPathTreeTest() {
+        IWeightedGraph<String, WeightedEdge<String>> stringGraph = new WeightedGraph<>();
+        stringGraph.addEdge("A", "B", 1f);
+        stringGraph.addEdge("B", "C", 1f);
+        stringGraph.addEdge("C", "D", 1f);
+        stringGraph.addEdge("A", "D", 4f);
+        stringGraph.addEdge("A", "E", 0.5f);
+        stringGraph.addVertex("F");
+        ShortestPathTree<String> tree = stringGraph.shortestPathTree("D");
+
+        assertEquals("D", tree.getSource());
+        assertEquals("D C B A E", tree.getPath("E").toString());
+        assertEquals(stringGraph.shortestPath("D", "A"), tree.getPath("A").toString());
+        assertEquals(3.5f, tree.getDistance("E"));
+        assertEquals(0f, tree.getDistance("D"));
+        assertEquals(Float.POSITIVE_INFINITY, tree.getDistance("F"));
+        assertEquals("", tree.getPath("F").toString());
+        assertEquals("D C B A E", stringGraph.shortestPathTree("D", 0.25f,
+                ForkJoinPool.commonPool()).getPath("E").toString());
+        try {
+            stringGraph.shortestPathTree("D", 0f, ForkJoinPool.commonPool());
+            fail("Should have thrown exception when trying to use an empty bucket width.");
+        } catch (Exception e) {
+            assertEquals("The bucket width must be positive.",
+                    e.getMessage(), "A mensagem de erro está errada.");
+        }
+        try {
+            stringGraph.shortestPathTree("G");
+            fail("Should have thrown exception when trying to find the shortest" +
+                    " paths of a non existent vertex.");
+        } catch (Exception e) {
+            assertEquals("The graph doesn't contains the specified vertex.",
+                    e.getMessage(), "A mensagem de erro está errada.");
+        }
+    }
+
+    /**
+     * Tests the MST of a {@link WeightedGraph} shaped as a long path whose
+     * edges get lighter along it, the input that makes the trees of a
+     * union-find without heuristics as deep as the path.
+     */
+    @Test
+    void chainMSTTest() {
+        WeightedGraph<Integer> chain = new WeightedGraph<>();
+        int vertexNumber = 100000;
+        for (int v = 1; v < vertexNumber; v++) {
+            chain.addEdge(v - 1, v, vertexNumber - v);
+        }
+        List<WeightedEdge<Integer>> edgesMst = chain.getEdgesMST();
+
+        assertEquals(vertexNumber - 1, edgesMst.size());
+        assertEquals(Integer.valueOf(vertexNumber - 1), edgesMst.get(0).getTargetVertex());
+    }
+
+    /**
+     * Tests that Prim's and Kruskal's algorithms find the same MST, with the
+     * edges in the same order, in a dense random graph with many tied weights
+     * and repeated edges and in a forest of it.
+     */
+    @Test
+    void primMSTTest() {
+        Random random = new Random(17);
+        WeightedGraph<Integer> randomGraph = new WeightedGraph<>();
+        for (int i = 0; i < 20000; i++) {
+            randomGraph.addEdge(random.nextInt(200), random.nextInt(200), random.nextInt(50) - 10);
+        }
+        for (int i = 0; i < 500; i++) {
+            randomGraph.addEdge(200 + random.nextInt(100), 200 + random.nextInt(100), random.nextInt(5));
+        }
+        randomGraph.addVertex(1000);
+
+        List<WeightedEdge<Integer>> edgesKruskal = randomGraph.getEdgesMST(MSTAlgorithm.KRUSKAL);
+        List<WeightedEdge<Integer>> edgesPrim = randomGraph.getEdgesMST(MSTAlgorithm.PRIM);
+        assertEquals(edgesKruskal.size(), edgesPrim.size());
+        for (int i = 0; i < edgesKruskal.size(); i++) {
+            assertSame(edgesKruskal.get(i), edgesPrim.get(i));
+        }
+        assertEquals(randomGraph.MST(MSTAlgorithm.KRUSKAL), randomGraph.MST());
+        assertEquals(stringGraph.MST(), stringGraph.MST(MSTAlgorithm.PRIM));
+    }
+
+    /**
+     * Tests that the parallel Borůvka's algorithm finds the same MST of
+     * Kruskal's algorithm, with the edges in the same order, in a sparse
+     * random graph with many tied weights, repeated edges, loops and
+     * components, with one and with many threads.
+     */
+    @Test
+    void boruvkaMSTTest() {
+        Random random = new Random(23);
+        WeightedGraph<Integer> randomGraph = new WeightedGraph<>();
+        for (int i = 0; i < 60000; i++) {
+            randomGraph.addEdge(random.nextInt(50000), random.nextInt(50000), random.nextInt(20));
+        }
+        randomGraph.addEdge(7, 7, -1);
+
+        List<WeightedEdge<Integer>> edgesKruskal = randomGraph.getEdgesMST(MSTAlgorithm.KRUSKAL);
+        for (int threads : new int[]{1, 4}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            List<WeightedEdge<Integer>> edgesBoruvka = randomGraph.getEdgesMST(pool);
+            assertEquals(edgesKruskal.size(), edgesBoruvka.size());
+            for (int i = 0; i < edgesKruskal.size(); i++) {
+                assertSame(edgesKruskal.get(i), edgesBoruvka.get(i));
+            }
+            assertEquals(stringGraph.MST(), stringGraph.MST(pool));
+            pool.shutdown();
+        }
+        assertEquals(integerGraph.MST(), integerGraph.MST(MSTAlgorithm.BORUVKA));
+    }
+
+    /**
+     * Tests that the Filter-Kruskal algorithm finds the same MST of Kruskal's
+     * algorithm, with the edges in the same order, in a random graph large
+     * enough to be partitioned and filtered in parallel many times, with many
+     * tied weights and repeated edges, with one and with many threads.
+     */
+    @Test
+    void filterKruskalMSTTest() {
+        Random random = new Random(29);
+        WeightedGraph<Integer> randomGraph = new WeightedGraph<>();
+        for (int i = 0; i < 300000; i++) {
+            randomGraph.addEdge(random.nextInt(20000), random.nextInt(20000), random.nextInt(1000));
+        }
+
+        List<WeightedEdge<Integer>> edgesKruskal = randomGraph.getEdgesMST(MSTAlgorithm.KRUSKAL);
+        for (int threads : new int[]{1, 4}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            List<WeightedEdge<Integer>> edgesFilterKruskal =
+                    randomGraph.getEdgesMST(MSTAlgorithm.FILTER_KRUSKAL, pool);
+            assertEquals(edgesKruskal.size(), edgesFilterKruskal.size());
+            for (int i = 0; i < edgesKruskal.size(); i++) {
+                assertSame(edgesKruskal.get(i), edgesFilterKruskal.get(i));
+            }
+            assertEquals(stringGraph.MST(), stringGraph.MST(MSTAlgorithm.FILTER_KRUSKAL, pool));
+            pool.shutdown();
+        }
+        assertEquals(edgesKruskal, randomGraph.getEdgesMST(MSTAlgorithm.FILTER_KRUSKAL));
+    }
+
+    /**
+     * Tests the distance matrix of a string's {@link WeightedGraph}.
+     */
+    @Test
+    void graphOfStringsAllPairsShortestPathsTest() {
+        IWeightedGraph<String, WeightedEdge<String>> stringGraph = new WeightedGraph<>();
+        stringGraph.addEdge("A", "B", 1f);
+        stringGraph.addEdge("B", "C", 1f);
+        stringGraph.addEdge("C", "D", 1f);
+        stringGraph.addEdge("A", "D", 4f);
+        stringGraph.addVertex("E");
+        for (AllPairsAlgorithm algorithm : AllPairsAlgorithm.values()) {
+            DistanceMatrix<String> matrix = stringGraph.allPairsShortestPaths(algorithm,
+                    ForkJoinPool.commonPool());
+
+            assertEquals(Arrays.asList("A", "B", "C", "D", "E"), matrix.getVertexes());
+            assertEquals(3f, matrix.getDistance("A", "D"));
+            assertEquals(3f, matrix.getDistance("D", "A"));
+            assertEquals(0f, matrix.getDistance("C", "C"));
+            assertEquals(Float.POSITIVE_INFINITY, matrix.getDistance("A", "E"));
+            assertEquals(Float.POSITIVE_INFINITY, matrix.getDistance("A", "F"));
+        }
+        stringGraph.addEdge("B", "E", -1f);
+        try {
+            stringGraph.allPairsShortestPaths();
+            fail("Should have thrown exception when trying to find the distances" +
+                    " of a graph with negative weighted edges.");
+        } catch (Exception e) {
+            assertEquals("The shortest path cannot be found in a graph with negative circle.",
+                    e.getMessage(), "A mensagem de erro está errada.");
+        }
+    }
+
+    /**
+     * Tests the shortest paths of a string's {@link WeightedGraph} with the
+     * cache of shortest path trees, which must follow the modifications of
+     * the graph.
+     */
+    @Test
+    void graphOfStringsShortestPathCacheTest() {
+        IWeightedGraph<String, WeightedEdge<String>> stringGraph = new WeightedGraph<>();
+        stringGraph.setShortestPathCacheLimit(1 << 20);
+        stringGraph.addEdge("A", "B", 1f);
+        stringGraph.addEdge("B", "C", 1f);
+        stringGraph.addEdge("C", "D", 1f);
+
+        assertEquals("A B C D", stringGraph.shortestPath("A", "D"));
+        assertEquals("A B C", stringGraph.shortestPath("A", "C"));
+        stringGraph.addEdge("A", "D", 0.5f);
+        assertEquals("A D", stringGraph.shortestPath("A", "D"));
+        assertEquals("A D C", stringGraph.shortestPath("A", "C"));
+        stringGraph.addVertex("E");
+        try {
+            stringGraph.shortestPath("A", "E");
+            fail("Should have thrown exception when trying to find the" +
+                    " shortest path between disconnected vertexes.");
+        } catch (Exception e) {
+            assertEquals("There isn't a path between A and E",
+                    e.getMessage(), "A mensagem de erro está errada.");
+        }
+        try {
+            stringGraph.setShortestPathCacheLimit(-1);
+            fail("Should have thrown exception when trying to set a negative limit.");
+        } catch (Exception e) {
+            assertEquals("The memory limit of the cache can't be negative.",
+                    e.getMessage(), "A mensagem de erro está errada.");
+        }
+    }
+
     /**
      * Tests if throws exception when trying to find the shortest path
      * in a graph with negative circle.
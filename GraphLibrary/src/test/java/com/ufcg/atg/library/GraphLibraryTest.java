@@ -6,11 +6,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.Set;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -139,6 +142,31 @@ class GraphLibraryTest {
         assertTrue(allEdges.contains(e6));
     }
 
+    /**
+     * Tests that the graph read from a file with negative vertexes and
+     * vertexes of large value keeps them, and equals the {@link Graph} built
+     * with the same edges.
+     */
+    @Test
+    public void readGraphWithSparseVertexes() {
+        String path = "graph.txt";
+        String fileContent = "2, 1 -4, 2 2000000000, -4 2000000000";
+        insertFile(path, fileContent);
+
+        IGraph<Integer, Edge<Integer>> graph = graphLibrary.readGraph(path);
+        IGraph<Integer, Edge<Integer>> expectedGraph = new Graph<>();
+        expectedGraph.addVertex(1);
+        expectedGraph.addVertex(2);
+        expectedGraph.addEdge(1, -4);
+        expectedGraph.addEdge(2, 2_000_000_000);
+        expectedGraph.addEdge(-4, 2_000_000_000);
+
+        assertEquals(4, graph.getVertexNumber());
+        assertTrue(graph.containsEdge(new Edge<>(2_000_000_000, 2)));
+        assertEquals(expectedGraph, graph);
+        assertEquals("1 -4 2000000000 2", graph.shortestPath(1, 2));
+    }
+
     /**
      * Tests the GraphLibrary's readWeightedGraph method, verifying if are correctly
      * insert the vertexes and edges in the Graph.
@@ -291,6 +319,46 @@ class GraphLibraryTest {
         assertEquals(1.0f, graphLibrary.getMeanEdge(unweightedGraph));
     }
 
+    /**
+     * Tests that the representations, BFS, DFS and MST written to a writer
+     * and to a channel are the same returned as strings, in graphs large
+     * enough to fill the buffer of the writer many times.
+     */
+    @Test
+    public void streamingOutputTest() {
+        Random random = new Random(31);
+        IGraph<Integer, Edge<Integer>> largeGraph = new Graph<>();
+        IWeightedGraph<Integer, WeightedEdge<Integer>> largeCompressedGraph =
+                new WeightedGraph<>(GraphStorage.COMPRESSED);
+        for (int i = 0; i < 3000; i++) {
+            int v1 = random.nextInt(300), v2 = random.nextInt(300);
+            largeGraph.addEdge(v1, v2);
+            largeCompressedGraph.addEdge(v1, v2, random.nextInt(100) / 10f);
+        }
+        for (IGraph<Integer, ? extends Edge<Integer>> graph : Arrays.asList(unweightedGraph, weightedGraph,
+                largeGraph, largeCompressedGraph)) {
+            for (RepresentationType type : RepresentationType.values()) {
+                StringWriter writer = new StringWriter();
+                graphLibrary.graphRepresentation(graph, type, writer);
+                assertEquals(graphLibrary.graphRepresentation(graph, type), writer.toString());
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                graphLibrary.graphRepresentation(graph, type, Channels.newChannel(bytes));
+                assertEquals(graphLibrary.graphRepresentation(graph, type),
+                        new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+            }
+            StringWriter bfs = new StringWriter(), dfs = new StringWriter(), mst = new StringWriter();
+            graphLibrary.BFS(graph, 1, bfs);
+            graphLibrary.DFS(graph, 1, dfs);
+            graphLibrary.MST(graph, mst);
+            assertEquals(graphLibrary.BFS(graph, 1), bfs.toString());
+            assertEquals(graphLibrary.DFS(graph, 1), dfs.toString());
+            assertEquals(graphLibrary.MST(graph), mst.toString());
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            graphLibrary.MST(graph, Channels.newChannel(bytes));
+            assertEquals(graphLibrary.MST(graph), new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
     /**
      * Tests the BFS method passing a non existent vertex as parameter.
      */
@@ -304,6 +372,14 @@ class GraphLibraryTest {
             assertEquals("The graph doesn't contains the specified vertex.",
                     e.getMessage(), "A mensagem de erro está errada.");
         }
+        try {
+            graphLibrary.BFS(unweightedGraph, 6, new StringWriter());
+            fail("Should have thrown exception when trying to write the BFS" +
+                    " of a non existent vertex.");
+        } catch (Exception e) {
+            assertEquals("The graph doesn't contains the specified vertex.",
+                    e.getMessage(), "A mensagem de erro está errada.");
+        }
     }
 
     /**
@@ -352,4 +428,41 @@ class GraphLibraryTest {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Tests the batch of shortest paths, which must give the same paths of
+     * {@link GraphLibrary#shortestPath(IGraph, Comparable, Comparable)}.
+     */
+    @Test
+    public void shortestPathsTest() {
+        unweightedGraph.addEdge(3, 6);
+        unweightedGraph.addVertex(7);
+        List<Map.Entry<Integer, Integer>> pairs = Arrays.asList(
+                new AbstractMap.SimpleEntry<>(1, 3), new AbstractMap.SimpleEntry<>(4, 6),
+                new AbstractMap.SimpleEntry<>(1, 6), new AbstractMap.SimpleEntry<>(2, 2),
+                new AbstractMap.SimpleEntry<>(1, 7));
+        List<ShortestPath<Integer>> paths = graphLibrary.shortestPaths(unweightedGraph, pairs);
+
+        assertEquals(pairs.size(), paths.size());
+        for (int i = 0; i < 4; i++) {
+            Map.Entry<Integer, Integer> pair = pairs.get(i);
+            assertEquals(pair.getKey(), paths.get(i).getOriginVertex());
+            assertEquals(pair.getValue(), paths.get(i).getTargetVertex());
+            assertEquals(graphLibrary.shortestPath(unweightedGraph, pair.getKey(), pair.getValue()),
+                    paths.get(i).toString());
+        }
+        assertEquals(3f, paths.get(2).getDistance());
+        assertEquals(0f, paths.get(3).getDistance());
+        assertFalse(paths.get(4).exists());
+        assertEquals(Float.POSITIVE_INFINITY, paths.get(4).getDistance());
+        try {
+            graphLibrary.shortestPaths(unweightedGraph,
+                    Collections.singletonList(new AbstractMap.SimpleEntry<>(1, 8)));
+            fail("Should have thrown exception when trying to find the shortest" +
+                    " path of a non existent vertex.");
+        } catch (Exception e) {
+            assertEquals("The graph doesn't contains both specified vertexes.",
+                    e.getMessage(), "A mensagem de erro está errada.");
+        }
+    }
+
+}
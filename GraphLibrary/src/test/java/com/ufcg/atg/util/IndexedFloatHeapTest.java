@@ -0,0 +1,66 @@
+package com.ufcg.atg.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the class {@link IndexedFloatHeap}.
+ */
+public class IndexedFloatHeapTest {
+
+    /**
+     * Tests that the items are polled in the order of their keys, after
+     * insertions and key decreases.
+     */
+    @Test
+    public void pollOrderTest() {
+        IndexedFloatHeap heap = new IndexedFloatHeap(6, 3);
+        heap.insertOrDecrease(0, 5f);
+        heap.insertOrDecrease(1, 3f);
+        heap.insertOrDecrease(2, 4f);
+        heap.insertOrDecrease(3, 1f);
+        assertTrue(heap.insertOrDecrease(0, 0.5f));
+        assertFalse(heap.insertOrDecrease(2, 7f));
+        assertTrue(heap.contains(2));
+        assertFalse(heap.contains(5));
+        assertEquals(4, heap.size());
+
+        assertEquals(0.5f, heap.peekKey());
+        assertEquals(0, heap.poll());
+        assertEquals(3, heap.poll());
+        assertEquals(1, heap.poll());
+        assertEquals(2, heap.poll());
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(0));
+    }
+
+    /**
+     * Tests the heap against random operations, verifying that the polled keys
+     * never decrease.
+     */
+    @Test
+    public void randomOperationsTest() {
+        Random random = new Random(42);
+        int capacity = 1000;
+        IndexedFloatHeap heap = new IndexedFloatHeap(capacity);
+        float[] keys = new float[capacity];
+        for (int i = 0; i < 5000; i++) {
+            int item = random.nextInt(capacity);
+            float key = random.nextFloat();
+            if (!heap.contains(item) || key < keys[item]) keys[item] = key;
+            heap.insertOrDecrease(item, key);
+        }
+        float lastKey = Float.NEGATIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            float key = heap.peekKey();
+            int item = heap.poll();
+            assertEquals(keys[item], key);
+            assertTrue(key >= lastKey);
+            lastKey = key;
+        }
+    }
+
+}
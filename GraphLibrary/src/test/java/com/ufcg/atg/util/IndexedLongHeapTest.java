@@ -0,0 +1,67 @@
+package com.ufcg.atg.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the class {@link IndexedLongHeap}.
+ */
+public class IndexedLongHeapTest {
+
+    /**
+     * Tests that the items are polled in the order of their keys, after
+     * insertions and key decreases, including keys that only differ in their
+     * low bits.
+     */
+    @Test
+    public void pollOrderTest() {
+        IndexedLongHeap heap = new IndexedLongHeap(6, 3);
+        heap.insertOrDecrease(0, 5L << 32);
+        heap.insertOrDecrease(1, (3L << 32) | 7);
+        heap.insertOrDecrease(2, (3L << 32) | 9);
+        heap.insertOrDecrease(3, -1L);
+        assertTrue(heap.insertOrDecrease(0, (3L << 32) | 8));
+        assertFalse(heap.insertOrDecrease(2, 7L << 32));
+        assertTrue(heap.contains(2));
+        assertFalse(heap.contains(5));
+        assertEquals(4, heap.size());
+
+        assertEquals(-1L, heap.peekKey());
+        assertEquals(3, heap.poll());
+        assertEquals(1, heap.poll());
+        assertEquals(0, heap.poll());
+        assertEquals(2, heap.poll());
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(0));
+    }
+
+    /**
+     * Tests the heap against random operations, verifying that the polled keys
+     * never decrease.
+     */
+    @Test
+    public void randomOperationsTest() {
+        Random random = new Random(42);
+        int capacity = 1000;
+        IndexedLongHeap heap = new IndexedLongHeap(capacity);
+        long[] keys = new long[capacity];
+        for (int i = 0; i < 5000; i++) {
+            int item = random.nextInt(capacity);
+            long key = random.nextLong();
+            if (!heap.contains(item) || key < keys[item]) keys[item] = key;
+            heap.insertOrDecrease(item, key);
+        }
+        long lastKey = Long.MIN_VALUE;
+        while (!heap.isEmpty()) {
+            long key = heap.peekKey();
+            int item = heap.poll();
+            assertEquals(keys[item], key);
+            assertTrue(key >= lastKey);
+            lastKey = key;
+        }
+    }
+
+}
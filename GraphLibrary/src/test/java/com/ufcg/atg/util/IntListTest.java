@@ -0,0 +1,38 @@
+package com.ufcg.atg.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the class {@link IntList}.
+ */
+public class IntListTest {
+
+    /**
+     * Tests that the elements are kept in order while the list grows.
+     */
+    @Test
+    public void addTest() {
+        IntList list = new IntList(1);
+        IntList other = new IntList();
+        for (int i = 0; i < 40; i++) list.add(i);
+        other.add(40);
+        other.add(41);
+        list.addAll(other);
+
+        assertEquals(42, list.size());
+        assertEquals(0, list.get(0));
+        assertEquals(41, list.get(41));
+        assertArrayEquals(new int[]{40, 41}, other.toArray());
+        try {
+            list.get(42);
+            fail("Should have thrown exception when trying to get an element out of the list.");
+        } catch (IndexOutOfBoundsException e) {
+            assertEquals("42", e.getMessage(), "A mensagem de erro está errada.");
+        }
+        list.clear();
+        assertTrue(list.isEmpty());
+    }
+
+}
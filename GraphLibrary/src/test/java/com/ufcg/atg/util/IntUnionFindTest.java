@@ -0,0 +1,48 @@
+package com.ufcg.atg.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the class {@link IntUnionFind}.
+ */
+public class IntUnionFindTest {
+
+    /**
+     * Tests the unions of a chain of integers, the input that makes the trees
+     * of a union-find without heuristics as deep as the chain.
+     */
+    @Test
+    public void unionTest() {
+        int size = 1_000_000;
+        IntUnionFind sets = new IntUnionFind(size);
+        for (int i = size - 1; i > 0; i--) {
+            assertTrue(sets.union(i - 1, i));
+        }
+
+        assertFalse(sets.union(0, size - 1));
+        assertEquals(1, sets.setNumber());
+        assertEquals(size, sets.setSize(size / 2));
+        assertTrue(sets.connected(0, size - 1));
+    }
+
+    /**
+     * Tests that the added integers start alone in their sets.
+     */
+    @Test
+    public void addTest() {
+        IntUnionFind sets = new IntUnionFind(0);
+        for (int i = 0; i < 40; i++) {
+            assertEquals(i, sets.add());
+        }
+        sets.union(3, 30);
+
+        assertEquals(40, sets.size());
+        assertEquals(39, sets.setNumber());
+        assertTrue(sets.connected(30, 3));
+        assertFalse(sets.connected(3, 4));
+        assertEquals(1, sets.setSize(4));
+    }
+
+}